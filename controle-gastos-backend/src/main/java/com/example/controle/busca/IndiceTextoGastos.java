@@ -0,0 +1,359 @@
+package com.example.controle.busca;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.exception.BusinessException;
+import com.example.controle.repository.GastoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice textual (Lucene, em disco local) sobre a descrição e a observação dos
+ * gastos. Todos os usuários ficam no mesmo índice e toda consulta é filtrada pelo
+ * termo exato do usuário, o que a restringe aos documentos dele sem manter um
+ * diretório por usuário. O índice é atualizado após o commit de cada escrita e
+ * gravado em disco periodicamente; as buscas enxergam as alterações assim que o
+ * leitor é reaberto, antes mesmo da gravação.
+ *
+ * <p>Cada gravação registra nos dados do commit se o índice veio de uma
+ * reconstrução completa e até que instante ({@code updated_at} dos gastos) as
+ * alterações já estavam indexadas. Ao abrir, um índice sem essa marca é tratado
+ * como inexistente; com ela, os gastos alterados desde o instante gravado (menos
+ * {@code gastos.busca.indice.margem-recuperacao}, que cobre transações longas)
+ * são reindexados antes de liberar as buscas, recuperando o que foi perdido entre
+ * a última gravação e uma parada abrupta. Exclusões perdidas não são recuperadas,
+ * mas apenas deixam ids inexistentes no índice, que a listagem descarta.
+ *
+ * <p>Quando o índice está desabilitado, ainda não foi construído ou está sendo
+ * reconstruído, {@link #buscar} retorna vazio e a listagem usa o LIKE na descrição.
+ */
+@Component
+public class IndiceTextoGastos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTextoGastos.class);
+
+    /** Acima disso a lista de ids deixa de compensar e a busca volta ao LIKE. */
+    static final int MAX_RESULTADOS = 5_000;
+
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_USUARIO = "usuario";
+    private static final String CAMPO_TEXTO = "texto";
+
+    private static final String COMMIT_COMPLETO = "completo";
+    private static final String COMMIT_SINCRONIZADO_ATE = "sincronizado-ate";
+
+    private final GastoRepository gastoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final Duration margemRecuperacao;
+    private final Analyzer analisador = new AnalisadorTexto();
+    // Mantido durante toda a reconstrução; a gravação periódica não espera por ele
+    private final ReentrantLock bloqueioCommit = new ReentrantLock();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean pronto;
+
+    public IndiceTextoGastos(GastoRepository gastoRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${gastos.busca.indice.habilitado:false}") boolean habilitado,
+                             @Value("${gastos.busca.indice.diretorio:dados/indice-gastos}") Path diretorio,
+                             @Value("${gastos.busca.indice.margem-recuperacao:PT5M}") Duration margemRecuperacao) {
+        this.gastoRepository = gastoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.diretorio = diretorio;
+        this.margemRecuperacao = margemRecuperacao;
+    }
+
+    @PostConstruct
+    void abrir() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+        directory = FSDirectory.open(diretorio);
+        LocalDateTime sincronizadoAte = null;
+        if (DirectoryReader.indexExists(directory)) {
+            Map<String, String> dados = SegmentInfos.readLatestCommit(directory).getUserData();
+            if ("true".equals(dados.get(COMMIT_COMPLETO)) && dados.containsKey(COMMIT_SINCRONIZADO_ATE)) {
+                sincronizadoAte = LocalDateTime.parse(dados.get(COMMIT_SINCRONIZADO_ATE));
+            }
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(analisador));
+        searcherManager = new SearcherManager(writer, null);
+
+        if (sincronizadoAte == null) {
+            // Novo, ou gravado no meio de uma reconstrução: só serve depois de reconstruído
+            log.info("Índice de busca textual aberto em {} (aguardando reconstrução)", diretorio.toAbsolutePath());
+            return;
+        }
+        long recuperados = recuperarDesde(sincronizadoAte.minus(margemRecuperacao));
+        pronto = true;
+        log.info("Índice de busca textual aberto em {} (pronto; {} gastos alterados desde {} reindexados)",
+            diretorio.toAbsolutePath(), recuperados, sincronizadoAte);
+    }
+
+    @PreDestroy
+    void fechar() throws IOException {
+        if (writer != null) {
+            gravar();
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    public boolean disponivel() {
+        return habilitado && pronto;
+    }
+
+    /**
+     * Ids dos gastos do usuário cujo texto contém palavras começando com cada uma
+     * das palavras do termo, ignorando maiúsculas e acentos. Vazio quando o índice
+     * não pode responder e a busca deve usar o LIKE.
+     */
+    public Optional<List<Long>> buscar(Long usuarioId, String termo) {
+        if (!disponivel()) {
+            return Optional.empty();
+        }
+        List<String> palavras = analisar(termo);
+        if (palavras.isEmpty()) {
+            return Optional.empty();
+        }
+
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(CAMPO_USUARIO, usuarioId.toString())), BooleanClause.Occur.FILTER);
+        for (String palavra : palavras) {
+            consulta.add(new PrefixQuery(new Term(CAMPO_TEXTO, palavra)), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontrados = searcher.search(consulta.build(), MAX_RESULTADOS + 1);
+                if (encontrados.scoreDocs.length > MAX_RESULTADOS) {
+                    return Optional.empty();
+                }
+                StoredFields campos = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(encontrados.scoreDocs.length);
+                for (ScoreDoc encontrado : encontrados.scoreDocs) {
+                    ids.add(Long.valueOf(campos.document(encontrado.doc).get(CAMPO_ID)));
+                }
+                return Optional.of(ids);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.warn("Falha na busca textual do usuário ID: {}; usando LIKE", usuarioId, e);
+            return Optional.empty();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            if (evento.dataAtual() == null) {
+                writer.deleteDocuments(new Term(CAMPO_ID, evento.gastoId().toString()));
+            } else {
+                indexar(evento.gastoId(), evento.usuarioId(), evento.descricao(), evento.observacao());
+            }
+            // Leitura das próprias escritas: a próxima busca já vê a alteração
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Falha ao atualizar o índice de busca para o gasto ID: {}; reconstrua o índice",
+                evento.gastoId(), e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        try {
+            for (GastosImportadosEvent.GastoImportado gasto : evento.gastos()) {
+                if (gasto.id() != null) {
+                    indexar(gasto.id(), evento.usuarioId(), gasto.descricao(), gasto.observacao());
+                }
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("Falha ao indexar {} gastos importados do usuário ID: {}; reconstrua o índice",
+                evento.gastos().size(), evento.usuarioId(), e);
+        }
+    }
+
+    /**
+     * Apaga o índice e o reconstrói a partir da tabela de gastos, lida em
+     * streaming. Durante a reconstrução as buscas usam o LIKE.
+     */
+    public long reconstruir() {
+        if (!habilitado) {
+            throw new BusinessException("O índice de busca textual está desabilitado");
+        }
+        bloqueioCommit.lock();
+        log.info("Reconstruindo índice de busca textual");
+        pronto = false;
+        // Alterações confirmadas durante a leitura chegam pelos eventos
+        LocalDateTime inicio = LocalDateTime.now();
+        try {
+            writer.deleteAll();
+            // Qualquer commit até o fim, inclusive o do fechamento, marca o índice como incompleto
+            writer.setLiveCommitData(Map.of(COMMIT_COMPLETO, "false").entrySet());
+            long total = transactionTemplate.execute(status -> {
+                long indexados = 0;
+                try (Stream<Object[]> linhas = gastoRepository.streamTextos()) {
+                    for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                        indexar((Long) linha[0], (Long) linha[1], (String) linha[2], (String) linha[3]);
+                        indexados++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return indexados;
+            });
+            commit(true, inicio);
+            searcherManager.maybeRefreshBlocking();
+            pronto = true;
+            log.info("Índice de busca textual reconstruído com {} gastos", total);
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            bloqueioCommit.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gastos.busca.indice.intervalo-gravacao:PT30S}")
+    public void gravar() {
+        // Durante a reconstrução o índice está incompleto; o commit fica a cargo dela
+        if (writer == null || !bloqueioCommit.tryLock()) {
+            return;
+        }
+        try {
+            if (writer.hasUncommittedChanges()) {
+                // Tomado antes do commit: tudo o que foi confirmado até aqui já foi indexado
+                commit(pronto, LocalDateTime.now());
+            }
+        } catch (IOException e) {
+            log.error("Falha ao gravar o índice de busca textual", e);
+        } finally {
+            bloqueioCommit.unlock();
+        }
+    }
+
+    private void commit(boolean completo, LocalDateTime sincronizadoAte) throws IOException {
+        writer.setLiveCommitData(Map.of(
+            COMMIT_COMPLETO, Boolean.toString(completo),
+            COMMIT_SINCRONIZADO_ATE, sincronizadoAte.toString()).entrySet());
+        writer.commit();
+    }
+
+    /** Reindexa os gastos com {@code updated_at} a partir de {@code desde}. */
+    private long recuperarDesde(LocalDateTime desde) throws IOException {
+        long total = transactionTemplate.execute(status -> {
+            long indexados = 0;
+            try (Stream<Object[]> linhas = gastoRepository.streamTextosAlteradosDesde(desde)) {
+                for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                    indexar((Long) linha[0], (Long) linha[1], (String) linha[2], (String) linha[3]);
+                    indexados++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return indexados;
+        });
+        searcherManager.maybeRefreshBlocking();
+        return total;
+    }
+
+    private void indexar(Long gastoId, Long usuarioId, String descricao, String observacao) throws IOException {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_ID, gastoId.toString(), Field.Store.YES));
+        documento.add(new StringField(CAMPO_USUARIO, usuarioId.toString(), Field.Store.NO));
+        documento.add(new TextField(CAMPO_TEXTO, descricao != null ? descricao : "", Field.Store.NO));
+        if (observacao != null) {
+            documento.add(new TextField(CAMPO_TEXTO, observacao, Field.Store.NO));
+        }
+        // Substitui pelo id, então reindexar um gasto nunca gera documentos duplicados
+        writer.updateDocument(new Term(CAMPO_ID, gastoId.toString()), documento);
+    }
+
+    private List<String> analisar(String termo) {
+        List<String> palavras = new ArrayList<>();
+        try (TokenStream tokens = analisador.tokenStream(CAMPO_TEXTO, termo)) {
+            CharTermAttribute palavra = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                palavras.add(palavra.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return palavras;
+    }
+
+    /** Separa em palavras, converte para minúsculas e remove acentos. */
+    private static final class AnalisadorTexto extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream tokens = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, tokens);
+        }
+    }
+}
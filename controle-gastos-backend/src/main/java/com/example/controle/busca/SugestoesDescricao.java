@@ -0,0 +1,105 @@
+package com.example.controle.busca;
+
+import com.example.controle.util.TextoUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Descrições já usadas por um usuário, ordenadas pela forma normalizada e com a
+ * quantidade de gastos de cada uma. Um prefixo corresponde a um intervalo
+ * contíguo do mapa, então a busca percorre apenas as descrições que começam
+ * por ele, sem acessar o banco.
+ */
+public class SugestoesDescricao {
+
+    // Estimativa de memória por descrição além dos caracteres: nó do TreeMap, Sugestao e Strings
+    private static final int BYTES_POR_ENTRADA = 120;
+
+    private static final Comparator<Sugestao> POR_RELEVANCIA = Comparator
+            .comparingLong(Sugestao::getQuantidade).reversed()
+            .thenComparing(Sugestao::getDescricao);
+
+    private final TreeMap<String, Sugestao> porDescricaoNormalizada = new TreeMap<>();
+
+    /**
+     * Soma {@code quantidade} à descrição. A forma exibida passa a ser a última
+     * informada, que é como o usuário escreveu a descrição mais recentemente.
+     */
+    public synchronized void adicionar(String descricao, long quantidade) {
+        String normalizada = TextoUtil.normalizar(descricao);
+        if (normalizada == null || normalizada.isEmpty()) {
+            return;
+        }
+        Sugestao sugestao = porDescricaoNormalizada.computeIfAbsent(normalizada, chave -> new Sugestao());
+        sugestao.descricao = descricao.trim();
+        sugestao.quantidade += quantidade;
+    }
+
+    public synchronized void remover(String descricao) {
+        String normalizada = TextoUtil.normalizar(descricao);
+        Sugestao sugestao = normalizada != null ? porDescricaoNormalizada.get(normalizada) : null;
+        if (sugestao != null && --sugestao.quantidade <= 0) {
+            porDescricaoNormalizada.remove(normalizada);
+        }
+    }
+
+    /**
+     * As {@code limite} descrições mais usadas que começam pelo prefixo
+     * (ignorando maiúsculas e acentos), da mais usada para a menos usada.
+     */
+    public synchronized List<Sugestao> buscar(String prefixo, int limite) {
+        String normalizado = TextoUtil.normalizar(prefixo);
+        Map<String, Sugestao> intervalo = normalizado.isEmpty()
+                ? porDescricaoNormalizada
+                : porDescricaoNormalizada.subMap(normalizado, true, normalizado + Character.MAX_VALUE, false);
+
+        // Mantém só as melhores até o momento; a pior fica no topo para ser descartada
+        PriorityQueue<Sugestao> melhores = new PriorityQueue<>(limite + 1, POR_RELEVANCIA.reversed());
+        for (Sugestao sugestao : intervalo.values()) {
+            melhores.add(sugestao.copiar());
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<Sugestao> resultado = new ArrayList<>(melhores);
+        resultado.sort(POR_RELEVANCIA);
+        return resultado;
+    }
+
+    /**
+     * Tamanho aproximado em bytes, usado como peso no cache.
+     */
+    public synchronized int getPeso() {
+        long peso = 0;
+        for (Map.Entry<String, Sugestao> entrada : porDescricaoNormalizada.entrySet()) {
+            peso += BYTES_POR_ENTRADA + entrada.getKey().length() + entrada.getValue().descricao.length();
+        }
+        return (int) Math.min(peso, Integer.MAX_VALUE);
+    }
+
+    public static class Sugestao {
+        private String descricao;
+        private long quantidade;
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        private Sugestao copiar() {
+            Sugestao copia = new Sugestao();
+            copia.descricao = descricao;
+            copia.quantidade = quantidade;
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache das contagens das listagens de gastos, agrupadas por usuário: cada
+ * usuário tem um mapa de filtro normalizado para total. Qualquer escrita de
+ * gasto do usuário descarta o mapa inteiro após o commit.
+ * <p>
+ * O mapa é obtido com {@link #abrir} antes da primeira consulta da transação de
+ * leitura, e a contagem é gravada apenas nele. Com REPEATABLE READ, a contagem
+ * enxerga os dados do início da transação; se uma escrita for confirmada depois
+ * disso, a invalidação descarta justamente esse mapa, e a contagem defasada
+ * nunca é lida. Pegar o mapa só na hora de gravar permitiria guardar no mapa novo,
+ * já criado após a invalidação, um total calculado antes da escrita.
+ */
+@Component
+public class ContagemCache {
+
+    private static final int MAX_FILTROS_POR_USUARIO = 100;
+
+    private final Cache<Long, ConcurrentMap<String, Long>> cache;
+
+    public ContagemCache(MeterRegistry meterRegistry,
+                         @Value("${gastos.contagem.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                         @Value("${gastos.contagem.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "contagem-gastos");
+    }
+
+    /** Deve ser chamado antes da primeira consulta da transação. */
+    public Contagens abrir(Long usuarioId) {
+        return new Contagens(cache.get(usuarioId, id -> new ConcurrentHashMap<>()));
+    }
+
+    public void invalidar(Long usuarioId) {
+        cache.invalidate(usuarioId);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        invalidar(evento.usuarioId());
+    }
+
+    @TransactionalEventListener
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        invalidar(evento.usuarioId());
+    }
+
+    /** Contagens de um usuário como estavam em {@link #abrir}. */
+    public static final class Contagens {
+
+        private final ConcurrentMap<String, Long> totais;
+
+        private Contagens(ConcurrentMap<String, Long> totais) {
+            this.totais = totais;
+        }
+
+        public long obter(String filtro, LongSupplier contar) {
+            Long total = totais.get(filtro);
+            if (total != null) {
+                return total;
+            }
+
+            total = contar.getAsLong();
+            // Limita a memória por usuário; acima do limite a contagem só não é guardada
+            if (totais.size() < MAX_FILTROS_POR_USUARIO) {
+                totais.putIfAbsent(filtro, total);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.CategoriaAlteradaEvent;
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.model.dto.DashboardDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória dos dashboards por (usuário, mês). O dashboard de um mês só
+ * muda quando o usuário grava um gasto datado naquele mês ou no mês anterior
+ * (usado na comparação), então cada escrita invalida exatamente esses dois meses.
+ */
+@Component
+public class DashboardCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCache.class);
+
+    private final boolean habilitado;
+    private final Cache<Chave, DashboardDTO> cache;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+                          @Value("${dashboard.cache.habilitado:true}") boolean habilitado,
+                          @Value("${dashboard.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                          @Value("${dashboard.cache.ttl:30m}") Duration ttl) {
+        this.habilitado = habilitado;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Retorna o dashboard em cache ou calcula e guarda. Uma invalidação que chegue
+     * durante o cálculo espera ele terminar e descarta o resultado.
+     */
+    public DashboardDTO obter(Long usuarioId, YearMonth mes, Supplier<DashboardDTO> calcular) {
+        if (!habilitado) {
+            return calcular.get();
+        }
+        return cache.get(new Chave(usuarioId, mes), chave -> calcular.get());
+    }
+
+    public void invalidar(Long usuarioId, YearMonth mes) {
+        cache.invalidate(new Chave(usuarioId, mes));
+    }
+
+    public void invalidarTudo() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        invalidarMesesAfetados(evento.usuarioId(), evento.dataAnterior());
+        invalidarMesesAfetados(evento.usuarioId(), evento.dataAtual());
+    }
+
+    /**
+     * Depois do commit: invalidado antes, um dashboard calculado ao mesmo tempo
+     * ainda leria a categoria antiga e voltaria ao cache até o fim do ttl.
+     */
+    @TransactionalEventListener
+    public void aoAlterarCategoria(CategoriaAlteradaEvent evento) {
+        log.debug("Categoria {} alterada: invalidando todos os dashboards", evento.categoriaId());
+        invalidarTudo();
+    }
+
+    @TransactionalEventListener
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        for (YearMonth mes = YearMonth.from(evento.dataInicio()); !mes.isAfter(YearMonth.from(evento.dataFim()));
+             mes = mes.plusMonths(1)) {
+            invalidar(evento.usuarioId(), mes);
+        }
+        invalidar(evento.usuarioId(), YearMonth.from(evento.dataFim()).plusMonths(1));
+    }
+
+    private void invalidarMesesAfetados(Long usuarioId, LocalDate data) {
+        if (data == null) {
+            return;
+        }
+        YearMonth mes = YearMonth.from(data);
+        invalidar(usuarioId, mes);
+        invalidar(usuarioId, mes.plusMonths(1));
+        log.debug("Dashboard do usuário {} invalidado para {} e {}", usuarioId, mes, mes.plusMonths(1));
+    }
+
+    private record Chave(Long usuarioId, YearMonth mes) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.controle.cache;
+
+import com.example.controle.estatistica.DistribuicaoGastos;
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Cache da distribuição de valores dos gastos por (usuário, mês). O peso de cada
+ * entrada é a quantidade de buckets dos seus esboços, então o limite do cache é
+ * um limite de memória, independente de quantos gastos cada mês tem. As
+ * distribuições guardadas nunca são alteradas, apenas mescladas em novas.
+ */
+@Component
+public class DistribuicaoCache {
+
+    private final Cache<Chave, DistribuicaoGastos> cache;
+
+    public DistribuicaoCache(MeterRegistry meterRegistry,
+                             @Value("${dashboard.distribuicao.cache.max-buckets:2000000}") long maxBuckets,
+                             @Value("${dashboard.distribuicao.cache.ttl:6h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBuckets)
+                .weigher((Chave chave, DistribuicaoGastos distribuicao) -> distribuicao.getTamanho())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "distribuicao");
+    }
+
+    public DistribuicaoGastos obter(Long usuarioId, YearMonth mes, Supplier<DistribuicaoGastos> calcular) {
+        return cache.get(new Chave(usuarioId, mes), chave -> calcular.get());
+    }
+
+    public void invalidar(Long usuarioId, YearMonth mes) {
+        cache.invalidate(new Chave(usuarioId, mes));
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        invalidarMes(evento.usuarioId(), evento.dataAnterior());
+        invalidarMes(evento.usuarioId(), evento.dataAtual());
+    }
+
+    @TransactionalEventListener
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        for (YearMonth mes = YearMonth.from(evento.dataInicio()); !mes.isAfter(YearMonth.from(evento.dataFim()));
+             mes = mes.plusMonths(1)) {
+            invalidar(evento.usuarioId(), mes);
+        }
+    }
+
+    private void invalidarMes(Long usuarioId, LocalDate data) {
+        if (data != null) {
+            invalidar(usuarioId, YearMonth.from(data));
+        }
+    }
+
+    private record Chave(Long usuarioId, YearMonth mes) {
+    }
+}
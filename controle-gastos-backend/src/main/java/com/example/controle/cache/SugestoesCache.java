@@ -0,0 +1,108 @@
+package com.example.controle.cache;
+
+import com.example.controle.busca.SugestoesDescricao;
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sugestões de descrição por usuário. Cada usuário é carregado do banco no
+ * primeiro uso e, a partir daí, mantido pelas escritas confirmadas. Uma escrita
+ * confirmada enquanto a carga do usuário está em andamento pode ou não estar na
+ * leitura; nesse caso a carga é usada uma vez e descartada, e o próximo acesso
+ * carrega de novo.
+ * <p>
+ * As entradas vencem pelo tempo desde a carga, e não desde o último acesso,
+ * para que escritas feitas em outras instâncias apareçam em no máximo
+ * {@code gastos.sugestoes.cache.ttl}. Acima do limite de memória saem as menos
+ * usadas. O peso é calculado na carga e não acompanha os incrementos seguintes,
+ * que são pequenos.
+ */
+@Component
+public class SugestoesCache {
+
+    private final Cache<Long, SugestoesDescricao> cache;
+    // Usuários com carga em andamento; o valor indica uma escrita durante a carga
+    private final ConcurrentMap<Long, AtomicBoolean> cargasEmAndamento = new ConcurrentHashMap<>();
+
+    public SugestoesCache(MeterRegistry meterRegistry,
+                          @Value("${gastos.sugestoes.cache.max-bytes:67108864}") long maxBytes,
+                          @Value("${gastos.sugestoes.cache.ttl:30m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long usuarioId, SugestoesDescricao sugestoes) -> sugestoes.getPeso())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sugestoes-descricao");
+    }
+
+    public SugestoesDescricao obter(Long usuarioId, Supplier<SugestoesDescricao> carregar) {
+        AtomicBoolean[] carga = new AtomicBoolean[1];
+        SugestoesDescricao sugestoes = cache.get(usuarioId, id -> {
+            // Registrada antes da leitura: uma escrita confirmada depois dela é sinalizada
+            carga[0] = new AtomicBoolean();
+            cargasEmAndamento.put(id, carga[0]);
+            return carregar.get();
+        });
+        if (carga[0] != null) {
+            // Removida só depois que a entrada ficou visível para os eventos
+            cargasEmAndamento.remove(usuarioId, carga[0]);
+            if (carga[0].get()) {
+                cache.asMap().remove(usuarioId, sugestoes);
+            }
+        }
+        return sugestoes;
+    }
+
+    public void invalidar(Long usuarioId) {
+        cache.invalidate(usuarioId);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        sinalizarCarga(evento.usuarioId());
+        SugestoesDescricao sugestoes = cache.getIfPresent(evento.usuarioId());
+        if (sugestoes == null || Objects.equals(evento.descricaoAnterior(), evento.descricao())) {
+            return;
+        }
+        if (evento.descricaoAnterior() != null) {
+            sugestoes.remover(evento.descricaoAnterior());
+        }
+        if (evento.descricao() != null) {
+            sugestoes.adicionar(evento.descricao(), 1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        sinalizarCarga(evento.usuarioId());
+        SugestoesDescricao sugestoes = cache.getIfPresent(evento.usuarioId());
+        if (sugestoes == null) {
+            return;
+        }
+        for (GastosImportadosEvent.GastoImportado gasto : evento.gastos()) {
+            sugestoes.adicionar(gasto.descricao(), 1);
+        }
+    }
+
+    private void sinalizarCarga(Long usuarioId) {
+        AtomicBoolean carga = cargasEmAndamento.get(usuarioId);
+        if (carga != null) {
+            carga.set(true);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.AcessoUsuarioAlteradoEvent;
+import com.example.controle.model.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Usuários por email para a autenticação. Emails sem usuário também são
+ * guardados, por menos tempo, para que tokens e logins com emails inexistentes
+ * não consultem o banco a cada tentativa. As alterações de acesso feitas nesta
+ * instância descartam a entrada após o commit; as das demais aparecem quando a
+ * entrada expira. Cada leitura devolve uma cópia, já que o chamador pode
+ * alterar a entidade.
+ */
+@Component
+public class UsuarioCache {
+
+    private final Cache<String, Usuario> usuarios;
+    private final Cache<String, Boolean> inexistentes;
+
+    public UsuarioCache(MeterRegistry meterRegistry,
+                        @Value("${seguranca.usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                        @Value("${seguranca.usuarios.cache.ttl:5m}") Duration ttl,
+                        @Value("${seguranca.usuarios.cache.ttl-inexistentes:1m}") Duration ttlInexistentes) {
+        this.usuarios = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.inexistentes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttlInexistentes)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usuarios, "usuarios");
+        CaffeineCacheMetrics.monitor(meterRegistry, inexistentes, "usuarios-inexistentes");
+    }
+
+    public Optional<Usuario> obter(String email, Function<String, Optional<Usuario>> carregar) {
+        if (inexistentes.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        // Caffeine não guarda o resultado nulo, que vai para o cache negativo
+        Usuario usuario = usuarios.get(email, chave -> carregar.apply(chave).map(UsuarioCache::copiar).orElse(null));
+        if (usuario == null) {
+            inexistentes.put(email, Boolean.TRUE);
+            return Optional.empty();
+        }
+        return Optional.of(copiar(usuario));
+    }
+
+    public void invalidar(String email) {
+        usuarios.invalidate(email);
+        inexistentes.invalidate(email);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarAcesso(AcessoUsuarioAlteradoEvent evento) {
+        invalidar(evento.email());
+    }
+
+    private static Usuario copiar(Usuario usuario) {
+        Usuario copia = new Usuario();
+        copia.setId(usuario.getId());
+        copia.setEmail(usuario.getEmail());
+        copia.setNome(usuario.getNome());
+        copia.setSenha(usuario.getSenha());
+        copia.setRole(usuario.getRole());
+        copia.setAtivo(usuario.getAtivo());
+        copia.setVersaoToken(usuario.getVersaoToken());
+        return copia;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.controle.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class DashboardConfig {
+
+    /**
+     * Executor usado pelo modo paralelo do dashboard e pelo aquecimento do cache.
+     * Cada tarefa roda em uma virtual thread própria; o limite de conexões
+     * simultâneas é aplicado por quem submete as tarefas.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
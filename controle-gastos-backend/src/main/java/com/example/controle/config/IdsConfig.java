@@ -0,0 +1,22 @@
+package com.example.controle.config;
+
+import com.example.controle.model.id.GeradorIdOrdenadoPorTempo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica {@code gastos.ids.no} ao {@link GeradorIdOrdenadoPorTempo} na
+ * inicialização, antes de qualquer requisição gravar entidades.
+ */
+@Configuration
+public class IdsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdsConfig.class);
+
+    public IdsConfig(@Value("${gastos.ids.no:0}") int no) {
+        GeradorIdOrdenadoPorTempo.configurarNo(no);
+        log.info("Ids ordenados por tempo gerados com o nó {}", no);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.controle.config;
 
 import com.example.controle.filter.JwtAuthenticationFilter;
+import com.example.controle.filter.LimiteRequisicoesFilter;
+import com.example.controle.security.PasswordEncoderIsolado;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,9 +28,12 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final LimiteRequisicoesFilter limiteRequisicoesFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          LimiteRequisicoesFilter limiteRequisicoesFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.limiteRequisicoesFilter = limiteRequisicoesFilter;
     }
 
     @Bean
@@ -42,9 +49,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/categorias/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/categorias/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/categorias/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Depois do JWT, para limitar por usuário
+                .addFilterAfter(limiteRequisicoesFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -62,9 +72,20 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt em um pool próprio com fila limitada (ver {@link PasswordEncoderIsolado}).
+     * Com {@code seguranca.senhas.threads=0}, usa metade dos núcleos (no mínimo
+     * um): um pico de logins satura o pool, e com um thread por núcleo ele
+     * ocuparia a CPU inteira, que também atende o restante da API.
+     */
+    @Bean(destroyMethod = "close")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${seguranca.senhas.threads:0}") int threads,
+                                           @Value("${seguranca.senhas.fila:64}") int tamanhoFila,
+                                           @Value("${seguranca.senhas.retry-after-segundos:2}") long retryAfterSegundos) {
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PasswordEncoderIsolado(new BCryptPasswordEncoder(), tamanhoPool, tamanhoFila,
+                retryAfterSegundos, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,165 @@
+package com.example.controle.controller;
+
+import com.example.controle.busca.IndiceTextoGastos;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.service.DashboardAquecimentoService;
+import com.example.controle.service.NormalizacaoDescricaoService;
+import com.example.controle.service.ResumoGastoService;
+import com.example.controle.service.UsuarioAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Administração", description = "Rotinas de manutenção (apenas ADMIN)")
+public class AdminController {
+
+    private final ResumoGastoService resumoGastoService;
+    private final DashboardAquecimentoService dashboardAquecimentoService;
+    private final IndiceTextoGastos indiceTextoGastos;
+    private final NormalizacaoDescricaoService normalizacaoDescricaoService;
+    private final UsuarioAdminService usuarioAdminService;
+
+    public AdminController(ResumoGastoService resumoGastoService,
+                           DashboardAquecimentoService dashboardAquecimentoService,
+                           IndiceTextoGastos indiceTextoGastos,
+                           NormalizacaoDescricaoService normalizacaoDescricaoService,
+                           UsuarioAdminService usuarioAdminService) {
+        this.resumoGastoService = resumoGastoService;
+        this.dashboardAquecimentoService = dashboardAquecimentoService;
+        this.indiceTextoGastos = indiceTextoGastos;
+        this.normalizacaoDescricaoService = normalizacaoDescricaoService;
+        this.usuarioAdminService = usuarioAdminService;
+    }
+
+    @PostMapping("/resumos/reconstruir")
+    @Operation(
+        summary = "Reconstruir resumos de gastos",
+        description = "Recalcula os resumos diários e mensais a partir da tabela de gastos, " +
+                     "um usuário por transação. Se o usuário não for informado, processa todos"
+    )
+    public ResponseEntity<Map<String, Object>> reconstruirResumos(
+            @Parameter(description = "ID do usuário a reconstruir")
+            @RequestParam(required = false) Long usuarioId) {
+
+        int processados;
+        if (usuarioId != null) {
+            resumoGastoService.reconstruir(usuarioId);
+            processados = 1;
+        } else {
+            processados = resumoGastoService.reconstruirTodos();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("usuariosProcessados", processados);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/dashboard/aquecer")
+    @Operation(
+        summary = "Aquecer cache de dashboards",
+        description = "Executa imediatamente o pré-cálculo do dashboard do mês atual para os usuários " +
+                     "ativos, mesmo com o agendamento desabilitado"
+    )
+    public ResponseEntity<Map<String, Object>> aquecerDashboards() {
+        int aquecidos = dashboardAquecimentoService.aquecer();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("usuariosAquecidos", aquecidos);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/busca/reconstruir")
+    @Operation(
+        summary = "Reconstruir índice de busca textual",
+        description = "Apaga e recria o índice de descrição e observação dos gastos de todos os usuários. " +
+                     "Enquanto isso, a busca por texto usa a consulta LIKE"
+    )
+    public ResponseEntity<Map<String, Object>> reconstruirIndiceBusca() {
+        long indexados = indiceTextoGastos.reconstruir();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("gastosIndexados", indexados);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/gastos/normalizar-descricoes")
+    @Operation(
+        summary = "Normalizar descrições de gastos",
+        description = "Preenche a descrição normalizada (sem acentos e em minúsculas) dos gastos gravados " +
+                     "antes da busca por prefixo, em lotes. Pode ser executada novamente se interrompida"
+    )
+    public ResponseEntity<Map<String, Object>> normalizarDescricoes() {
+        long atualizados = normalizacaoDescricaoService.preencherPendentes();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("gastosAtualizados", atualizados);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/usuarios/{id}/desativar")
+    @Operation(
+        summary = "Desativar usuário",
+        description = "Impede novos logins e invalida os tokens já emitidos para o usuário. " +
+                     "As demais instâncias aplicam a revogação na próxima atualização periódica"
+    )
+    public ResponseEntity<Map<String, Object>> desativarUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long id) {
+        return ResponseEntity.ok(acesso(usuarioAdminService.desativar(id)));
+    }
+
+    @PostMapping("/usuarios/{id}/ativar")
+    @Operation(
+        summary = "Ativar usuário",
+        description = "Libera o login de um usuário desativado. Tokens emitidos antes da desativação continuam inválidos"
+    )
+    public ResponseEntity<Map<String, Object>> ativarUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long id) {
+        return ResponseEntity.ok(acesso(usuarioAdminService.ativar(id)));
+    }
+
+    @PutMapping("/usuarios/{id}/role")
+    @Operation(
+        summary = "Alterar papel do usuário",
+        description = "Altera o papel do usuário e invalida os tokens já emitidos, que carregam o papel anterior"
+    )
+    public ResponseEntity<Map<String, Object>> alterarRoleUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Parameter(description = "Novo papel (USER ou ADMIN)") @RequestParam Usuario.Role role) {
+        return ResponseEntity.ok(acesso(usuarioAdminService.alterarRole(id, role)));
+    }
+
+    @PostMapping("/usuarios/{id}/revogar-tokens")
+    @Operation(
+        summary = "Revogar tokens do usuário",
+        description = "Invalida todos os tokens já emitidos para o usuário, que precisa fazer login novamente"
+    )
+    public ResponseEntity<Map<String, Object>> revogarTokensUsuario(
+            @Parameter(description = "ID do usuário") @PathVariable Long id) {
+        return ResponseEntity.ok(acesso(usuarioAdminService.revogarTokens(id)));
+    }
+
+    private static Map<String, Object> acesso(Usuario usuario) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("usuarioId", usuario.getId());
+        response.put("ativo", usuario.isEnabled());
+        response.put("role", usuario.getRole());
+        response.put("versaoToken", usuario.getVersaoToken());
+        return response;
+    }
+}
@@ -1,17 +1,23 @@
 package com.example.controle.controller;
 
 import com.example.controle.model.dto.DashboardDTO;
+import com.example.controle.model.dto.DistribuicaoDTO;
+import com.example.controle.model.dto.TendenciaDTO;
 import com.example.controle.service.DashboardService;
+import com.example.controle.service.DistribuicaoService;
+import com.example.controle.service.VersaoDadosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.YearMonth;
 
@@ -22,9 +28,15 @@ import java.time.YearMonth;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DistribuicaoService distribuicaoService;
+    private final VersaoDadosService versaoDadosService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService,
+                               DistribuicaoService distribuicaoService,
+                               VersaoDadosService versaoDadosService) {
         this.dashboardService = dashboardService;
+        this.distribuicaoService = distribuicaoService;
+        this.versaoDadosService = versaoDadosService;
     }
 
     @GetMapping
@@ -37,10 +49,76 @@ public class DashboardController {
             @Parameter(description = "Mês de referência no formato YYYY-MM (ex: 2024-01). " +
                                     "Se não informado, usa o mês atual")
             @RequestParam(required = false) 
-            @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes) {
+            @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes,
+            ServletWebRequest webRequest) {
         
         YearMonth mesReferencia = mes != null ? mes : YearMonth.now();
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest(), mesReferencia);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         DashboardDTO dashboard = dashboardService.getDashboard(mesReferencia);
-        return ResponseEntity.ok(dashboard);
+        return comEtag(etag, dashboard);
+    }
+
+    @GetMapping("/tendencia")
+    @Operation(
+        summary = "Obter tendência mensal",
+        description = "Retorna, para cada mês do intervalo, o total, a quantidade de gastos e o total " +
+                     "por categoria, em séries paralelas indexadas pela lista de meses"
+    )
+    public ResponseEntity<TendenciaDTO> getTendencia(
+            @Parameter(description = "Mês inicial no formato YYYY-MM (ex: 2024-01)", required = true)
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+
+            @Parameter(description = "Mês final no formato YYYY-MM. Se não informado, usa o mês atual")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+            ServletWebRequest webRequest) {
+
+        YearMonth mesFinal = fim != null ? fim : YearMonth.now();
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest(), inicio, mesFinal);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        TendenciaDTO tendencia = dashboardService.getTendencia(inicio, mesFinal);
+        return comEtag(etag, tendencia);
+    }
+
+    @GetMapping("/distribuicao")
+    @Operation(
+        summary = "Obter distribuição dos valores dos gastos",
+        description = "Retorna percentis (p50, p90, p99) aproximados com erro relativo de até 1%, " +
+                     "contagem por faixa de valor e percentis por categoria no intervalo de meses"
+    )
+    public ResponseEntity<DistribuicaoDTO> getDistribuicao(
+            @Parameter(description = "Mês inicial no formato YYYY-MM. Se não informado, usa o mês atual")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+
+            @Parameter(description = "Mês final no formato YYYY-MM. Se não informado, usa o mês inicial")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+            ServletWebRequest webRequest) {
+
+        YearMonth mesInicial = inicio != null ? inicio : YearMonth.now();
+        YearMonth mesFinal = fim != null ? fim : mesInicial;
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest(), mesInicial, mesFinal);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        DistribuicaoDTO distribuicao = distribuicaoService.getDistribuicao(mesInicial, mesFinal);
+        return comEtag(etag, distribuicao);
+    }
+
+    /**
+     * Resposta 200 com ETag. O cliente pode guardar a resposta, mas deve
+     * revalidá-la a cada uso com If-None-Match.
+     */
+    private <T> ResponseEntity<T> comEtag(String etag, T corpo) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(corpo);
     }
 }
@@ -1,9 +1,22 @@
 package com.example.controle.controller;
 
+import com.example.controle.exception.BusinessException;
 import com.example.controle.model.dto.GastoFilterDTO;
 import com.example.controle.model.dto.GastoRequestDTO;
 import com.example.controle.model.dto.GastoResponseDTO;
+import com.example.controle.model.dto.ImportacaoResultadoDTO;
+import com.example.controle.model.dto.LoteGastosRequestDTO;
+import com.example.controle.model.dto.LoteGastosResultadoDTO;
+import com.example.controle.model.dto.PaginaCursorDTO;
+import com.example.controle.model.dto.SugestaoDescricaoDTO;
+import com.example.controle.service.EstrategiaContagem;
+import com.example.controle.service.ExportacaoService;
+import com.example.controle.service.FormatoExportacao;
+import com.example.controle.service.FormatoImportacao;
+import com.example.controle.service.ImportacaoService;
+import com.example.controle.service.LoteGastosService;
 import com.example.controle.service.GastoService;
+import com.example.controle.service.VersaoDadosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,15 +25,27 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -30,14 +55,30 @@ import java.util.Map;
 public class GastoController {
 
     private final GastoService gastoService;
+    private final VersaoDadosService versaoDadosService;
+    private final ExportacaoService exportacaoService;
+    private final ImportacaoService importacaoService;
+    private final LoteGastosService loteGastosService;
 
-    public GastoController(GastoService gastoService) {
+    public GastoController(GastoService gastoService,
+                           VersaoDadosService versaoDadosService,
+                           ExportacaoService exportacaoService,
+                           ImportacaoService importacaoService,
+                           LoteGastosService loteGastosService) {
         this.gastoService = gastoService;
+        this.versaoDadosService = versaoDadosService;
+        this.exportacaoService = exportacaoService;
+        this.importacaoService = importacaoService;
+        this.loteGastosService = loteGastosService;
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os gastos", description = "Lista gastos do usuário com paginação")
-    public ResponseEntity<Page<GastoResponseDTO>> listarTodos(
+    @Operation(
+        summary = "Listar todos os gastos",
+        description = "Lista gastos do usuário com paginação por offset ou, com paginacao=cursor, " +
+                     "por cursor ordenado por (dataGasto, id), com custo constante em qualquer profundidade"
+    )
+    public ResponseEntity<?> listarTodos(
             @Parameter(description = "Número da página (inicia em 0)")
             @RequestParam(defaultValue = "0") int page,
             
@@ -48,21 +89,57 @@ public class GastoController {
             @RequestParam(defaultValue = "dataGasto") String sortBy,
             
             @Parameter(description = "Direção da ordenação (ASC ou DESC)")
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+
+            @Parameter(description = "Modo de paginação: offset (padrão) ou cursor")
+            @RequestParam(defaultValue = "offset") String paginacao,
+
+            @Parameter(description = "Token da próxima página, retornado pela página anterior no modo cursor")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Contagem do total no modo offset: exata (padrão), nenhuma (apenas indica " +
+                                    "se há próxima página) ou cache (reaproveita o total até a próxima escrita)")
+            @RequestParam(defaultValue = "exata") String contagem,
+
+            ServletWebRequest webRequest) {
         
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (modoCursor(paginacao)) {
+            GastoFilterDTO filter = new GastoFilterDTO();
+            filter.setOrdenarPor(sortBy);
+            filter.setDirecao(direction);
+            PaginaCursorDTO<GastoResponseDTO> gastos = gastoService.listarComCursor(filter, cursor, size);
+            return comEtag(etag, gastos);
+        }
+
         Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? 
             Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+
+        EstrategiaContagem estrategiaContagem = EstrategiaContagem.de(contagem);
+        if (estrategiaContagem != EstrategiaContagem.EXATA) {
+            Slice<GastoResponseDTO> gastos = gastoService.listarPagina(new GastoFilterDTO(), pageable, estrategiaContagem);
+            return comEtag(etag, gastos);
+        }
         
         Page<GastoResponseDTO> gastos = gastoService.listarTodos(pageable);
-        return ResponseEntity.ok(gastos);
+        return comEtag(etag, gastos);
     }
 
     @GetMapping("/filtrar")
     @Operation(summary = "Filtrar gastos", description = "Filtra gastos com múltiplos critérios")
-    public ResponseEntity<Page<GastoResponseDTO>> filtrar(
-            @Parameter(description = "Descrição (busca parcial)")
+    public ResponseEntity<?> filtrar(
+            @Parameter(description = "Descrição (busca parcial). Com o índice textual habilitado, busca palavras " +
+                                     "iniciadas pelo termo na descrição e na observação")
             @RequestParam(required = false) String descricao,
+
+            @Parameter(description = "Busca na descrição: contem (padrão) ou prefixo (descrição começando pelo " +
+                                     "termo, ignorando maiúsculas e acentos; usa índice)")
+            @RequestParam(defaultValue = "contem") String busca,
             
             @Parameter(description = "ID da categoria")
             @RequestParam(required = false) Long categoriaId,
@@ -82,64 +159,217 @@ public class GastoController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "dataGasto") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "Modo de paginação: offset (padrão) ou cursor")
+            @RequestParam(defaultValue = "offset") String paginacao,
+
+            @Parameter(description = "Token da próxima página, retornado pela página anterior no modo cursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Contagem do total no modo offset: exata (padrão), nenhuma (apenas indica " +
+                                    "se há próxima página) ou cache (reaproveita o total até a próxima escrita)")
+            @RequestParam(defaultValue = "exata") String contagem,
+            ServletWebRequest webRequest) {
         
-        GastoFilterDTO filter = new GastoFilterDTO();
-        filter.setDescricao(descricao);
-        filter.setCategoriaId(categoriaId);
-        filter.setDataInicio(dataInicio);
-        filter.setDataFim(dataFim);
-        filter.setValorMinimo(valorMinimo);
-        filter.setValorMaximo(valorMaximo);
-        filter.setOrdenarPor(sortBy);
-        filter.setDirecao(direction);
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        GastoFilterDTO filter = montarFiltro(descricao, busca, categoriaId, dataInicio, dataFim,
+            valorMinimo, valorMaximo, sortBy, direction);
+
+        if (modoCursor(paginacao)) {
+            PaginaCursorDTO<GastoResponseDTO> gastos = gastoService.listarComCursor(filter, cursor, size);
+            return comEtag(etag, gastos);
+        }
         
         Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? 
             Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
         
+        EstrategiaContagem estrategiaContagem = EstrategiaContagem.de(contagem);
+        if (estrategiaContagem != EstrategiaContagem.EXATA) {
+            Slice<GastoResponseDTO> gastos = gastoService.listarPagina(filter, pageable, estrategiaContagem);
+            return comEtag(etag, gastos);
+        }
+
         Page<GastoResponseDTO> gastos = gastoService.filtrar(filter, pageable);
-        return ResponseEntity.ok(gastos);
+        return comEtag(etag, gastos);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Exportar gastos",
+        description = "Exporta todos os gastos que passam nos filtros (os mesmos de /filtrar), sem paginação, " +
+                     "em CSV ou NDJSON. O arquivo é enviado à medida que os gastos são lidos"
+    )
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato: csv (padrão) ou ndjson")
+            @RequestParam(defaultValue = "csv") String format,
+
+            @Parameter(description = "Descrição (busca parcial)")
+            @RequestParam(required = false) String descricao,
+
+            @Parameter(description = "Busca na descrição: contem (padrão) ou prefixo")
+            @RequestParam(defaultValue = "contem") String busca,
+
+            @Parameter(description = "ID da categoria")
+            @RequestParam(required = false) Long categoriaId,
+
+            @Parameter(description = "Data inicial")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+
+            @Parameter(description = "Data final")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+
+            @Parameter(description = "Valor mínimo")
+            @RequestParam(required = false) BigDecimal valorMinimo,
+
+            @Parameter(description = "Valor máximo")
+            @RequestParam(required = false) BigDecimal valorMaximo,
+
+            @RequestParam(defaultValue = "dataGasto") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction) {
+
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        GastoFilterDTO filter = montarFiltro(descricao, busca, categoriaId, dataInicio, dataFim,
+            valorMinimo, valorMaximo, sortBy, direction);
+
+        StreamingResponseBody corpo = exportacaoService.exportar(filter, formato);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formato.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("gastos." + formato.getExtensao())
+                .build()
+                .toString())
+            .body(corpo);
+    }
+
+    @GetMapping("/sugestoes")
+    @Operation(
+        summary = "Sugerir descrições",
+        description = "Autocompletar: descrições já usadas pelo usuário que começam pelo prefixo, " +
+                     "ignorando maiúsculas e acentos, das mais usadas para as menos usadas"
+    )
+    public ResponseEntity<List<SugestaoDescricaoDTO>> sugerirDescricoes(
+            @Parameter(description = "Início da descrição digitado até o momento")
+            @RequestParam(name = "prefix", defaultValue = "") String prefixo,
+
+            @Parameter(description = "Quantidade máxima de sugestões (1 a 20)")
+            @RequestParam(defaultValue = "10") int limite) {
+
+        List<SugestaoDescricaoDTO> sugestoes = gastoService.sugerirDescricoes(prefixo, limite);
+        return ResponseEntity.ok(sugestoes);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar gasto por ID")
-    public ResponseEntity<GastoResponseDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<GastoResponseDTO> buscarPorId(@PathVariable Long id, ServletWebRequest webRequest) {
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         GastoResponseDTO gasto = gastoService.buscarPorId(id);
-        return ResponseEntity.ok(gasto);
+        return comEtag(etag, gasto);
     }
 
     @GetMapping("/categoria/{categoriaId}")
     @Operation(summary = "Buscar gastos por categoria")
-    public ResponseEntity<Page<GastoResponseDTO>> buscarPorCategoria(
+    public ResponseEntity<?> buscarPorCategoria(
             @PathVariable Long categoriaId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Modo de paginação: offset (padrão) ou cursor")
+            @RequestParam(defaultValue = "offset") String paginacao,
+
+            @Parameter(description = "Token da próxima página, retornado pela página anterior no modo cursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Contagem do total no modo offset: exata (padrão), nenhuma (apenas indica " +
+                                    "se há próxima página) ou cache (reaproveita o total até a próxima escrita)")
+            @RequestParam(defaultValue = "exata") String contagem,
+            ServletWebRequest webRequest) {
         
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (modoCursor(paginacao)) {
+            PaginaCursorDTO<GastoResponseDTO> gastos = gastoService.buscarPorCategoriaComCursor(categoriaId, cursor, size);
+            return comEtag(etag, gastos);
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataGasto"));
+
+        EstrategiaContagem estrategiaContagem = EstrategiaContagem.de(contagem);
+        if (estrategiaContagem != EstrategiaContagem.EXATA) {
+            Slice<GastoResponseDTO> gastos = gastoService.buscarPorCategoria(categoriaId, pageable, estrategiaContagem);
+            return comEtag(etag, gastos);
+        }
+
         Page<GastoResponseDTO> gastos = gastoService.buscarPorCategoria(categoriaId, pageable);
-        return ResponseEntity.ok(gastos);
+        return comEtag(etag, gastos);
     }
 
     @GetMapping("/periodo")
     @Operation(summary = "Buscar gastos por período")
-    public ResponseEntity<Page<GastoResponseDTO>> buscarPorPeriodo(
+    public ResponseEntity<?> buscarPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Modo de paginação: offset (padrão) ou cursor")
+            @RequestParam(defaultValue = "offset") String paginacao,
+
+            @Parameter(description = "Token da próxima página, retornado pela página anterior no modo cursor")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Contagem do total no modo offset: exata (padrão), nenhuma (apenas indica " +
+                                    "se há próxima página) ou cache (reaproveita o total até a próxima escrita)")
+            @RequestParam(defaultValue = "exata") String contagem,
+            ServletWebRequest webRequest) {
         
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (modoCursor(paginacao)) {
+            GastoFilterDTO filter = new GastoFilterDTO();
+            filter.setDataInicio(dataInicio);
+            filter.setDataFim(dataFim);
+            PaginaCursorDTO<GastoResponseDTO> gastos = gastoService.listarComCursor(filter, cursor, size);
+            return comEtag(etag, gastos);
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataGasto"));
+
+        EstrategiaContagem estrategiaContagem = EstrategiaContagem.de(contagem);
+        if (estrategiaContagem != EstrategiaContagem.EXATA) {
+            GastoFilterDTO filter = new GastoFilterDTO();
+            filter.setDataInicio(dataInicio);
+            filter.setDataFim(dataFim);
+            Slice<GastoResponseDTO> gastos = gastoService.listarPagina(filter, pageable, estrategiaContagem);
+            return comEtag(etag, gastos);
+        }
+
         Page<GastoResponseDTO> gastos = gastoService.buscarPorPeriodo(dataInicio, dataFim, pageable);
-        return ResponseEntity.ok(gastos);
+        return comEtag(etag, gastos);
     }
 
     @GetMapping("/total/periodo")
     @Operation(summary = "Calcular total de gastos por período")
     public ResponseEntity<Map<String, Object>> calcularTotalPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            ServletWebRequest webRequest) {
         
+        String etag = versaoDadosService.gerarEtag(webRequest.getRequest());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         BigDecimal total = gastoService.calcularTotalPorPeriodo(dataInicio, dataFim);
         Long quantidade = gastoService.contarGastosPorPeriodo(dataInicio, dataFim);
         
@@ -149,7 +379,7 @@ public class GastoController {
         response.put("dataInicio", dataInicio);
         response.put("dataFim", dataFim);
         
-        return ResponseEntity.ok(response);
+        return comEtag(etag, response);
     }
 
     @PostMapping
@@ -159,6 +389,57 @@ public class GastoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(gasto);
     }
 
+    @PostMapping(value = "/importar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Importar gastos em lote",
+        description = "Importa um arquivo CSV (com cabeçalho data, descricao, valor e, opcionalmente, categoria, " +
+                     "categoriaId e observacao) ou um extrato OFX (apenas os débitos). Linhas inválidas são " +
+                     "relatadas no resultado sem interromper a importação. Se a gravação de um bloco falhar, a importação " +
+                     "para e o resultado parcial vem com interrompida=true e as linhas do bloco que falhou"
+    )
+    public ResponseEntity<ImportacaoResultadoDTO> importar(
+            @Parameter(description = "Arquivo a importar")
+            @RequestParam("arquivo") MultipartFile arquivo,
+
+            @Parameter(description = "Formato: csv ou ofx (padrão: pela extensão do arquivo)")
+            @RequestParam(required = false) String formato,
+
+            @Parameter(description = "Categoria das linhas sem categoria; obrigatória para OFX")
+            @RequestParam(required = false) Long categoriaId,
+
+            @Parameter(description = "Codificação do arquivo (ex.: UTF-8, windows-1252)")
+            @RequestParam(defaultValue = "UTF-8") String charset) throws IOException {
+
+        String nomeArquivo = arquivo.getOriginalFilename() != null ? arquivo.getOriginalFilename() : "";
+        FormatoImportacao formatoImportacao = FormatoImportacao.de(
+            formato != null ? formato : nomeArquivo.substring(nomeArquivo.lastIndexOf('.') + 1));
+
+        Charset codificacao;
+        try {
+            codificacao = Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Codificação inválida: " + charset);
+        }
+
+        try (InputStream entrada = arquivo.getInputStream()) {
+            ImportacaoResultadoDTO resultado = importacaoService.importar(entrada, formatoImportacao, categoriaId, codificacao);
+            return ResponseEntity.ok(resultado);
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Criar, atualizar e excluir gastos em lote",
+        description = "Executa as operações em uma única transação e retorna o resultado de cada uma, na ordem " +
+                     "enviada. Com atomico=true (padrão), qualquer operação inválida rejeita o lote inteiro com 422; " +
+                     "com atomico=false, as operações válidas são aplicadas e as inválidas relatadas"
+    )
+    public ResponseEntity<LoteGastosResultadoDTO> executarLote(@Valid @RequestBody LoteGastosRequestDTO requestDTO) {
+        LoteGastosResultadoDTO resultado = loteGastosService.executar(requestDTO);
+        return ResponseEntity.status(resultado.isAplicado() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY)
+            .body(resultado);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar gasto")
     public ResponseEntity<GastoResponseDTO> atualizar(
@@ -174,4 +455,36 @@ public class GastoController {
         gastoService.deletar(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static GastoFilterDTO montarFiltro(String descricao, String busca, Long categoriaId,
+                                               LocalDate dataInicio, LocalDate dataFim,
+                                               BigDecimal valorMinimo, BigDecimal valorMaximo,
+                                               String sortBy, String direction) {
+        GastoFilterDTO filter = new GastoFilterDTO();
+        filter.setDescricao(descricao);
+        filter.setBuscaPorPrefixo("prefixo".equalsIgnoreCase(busca));
+        filter.setCategoriaId(categoriaId);
+        filter.setDataInicio(dataInicio);
+        filter.setDataFim(dataFim);
+        filter.setValorMinimo(valorMinimo);
+        filter.setValorMaximo(valorMaximo);
+        filter.setOrdenarPor(sortBy);
+        filter.setDirecao(direction);
+        return filter;
+    }
+
+    private static boolean modoCursor(String paginacao) {
+        return "cursor".equalsIgnoreCase(paginacao);
+    }
+
+    /**
+     * Resposta 200 com ETag. O cliente pode guardar a resposta, mas deve
+     * revalidá-la a cada uso com If-None-Match.
+     */
+    private <T> ResponseEntity<T> comEtag(String etag, T corpo) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(corpo);
+    }
 }
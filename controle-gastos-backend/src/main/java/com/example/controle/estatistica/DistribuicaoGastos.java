@@ -0,0 +1,82 @@
+package com.example.controle.estatistica;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distribuição dos valores dos gastos de um período: um esboço de quantis geral,
+ * um por categoria e a contagem exata por faixa de valor. É montada em uma única
+ * passada pelos gastos e pode ser mesclada com a de outros períodos.
+ */
+public class DistribuicaoGastos {
+
+    /**
+     * Limites inferiores das faixas de valor; a última faixa não tem limite superior.
+     */
+    public static final BigDecimal[] LIMITES_FAIXAS = {
+        BigDecimal.ZERO,
+        new BigDecimal("10"),
+        new BigDecimal("25"),
+        new BigDecimal("50"),
+        new BigDecimal("100"),
+        new BigDecimal("250"),
+        new BigDecimal("500"),
+        new BigDecimal("1000"),
+        new BigDecimal("2500"),
+        new BigDecimal("5000")
+    };
+
+    private final EsbocoQuantis geral = new EsbocoQuantis();
+    private final Map<Long, EsbocoQuantis> porCategoria = new HashMap<>();
+    private final long[] faixas = new long[LIMITES_FAIXAS.length];
+
+    public void adicionar(Long categoriaId, BigDecimal valor) {
+        double valorDouble = valor.doubleValue();
+        geral.adicionar(valorDouble);
+        porCategoria.computeIfAbsent(categoriaId, id -> new EsbocoQuantis()).adicionar(valorDouble);
+        faixas[indiceFaixa(valor)]++;
+    }
+
+    public void mesclar(DistribuicaoGastos outra) {
+        geral.mesclar(outra.geral);
+        outra.porCategoria.forEach((categoriaId, esboco) ->
+            porCategoria.computeIfAbsent(categoriaId, id -> new EsbocoQuantis()).mesclar(esboco));
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] += outra.faixas[i];
+        }
+    }
+
+    public EsbocoQuantis getGeral() {
+        return geral;
+    }
+
+    public Map<Long, EsbocoQuantis> getPorCategoria() {
+        return Collections.unmodifiableMap(porCategoria);
+    }
+
+    public long[] getFaixas() {
+        return faixas.clone();
+    }
+
+    /**
+     * Total de buckets dos esboços, usado como peso no cache.
+     */
+    public int getTamanho() {
+        int tamanho = geral.getTamanho() + faixas.length;
+        for (EsbocoQuantis esboco : porCategoria.values()) {
+            tamanho += esboco.getTamanho();
+        }
+        return tamanho;
+    }
+
+    private static int indiceFaixa(BigDecimal valor) {
+        for (int i = LIMITES_FAIXAS.length - 1; i > 0; i--) {
+            if (valor.compareTo(LIMITES_FAIXAS[i]) >= 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.controle.estatistica;
+
+/**
+ * Esboço de quantis com erro relativo limitado, no estilo do DDSketch. Cada valor
+ * positivo cai no bucket {@code ceil(log(valor) / log(gama))}, então qualquer
+ * quantil é devolvido com erro relativo de no máximo {@link #ERRO_RELATIVO}.
+ *
+ * <p>A memória depende apenas da razão entre o maior e o menor valor vistos, não
+ * da quantidade: para valores entre R$ 0,01 e R$ 99.999.999,99 são no máximo
+ * ~1.150 buckets. Dois esboços podem ser mesclados sem perda, o que permite
+ * guardar um esboço por mês e combinar vários meses sem reler os gastos.
+ */
+public class EsbocoQuantis {
+
+    public static final double ERRO_RELATIVO = 0.01;
+
+    private static final double GAMA = (1 + ERRO_RELATIVO) / (1 - ERRO_RELATIVO);
+    private static final double LOG_GAMA = Math.log(GAMA);
+
+    private long[] contagens = new long[0];
+    private int menorIndice;
+    private long zeros;
+    private long quantidade;
+    private double minimo = Double.POSITIVE_INFINITY;
+    private double maximo = Double.NEGATIVE_INFINITY;
+
+    public void adicionar(double valor) {
+        if (valor < 0 || Double.isNaN(valor)) {
+            throw new IllegalArgumentException("O esboço aceita apenas valores não negativos: " + valor);
+        }
+
+        quantidade++;
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+
+        if (valor == 0) {
+            zeros++;
+            return;
+        }
+
+        int indice = (int) Math.ceil(Math.log(valor) / LOG_GAMA);
+        garantirFaixa(indice, indice);
+        contagens[indice - menorIndice]++;
+    }
+
+    public void mesclar(EsbocoQuantis outro) {
+        if (outro.quantidade == 0) {
+            return;
+        }
+
+        if (outro.contagens.length > 0) {
+            garantirFaixa(outro.menorIndice, outro.menorIndice + outro.contagens.length - 1);
+            int deslocamento = outro.menorIndice - menorIndice;
+            for (int i = 0; i < outro.contagens.length; i++) {
+                contagens[deslocamento + i] += outro.contagens[i];
+            }
+        }
+
+        zeros += outro.zeros;
+        quantidade += outro.quantidade;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * Retorna o valor aproximado do quantil {@code q} (entre 0 e 1), ou zero se o
+     * esboço estiver vazio.
+     */
+    public double quantil(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1: " + q);
+        }
+        if (quantidade == 0) {
+            return 0;
+        }
+
+        long posicao = (long) Math.floor(q * (quantidade - 1));
+        if (posicao < zeros) {
+            return 0;
+        }
+
+        long acumulado = zeros;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado > posicao) {
+                // Ponto do bucket (gama^(i-1), gama^i] com o menor erro relativo
+                double valor = 2 * Math.pow(GAMA, menorIndice + i) / (GAMA + 1);
+                return Math.max(minimo, Math.min(maximo, valor));
+            }
+        }
+        return maximo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public double getMinimo() {
+        return quantidade == 0 ? 0 : minimo;
+    }
+
+    public double getMaximo() {
+        return quantidade == 0 ? 0 : maximo;
+    }
+
+    /**
+     * Quantidade de buckets alocados, usada para estimar o peso do esboço em cache.
+     */
+    public int getTamanho() {
+        return contagens.length;
+    }
+
+    private void garantirFaixa(int inicio, int fim) {
+        if (contagens.length == 0) {
+            menorIndice = inicio;
+            contagens = new long[fim - inicio + 1];
+            return;
+        }
+
+        int maiorIndice = menorIndice + contagens.length - 1;
+        if (inicio >= menorIndice && fim <= maiorIndice) {
+            return;
+        }
+
+        int novoMenor = Math.min(inicio, menorIndice);
+        int novoMaior = Math.max(fim, maiorIndice);
+        long[] novas = new long[novoMaior - novoMenor + 1];
+        System.arraycopy(contagens, 0, novas, menorIndice - novoMenor, contagens.length);
+        contagens = novas;
+        menorIndice = novoMenor;
+    }
+}
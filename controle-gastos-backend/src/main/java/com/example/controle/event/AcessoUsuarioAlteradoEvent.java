@@ -0,0 +1,8 @@
+package com.example.controle.event;
+
+/**
+ * Publicado quando um usuário é desativado, reativado, muda de papel ou tem os
+ * tokens revogados. {@code versaoToken} é a nova versão mínima dos tokens aceitos.
+ */
+public record AcessoUsuarioAlteradoEvent(Long usuarioId, String email, long versaoToken, boolean ativo) {
+}
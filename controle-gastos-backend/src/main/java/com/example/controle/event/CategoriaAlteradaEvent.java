@@ -0,0 +1,8 @@
+package com.example.controle.event;
+
+/**
+ * Publicado quando nome, cor ou ícone de uma categoria mudam. Esses campos são
+ * copiados para os dashboards, de todos os usuários.
+ */
+public record CategoriaAlteradaEvent(Long categoriaId) {
+}
@@ -0,0 +1,17 @@
+package com.example.controle.event;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado por {@code GastoService} a cada criação, atualização ou exclusão de
+ * gasto. {@code dataAnterior} e {@code descricaoAnterior} são nulas na criação;
+ * {@code dataAtual}, {@code descricao} e {@code observacao} são nulas na
+ * exclusão. Os ouvintes que mantêm caches reagem apenas após o commit.
+ */
+public record GastoAlteradoEvent(Long usuarioId, Long gastoId, LocalDate dataAnterior, LocalDate dataAtual,
+                                 String descricaoAnterior, String descricao, String observacao) {
+
+    public GastoAlteradoEvent(Long usuarioId, Long gastoId, LocalDate dataAnterior, LocalDate dataAtual) {
+        this(usuarioId, gastoId, dataAnterior, dataAtual, null, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.controle.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Publicado pela importação a cada bloco de gastos gravado, e pela API de lote
+ * para os gastos criados, no lugar de um {@link GastoAlteradoEvent} por gasto. {@code dataInicio} e {@code dataFim}
+ * delimitam as datas dos gastos do bloco.
+ */
+public record GastosImportadosEvent(Long usuarioId, LocalDate dataInicio, LocalDate dataFim,
+                                    List<GastoImportado> gastos) {
+
+    public record GastoImportado(Long id, String descricao, String observacao) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.controle.exception;
+
+/**
+ * Lançada quando o usuário já ocupa todo o seu limite de um recurso (como
+ * exportações simultâneas). Respondida com 429 e o cabeçalho Retry-After.
+ */
+public class LimiteExcedidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSegundos;
+
+    public LimiteExcedidoException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.controle.exception;
+
+/**
+ * Lançada quando um recurso limitado (como o executor de senhas) está cheio.
+ * Respondida com 503 e o cabeçalho Retry-After.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSegundos;
+
+    public ServicoSobrecarregadoException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -1,29 +1,48 @@
 package com.example.controle.filter;
 
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.security.RevogacaoTokens;
+import com.example.controle.security.UsuarioAutenticado;
 import com.example.controle.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Autentica pelo token sem consultar o banco: id, papel e versão do token vêm
+ * das claims, e a revogação é conferida em {@link RevogacaoTokens}. Tokens
+ * emitidos antes das claims de usuário ainda passam pela consulta ao usuário
+ * até expirarem. Com {@code seguranca.jwt.verificar-usuario}, todo token é
+ * conferido também contra o usuário, lido pelo cache de usuários.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final RevogacaoTokens revogacaoTokens;
+    private final boolean verificarUsuario;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   RevogacaoTokens revogacaoTokens,
+                                   @Value("${seguranca.jwt.verificar-usuario:false}") boolean verificarUsuario) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revogacaoTokens = revogacaoTokens;
+        this.verificarUsuario = verificarUsuario;
     }
 
     @Override
@@ -34,27 +53,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Uma leitura por requisição; tokens já verificados vêm do cache do JwtUtil
+                claims = jwtUtil.extractAllClaims(jwt);
             } catch (Exception e) {
                 logger.error("Erro ao extrair username do token", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsuarioAutenticado usuario = jwtUtil.extractUsuario(claims);
+            if (usuario == null || verificarUsuario) {
+                usuario = carregarUsuario(claims, usuario);
+            }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (usuario != null && revogacaoTokens.aceita(usuario.getId(), usuario.getVersaoToken())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                usuario,
                                 null,
-                                userDetails.getAuthorities()
+                                usuario.getAuthorities()
                         );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -63,4 +85,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UsuarioAutenticado carregarUsuario(Claims claims, UsuarioAutenticado doToken) {
+        UserDetails userDetails;
+        try {
+            userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!(userDetails instanceof Usuario entidade) || !entidade.isEnabled() || !jwtUtil.validateToken(claims, userDetails)) {
+            return null;
+        }
+        if (doToken == null) {
+            // Tokens antigos não têm versão: valem como versão 0
+            return new UsuarioAutenticado(entidade.getId(), entidade.getEmail(), entidade.getRole(), 0L);
+        }
+        return doToken.getVersaoToken() >= entidade.getVersaoToken() ? doToken : null;
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.controle.filter;
+
+import com.example.controle.exception.ErrorResponse;
+import com.example.controle.security.LimitadorRequisicoes;
+import com.example.controle.security.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de requisições por grupo de endpoints: dashboard e relatórios, os
+ * mais caros, por usuário autenticado; autenticação, por IP. Roda depois do
+ * {@link JwtAuthenticationFilter} para já conhecer o usuário. Requisições
+ * acima do limite recebem 429 com Retry-After, antes de chegar ao controller.
+ */
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteRequisicoesFilter.class);
+
+    private final LimitadorRequisicoes limitador = new LimitadorRequisicoes();
+    private final List<Grupo> grupos;
+    private final boolean habilitado;
+    private final ObjectMapper objectMapper;
+    private final Counter rejeitadas;
+
+    public LimiteRequisicoesFilter(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${limite.requisicoes.habilitado:true}") boolean habilitado,
+                                   @Value("${limite.requisicoes.dashboard.capacidade:30}") long capacidadeDashboard,
+                                   @Value("${limite.requisicoes.dashboard.por-minuto:60}") long porMinutoDashboard,
+                                   @Value("${limite.requisicoes.relatorios.capacidade:3}") long capacidadeRelatorios,
+                                   @Value("${limite.requisicoes.relatorios.por-minuto:6}") long porMinutoRelatorios,
+                                   @Value("${limite.requisicoes.auth.capacidade:10}") long capacidadeAuth,
+                                   @Value("${limite.requisicoes.auth.por-minuto:20}") long porMinutoAuth) {
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.grupos = List.of(
+            new Grupo("dashboard", "/api/dashboard", false,
+                new LimitadorRequisicoes.Regra(capacidadeDashboard, porMinutoDashboard)),
+            new Grupo("relatorios", "/api/relatorios", false,
+                new LimitadorRequisicoes.Regra(capacidadeRelatorios, porMinutoRelatorios)),
+            new Grupo("auth", "/api/auth", true,
+                new LimitadorRequisicoes.Regra(capacidadeAuth, porMinutoAuth)));
+        this.rejeitadas = Counter.builder("limite.requisicoes.rejeitadas")
+                .description("Requisições recusadas com 429")
+                .register(meterRegistry);
+        Gauge.builder("limite.requisicoes.baldes", limitador, LimitadorRequisicoes::getTamanho)
+                .description("Baldes de limite de requisições em memória")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || grupo(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Grupo grupo = grupo(request);
+        long esperaNanos = limitador.consumir(grupo.nome() + ':' + chave(request, grupo), grupo.regra());
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejeitadas.increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Limite de requisições atingido: grupo {} - {}", grupo.nome(), chave(request, grupo));
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Limite de requisições atingido. Tente novamente em " + retryAfter + " s",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    @Scheduled(fixedDelayString = "${limite.requisicoes.intervalo-limpeza:PT1M}",
+               initialDelayString = "${limite.requisicoes.intervalo-limpeza:PT1M}")
+    public void removerOciosos() {
+        int removidos = limitador.removerOciosos();
+        log.debug("Baldes de limite de requisições removidos: {}", removidos);
+    }
+
+    private Grupo grupo(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        for (Grupo grupo : grupos) {
+            if (caminho.equals(grupo.prefixo()) || caminho.startsWith(grupo.prefixo() + "/")) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    private static String chave(HttpServletRequest request, Grupo grupo) {
+        if (!grupo.porIp()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario) {
+                return "u" + usuario.getId();
+            }
+        }
+        // Endereço da conexão; atrás de proxy, configure server.forward-headers-strategy
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private record Grupo(String nome, String prefixo, boolean porIp, LimitadorRequisicoes.Regra regra) {
+    }
+}
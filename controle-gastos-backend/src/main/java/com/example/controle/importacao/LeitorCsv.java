@@ -0,0 +1,199 @@
+package com.example.controle.importacao;
+
+import com.example.controle.exception.BusinessException;
+import com.example.controle.util.TextoUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê CSV com cabeçalho, separado por vírgula ou ponto e vírgula (detectado no
+ * cabeçalho), com aspas conforme a RFC 4180. As colunas são localizadas pelo
+ * nome: {@code data} ou {@code dataGasto}, {@code descricao} e {@code valor} são
+ * obrigatórias; {@code categoria}, {@code categoriaId} e {@code observacao} são
+ * opcionais e as demais são ignoradas, de modo que o arquivo gerado pela
+ * exportação pode ser importado de volta. Datas em {@code aaaa-mm-dd} ou
+ * {@code dd/mm/aaaa}; valores em {@code 1234.56} ou {@code 1.234,56}.
+ */
+public class LeitorCsv implements LeitorExtrato {
+
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+        .withResolverStyle(ResolverStyle.STRICT);
+
+    private final Reader reader;
+    private final char separador;
+    private final int colunaData;
+    private final int colunaDescricao;
+    private final int colunaValor;
+    private final int colunaCategoria;
+    private final int colunaCategoriaId;
+    private final int colunaObservacao;
+
+    private final StringBuilder campo = new StringBuilder();
+    private long numeroLinha;
+
+    public LeitorCsv(Reader reader) throws IOException {
+        this.reader = reader;
+
+        String primeiraLinha = lerLinhaCabecalho();
+        if (primeiraLinha == null) {
+            throw new BusinessException("O arquivo CSV está vazio");
+        }
+        this.separador = primeiraLinha.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> cabecalho = new ArrayList<>();
+        for (String nome : primeiraLinha.split(String.valueOf(separador), -1)) {
+            cabecalho.add(TextoUtil.normalizar(nome.replace("\"", "")));
+        }
+        int data = cabecalho.indexOf("datagasto");
+        this.colunaData = data >= 0 ? data : cabecalho.indexOf("data");
+        this.colunaDescricao = cabecalho.indexOf("descricao");
+        this.colunaValor = cabecalho.indexOf("valor");
+        this.colunaCategoria = cabecalho.indexOf("categoria");
+        this.colunaCategoriaId = cabecalho.indexOf("categoriaid");
+        this.colunaObservacao = cabecalho.indexOf("observacao");
+
+        if (colunaData < 0 || colunaDescricao < 0 || colunaValor < 0) {
+            throw new BusinessException("O cabeçalho do CSV deve ter as colunas data, descricao e valor");
+        }
+        this.numeroLinha = 1;
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        List<String> campos;
+        long numero;
+        do {
+            // Número da linha do arquivo em que o registro começa
+            numero = numeroLinha + 1;
+            campos = lerRegistro();
+            if (campos == null) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isBlank());
+
+        try {
+            LocalDate data = lerData(coluna(campos, colunaData));
+            BigDecimal valor = lerValor(coluna(campos, colunaValor));
+            String categoriaId = coluna(campos, colunaCategoriaId);
+            return new LinhaExtrato(numero, data, coluna(campos, colunaDescricao), valor,
+                categoriaId != null && !categoriaId.isBlank() ? Long.valueOf(categoriaId.trim()) : null,
+                coluna(campos, colunaCategoria), coluna(campos, colunaObservacao), null);
+        } catch (DateTimeParseException e) {
+            return LinhaExtrato.invalida(numero, "Data inválida: " + coluna(campos, colunaData));
+        } catch (NumberFormatException e) {
+            return LinhaExtrato.invalida(numero, "Número inválido no valor ou na categoria");
+        }
+    }
+
+    @Override
+    public long getIgnoradas() {
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String coluna(List<String> campos, int indice) {
+        return indice >= 0 && indice < campos.size() ? campos.get(indice) : null;
+    }
+
+    static LocalDate lerData(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new DateTimeParseException("Data vazia", "", 0);
+        }
+        String data = texto.trim();
+        return data.indexOf('/') > 0 ? LocalDate.parse(data, DATA_BRASILEIRA) : LocalDate.parse(data);
+    }
+
+    static BigDecimal lerValor(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new NumberFormatException("Valor vazio");
+        }
+        String valor = texto.trim().replace("R$", "").replace(" ", "");
+        if (valor.indexOf(',') >= 0) {
+            valor = valor.replace(".", "").replace(',', '.');
+        }
+        return new BigDecimal(valor);
+    }
+
+    private String lerLinhaCabecalho() throws IOException {
+        StringBuilder linha = new StringBuilder();
+        int c = reader.read();
+        // Marca de ordem de bytes gravada por planilhas no início do arquivo
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n') {
+            if (c != '\r') {
+                linha.append((char) c);
+            }
+            c = reader.read();
+        }
+        return linha.toString();
+    }
+
+    /**
+     * Lê um registro inteiro, que pode ocupar várias linhas quando um campo entre
+     * aspas contém quebras de linha. Retorna {@code null} ao final do arquivo.
+     */
+    private List<String> lerRegistro() throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c < 0) {
+                    break;
+                }
+                if (c == '"') {
+                    int seguinte = reader.read();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        numeroLinha++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c < 0) {
+                break;
+            } else if (c == '\n') {
+                numeroLinha++;
+                break;
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = reader.read();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
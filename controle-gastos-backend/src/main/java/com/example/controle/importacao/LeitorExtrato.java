@@ -0,0 +1,20 @@
+package com.example.controle.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lê um arquivo de extrato sequencialmente, uma linha por vez, sem carregá-lo
+ * inteiro na memória.
+ */
+public interface LeitorExtrato extends Closeable {
+
+    /**
+     * A próxima linha do arquivo, ou {@code null} ao final. Linhas que devem ser
+     * ignoradas (como créditos de um extrato bancário) não são retornadas, mas
+     * são contadas em {@link #getIgnoradas()}.
+     */
+    LinhaExtrato proxima() throws IOException;
+
+    long getIgnoradas();
+}
@@ -0,0 +1,136 @@
+package com.example.controle.importacao;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Lê as transações ({@code <STMTTRN>}) de extratos OFX, tanto no formato SGML
+ * (versão 1, sem fechamento das tags de valor) quanto no XML (versão 2). Apenas
+ * débitos são gastos: transações com valor positivo são ignoradas, e o valor
+ * dos débitos é importado sem sinal. A descrição vem de {@code MEMO} ou, na
+ * falta dele, de {@code NAME}.
+ */
+public class LeitorOfx implements LeitorExtrato {
+
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Reader reader;
+    private final StringBuilder texto = new StringBuilder();
+    private int caractere;
+
+    private long numeroTransacao;
+    private long ignoradas;
+
+    private String dataPostagem;
+    private String valor;
+    private String memo;
+    private String nome;
+    private String identificador;
+
+    public LeitorOfx(Reader reader) throws IOException {
+        this.reader = reader;
+        this.caractere = reader.read();
+    }
+
+    @Override
+    public LinhaExtrato proxima() throws IOException {
+        boolean dentroDaTransacao = false;
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                dentroDaTransacao = true;
+                numeroTransacao++;
+                dataPostagem = valor = memo = nome = identificador = null;
+            } else if (tag.equals("/STMTTRN") && dentroDaTransacao) {
+                LinhaExtrato linha = montarLinha();
+                if (linha != null) {
+                    return linha;
+                }
+                dentroDaTransacao = false;
+            } else if (dentroDaTransacao && !tag.startsWith("/")) {
+                String conteudo = lerTexto();
+                switch (tag) {
+                    case "DTPOSTED" -> dataPostagem = conteudo;
+                    case "TRNAMT" -> valor = conteudo;
+                    case "MEMO" -> memo = conteudo;
+                    case "NAME" -> nome = conteudo;
+                    case "FITID" -> identificador = conteudo;
+                    default -> {
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getIgnoradas() {
+        return ignoradas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private LinhaExtrato montarLinha() {
+        BigDecimal montante;
+        LocalDate data;
+        try {
+            montante = LeitorCsv.lerValor(valor);
+        } catch (NumberFormatException e) {
+            return LinhaExtrato.invalida(numeroTransacao, "Valor inválido: " + valor);
+        }
+        if (montante.signum() >= 0) {
+            ignoradas++;
+            return null;
+        }
+        try {
+            // AAAAMMDD, opcionalmente seguido de hora e fuso, que não interessam
+            data = LocalDate.parse(dataPostagem.substring(0, 8), DATA_OFX);
+        } catch (RuntimeException e) {
+            return LinhaExtrato.invalida(numeroTransacao, "Data inválida: " + dataPostagem);
+        }
+
+        String descricao = memo != null && !memo.isBlank() ? memo : nome;
+        String observacao = identificador != null ? "OFX " + identificador : null;
+        return new LinhaExtrato(numeroTransacao, data, descricao, montante.negate(), null, null, observacao, null);
+    }
+
+    /**
+     * Avança até a próxima tag e retorna o nome dela em maiúsculas (com a barra,
+     * se for de fechamento), ou {@code null} ao final do arquivo. O cabeçalho
+     * SGML, fora de qualquer tag, é descartado.
+     */
+    private String proximaTag() throws IOException {
+        while (caractere >= 0 && caractere != '<') {
+            caractere = reader.read();
+        }
+        if (caractere < 0) {
+            return null;
+        }
+        texto.setLength(0);
+        caractere = reader.read();
+        while (caractere >= 0 && caractere != '>') {
+            texto.append((char) caractere);
+            caractere = reader.read();
+        }
+        caractere = reader.read();
+        return texto.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    /** O texto até a próxima tag, sem espaços nas pontas e com as entidades básicas decodificadas. */
+    private String lerTexto() throws IOException {
+        texto.setLength(0);
+        while (caractere >= 0 && caractere != '<') {
+            texto.append((char) caractere);
+            caractere = reader.read();
+        }
+        return texto.toString().trim()
+            .replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&amp;", "&");
+    }
+}
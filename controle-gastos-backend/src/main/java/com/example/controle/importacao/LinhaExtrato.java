@@ -0,0 +1,17 @@
+package com.example.controle.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Uma linha (CSV) ou transação (OFX) lida do arquivo importado, ainda não
+ * validada. Quando a linha não pôde ser interpretada, {@code erro} explica o
+ * motivo e os demais campos podem estar nulos.
+ */
+public record LinhaExtrato(long numero, LocalDate data, String descricao, BigDecimal valor,
+                           Long categoriaId, String categoria, String observacao, String erro) {
+
+    public static LinhaExtrato invalida(long numero, String erro) {
+        return new LinhaExtrato(numero, null, null, null, null, null, null, erro);
+    }
+}
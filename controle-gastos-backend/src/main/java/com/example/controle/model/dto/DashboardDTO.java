@@ -2,7 +2,6 @@ package com.example.controle.model.dto;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
 
 public class DashboardDTO {
 
@@ -13,7 +12,7 @@ public class DashboardDTO {
     private BigDecimal ticketMedio;
     private List<GastoPorCategoriaDTO> gastosPorCategoria;
     private List<GastoResponseDTO> maioresGastos;
-    private Map<String, BigDecimal> gastosPorDia;
+    private SerieDiariaDTO gastosPorDia;
 
     public DashboardDTO() {
     }
@@ -74,11 +73,11 @@ public class DashboardDTO {
         this.maioresGastos = maioresGastos;
     }
 
-    public Map<String, BigDecimal> getGastosPorDia() {
+    public SerieDiariaDTO getGastosPorDia() {
         return gastosPorDia;
     }
 
-    public void setGastosPorDia(Map<String, BigDecimal> gastosPorDia) {
+    public void setGastosPorDia(SerieDiariaDTO gastosPorDia) {
         this.gastosPorDia = gastosPorDia;
     }
 
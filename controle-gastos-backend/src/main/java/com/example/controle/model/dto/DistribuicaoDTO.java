@@ -0,0 +1,204 @@
+package com.example.controle.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Distribuição dos valores dos gastos de um intervalo de meses. Os percentis são
+ * aproximados, com erro relativo de no máximo 1%; as faixas são contagens exatas.
+ */
+public class DistribuicaoDTO {
+
+    private String inicio;
+    private String fim;
+    private Long quantidade;
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+    private BigDecimal p50;
+    private BigDecimal p90;
+    private BigDecimal p99;
+    private List<FaixaDTO> faixas;
+    private List<DistribuicaoCategoriaDTO> categorias;
+
+    public DistribuicaoDTO() {
+    }
+
+    public String getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(String inicio) {
+        this.inicio = inicio;
+    }
+
+    public String getFim() {
+        return fim;
+    }
+
+    public void setFim(String fim) {
+        this.fim = fim;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(BigDecimal minimo) {
+        this.minimo = minimo;
+    }
+
+    public BigDecimal getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(BigDecimal maximo) {
+        this.maximo = maximo;
+    }
+
+    public BigDecimal getP50() {
+        return p50;
+    }
+
+    public void setP50(BigDecimal p50) {
+        this.p50 = p50;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public void setP90(BigDecimal p90) {
+        this.p90 = p90;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+
+    public List<FaixaDTO> getFaixas() {
+        return faixas;
+    }
+
+    public void setFaixas(List<FaixaDTO> faixas) {
+        this.faixas = faixas;
+    }
+
+    public List<DistribuicaoCategoriaDTO> getCategorias() {
+        return categorias;
+    }
+
+    public void setCategorias(List<DistribuicaoCategoriaDTO> categorias) {
+        this.categorias = categorias;
+    }
+
+    public static class FaixaDTO {
+        private BigDecimal limiteInferior;
+        private BigDecimal limiteSuperior;
+        private Long quantidade;
+
+        public FaixaDTO() {
+        }
+
+        public FaixaDTO(BigDecimal limiteInferior, BigDecimal limiteSuperior, Long quantidade) {
+            this.limiteInferior = limiteInferior;
+            this.limiteSuperior = limiteSuperior;
+            this.quantidade = quantidade;
+        }
+
+        public BigDecimal getLimiteInferior() {
+            return limiteInferior;
+        }
+
+        public void setLimiteInferior(BigDecimal limiteInferior) {
+            this.limiteInferior = limiteInferior;
+        }
+
+        public BigDecimal getLimiteSuperior() {
+            return limiteSuperior;
+        }
+
+        public void setLimiteSuperior(BigDecimal limiteSuperior) {
+            this.limiteSuperior = limiteSuperior;
+        }
+
+        public Long getQuantidade() {
+            return quantidade;
+        }
+
+        public void setQuantidade(Long quantidade) {
+            this.quantidade = quantidade;
+        }
+    }
+
+    public static class DistribuicaoCategoriaDTO {
+        private String categoria;
+        private String cor;
+        private Long quantidade;
+        private BigDecimal p50;
+        private BigDecimal p90;
+        private BigDecimal p99;
+
+        public DistribuicaoCategoriaDTO() {
+        }
+
+        public String getCategoria() {
+            return categoria;
+        }
+
+        public void setCategoria(String categoria) {
+            this.categoria = categoria;
+        }
+
+        public String getCor() {
+            return cor;
+        }
+
+        public void setCor(String cor) {
+            this.cor = cor;
+        }
+
+        public Long getQuantidade() {
+            return quantidade;
+        }
+
+        public void setQuantidade(Long quantidade) {
+            this.quantidade = quantidade;
+        }
+
+        public BigDecimal getP50() {
+            return p50;
+        }
+
+        public void setP50(BigDecimal p50) {
+            this.p50 = p50;
+        }
+
+        public BigDecimal getP90() {
+            return p90;
+        }
+
+        public void setP90(BigDecimal p90) {
+            this.p90 = p90;
+        }
+
+        public BigDecimal getP99() {
+            return p99;
+        }
+
+        public void setP99(BigDecimal p99) {
+            this.p99 = p99;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.time.LocalDate;
 public class GastoFilterDTO {
 
     private String descricao;
+    private boolean buscaPorPrefixo;
     private Long categoriaId;
     private LocalDate dataInicio;
     private LocalDate dataFim;
@@ -25,6 +26,14 @@ public class GastoFilterDTO {
         this.descricao = descricao;
     }
 
+    public boolean isBuscaPorPrefixo() {
+        return buscaPorPrefixo;
+    }
+
+    public void setBuscaPorPrefixo(boolean buscaPorPrefixo) {
+        this.buscaPorPrefixo = buscaPorPrefixo;
+    }
+
     public Long getCategoriaId() {
         return categoriaId;
     }
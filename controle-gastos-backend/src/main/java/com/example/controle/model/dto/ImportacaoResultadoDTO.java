@@ -0,0 +1,136 @@
+package com.example.controle.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação. {@code erros} traz o detalhe apenas das primeiras
+ * linhas rejeitadas; {@code linhasComErro} conta todas. Com {@code interrompida},
+ * um bloco falhou ao ser gravado: {@code importados} conta só os blocos
+ * anteriores, e nada a partir de {@code linhaInicialFalha} foi importado.
+ */
+public class ImportacaoResultadoDTO {
+
+    private long linhasLidas;
+    private long importados;
+    private long ignorados;
+    private long linhasComErro;
+    private List<ErroLinhaDTO> erros = new ArrayList<>();
+    private long duracaoMs;
+    private long linhasPorSegundo;
+    private boolean interrompida;
+    private Long linhaInicialFalha;
+    private Long linhaFinalFalha;
+
+    public ImportacaoResultadoDTO() {
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public void setImportados(long importados) {
+        this.importados = importados;
+    }
+
+    public long getIgnorados() {
+        return ignorados;
+    }
+
+    public void setIgnorados(long ignorados) {
+        this.ignorados = ignorados;
+    }
+
+    public long getLinhasComErro() {
+        return linhasComErro;
+    }
+
+    public void setLinhasComErro(long linhasComErro) {
+        this.linhasComErro = linhasComErro;
+    }
+
+    public List<ErroLinhaDTO> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroLinhaDTO> erros) {
+        this.erros = erros;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public long getLinhasPorSegundo() {
+        return linhasPorSegundo;
+    }
+
+    public void setLinhasPorSegundo(long linhasPorSegundo) {
+        this.linhasPorSegundo = linhasPorSegundo;
+    }
+
+    public boolean isInterrompida() {
+        return interrompida;
+    }
+
+    public void setInterrompida(boolean interrompida) {
+        this.interrompida = interrompida;
+    }
+
+    public Long getLinhaInicialFalha() {
+        return linhaInicialFalha;
+    }
+
+    public void setLinhaInicialFalha(Long linhaInicialFalha) {
+        this.linhaInicialFalha = linhaInicialFalha;
+    }
+
+    public Long getLinhaFinalFalha() {
+        return linhaFinalFalha;
+    }
+
+    public void setLinhaFinalFalha(Long linhaFinalFalha) {
+        this.linhaFinalFalha = linhaFinalFalha;
+    }
+
+    public static class ErroLinhaDTO {
+        private long linha;
+        private String mensagem;
+
+        public ErroLinhaDTO() {
+        }
+
+        public ErroLinhaDTO(long linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+
+        public void setLinha(long linha) {
+            this.linha = linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.controle.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoteGastosRequestDTO {
+
+    @NotEmpty(message = "Informe ao menos uma operação")
+    private List<OperacaoLoteDTO> operacoes = new ArrayList<>();
+
+    // true: tudo ou nada; false: aplica as operações válidas e relata as demais
+    private boolean atomico = true;
+
+    public LoteGastosRequestDTO() {
+    }
+
+    public List<OperacaoLoteDTO> getOperacoes() {
+        return operacoes;
+    }
+
+    public void setOperacoes(List<OperacaoLoteDTO> operacoes) {
+        this.operacoes = operacoes;
+    }
+
+    public boolean isAtomico() {
+        return atomico;
+    }
+
+    public void setAtomico(boolean atomico) {
+        this.atomico = atomico;
+    }
+}
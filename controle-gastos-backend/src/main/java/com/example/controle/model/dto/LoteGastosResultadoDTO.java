@@ -0,0 +1,120 @@
+package com.example.controle.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de um lote, com um item por operação, na ordem da requisição.
+ * {@code status} segue os códigos HTTP da operação individual equivalente
+ * (201, 200, 204, 400, 404); operações válidas de um lote atômico rejeitado
+ * recebem 424.
+ */
+public class LoteGastosResultadoDTO {
+
+    private boolean aplicado;
+    private int sucessos;
+    private int falhas;
+    private List<ResultadoOperacaoDTO> resultados = new ArrayList<>();
+
+    public LoteGastosResultadoDTO() {
+    }
+
+    public boolean isAplicado() {
+        return aplicado;
+    }
+
+    public void setAplicado(boolean aplicado) {
+        this.aplicado = aplicado;
+    }
+
+    public int getSucessos() {
+        return sucessos;
+    }
+
+    public void setSucessos(int sucessos) {
+        this.sucessos = sucessos;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public List<ResultadoOperacaoDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoOperacaoDTO> resultados) {
+        this.resultados = resultados;
+    }
+
+    public static class ResultadoOperacaoDTO {
+
+        private int indice;
+        private OperacaoLoteDTO.Tipo tipo;
+        private Long id;
+        private int status;
+        private String mensagem;
+        private GastoResponseDTO gasto;
+
+        public ResultadoOperacaoDTO() {
+        }
+
+        public ResultadoOperacaoDTO(int indice, OperacaoLoteDTO.Tipo tipo, Long id) {
+            this.indice = indice;
+            this.tipo = tipo;
+            this.id = id;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        public OperacaoLoteDTO.Tipo getTipo() {
+            return tipo;
+        }
+
+        public void setTipo(OperacaoLoteDTO.Tipo tipo) {
+            this.tipo = tipo;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+
+        public GastoResponseDTO getGasto() {
+            return gasto;
+        }
+
+        public void setGasto(GastoResponseDTO gasto) {
+            this.gasto = gasto;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.controle.model.dto;
+
+/**
+ * Uma operação de {@code POST /api/gastos/batch}. {@code id} é exigido em
+ * ATUALIZAR e DELETAR; {@code gasto}, em CRIAR e ATUALIZAR. A validação é feita
+ * por operação, para que uma operação inválida não rejeite a requisição inteira.
+ */
+public class OperacaoLoteDTO {
+
+    public enum Tipo {
+        CRIAR, ATUALIZAR, DELETAR
+    }
+
+    private Tipo tipo;
+    private Long id;
+    private GastoRequestDTO gasto;
+
+    public OperacaoLoteDTO() {
+    }
+
+    public OperacaoLoteDTO(Tipo tipo, Long id, GastoRequestDTO gasto) {
+        this.tipo = tipo;
+        this.id = id;
+        this.gasto = gasto;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public GastoRequestDTO getGasto() {
+        return gasto;
+    }
+
+    public void setGasto(GastoRequestDTO gasto) {
+        this.gasto = gasto;
+    }
+}
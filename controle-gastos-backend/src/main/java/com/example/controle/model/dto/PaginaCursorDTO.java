@@ -0,0 +1,58 @@
+package com.example.controle.model.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor. Para obter a próxima página, o cliente
+ * repete a requisição com {@code cursor=proximoCursor}; quando {@code temMais}
+ * é falso, a listagem terminou.
+ */
+public class PaginaCursorDTO<T> {
+
+    private List<T> conteudo;
+    private int tamanho;
+    private String proximoCursor;
+    private boolean temMais;
+
+    public PaginaCursorDTO() {
+    }
+
+    public PaginaCursorDTO(List<T> conteudo, String proximoCursor, boolean temMais) {
+        this.conteudo = conteudo;
+        this.tamanho = conteudo.size();
+        this.proximoCursor = proximoCursor;
+        this.temMais = temMais;
+    }
+
+    public List<T> getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(List<T> conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    public void setTemMais(boolean temMais) {
+        this.temMais = temMais;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.controle.model.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Série diária densa: {@code centavos[i]} é o total gasto em {@code inicio + i}
+ * dias, em centavos, com zero nos dias sem gastos. Em JSON fica
+ * {@code {"inicio":"2024-02-01","centavos":[0,1500,0,...]}}.
+ */
+public class SerieDiariaDTO {
+
+    private LocalDate inicio;
+    private long[] centavos;
+
+    public SerieDiariaDTO() {
+    }
+
+    public SerieDiariaDTO(LocalDate inicio, LocalDate fim) {
+        this.inicio = inicio;
+        this.centavos = new long[(int) ChronoUnit.DAYS.between(inicio, fim) + 1];
+    }
+
+    /**
+     * Soma {@code valor} ao dia informado, que deve estar dentro da série.
+     */
+    public void somar(LocalDate dia, BigDecimal valor) {
+        int indice = (int) ChronoUnit.DAYS.between(inicio, dia);
+        centavos[indice] += valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDate inicio) {
+        this.inicio = inicio;
+    }
+
+    public long[] getCentavos() {
+        return centavos;
+    }
+
+    public void setCentavos(long[] centavos) {
+        this.centavos = centavos;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.controle.model.dto;
+
+public class SugestaoDescricaoDTO {
+
+    private String descricao;
+    private Long quantidade;
+
+    public SugestaoDescricaoDTO() {
+    }
+
+    public SugestaoDescricaoDTO(String descricao, Long quantidade) {
+        this.descricao = descricao;
+        this.quantidade = quantidade;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
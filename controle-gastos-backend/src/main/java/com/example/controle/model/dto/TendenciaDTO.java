@@ -0,0 +1,90 @@
+package com.example.controle.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Série mensal de gastos em formato colunar: a posição {@code i} de cada lista
+ * corresponde ao mês {@code meses[i]}. Meses sem gastos aparecem com zero.
+ */
+public class TendenciaDTO {
+
+    private List<String> meses;
+    private List<BigDecimal> totais;
+    private List<Long> quantidades;
+    private List<SerieCategoriaDTO> categorias;
+
+    public TendenciaDTO() {
+    }
+
+    public List<String> getMeses() {
+        return meses;
+    }
+
+    public void setMeses(List<String> meses) {
+        this.meses = meses;
+    }
+
+    public List<BigDecimal> getTotais() {
+        return totais;
+    }
+
+    public void setTotais(List<BigDecimal> totais) {
+        this.totais = totais;
+    }
+
+    public List<Long> getQuantidades() {
+        return quantidades;
+    }
+
+    public void setQuantidades(List<Long> quantidades) {
+        this.quantidades = quantidades;
+    }
+
+    public List<SerieCategoriaDTO> getCategorias() {
+        return categorias;
+    }
+
+    public void setCategorias(List<SerieCategoriaDTO> categorias) {
+        this.categorias = categorias;
+    }
+
+    public static class SerieCategoriaDTO {
+        private String categoria;
+        private String cor;
+        private List<BigDecimal> totais;
+
+        public SerieCategoriaDTO() {
+        }
+
+        public SerieCategoriaDTO(String categoria, String cor, List<BigDecimal> totais) {
+            this.categoria = categoria;
+            this.cor = cor;
+            this.totais = totais;
+        }
+
+        public String getCategoria() {
+            return categoria;
+        }
+
+        public void setCategoria(String categoria) {
+            this.categoria = categoria;
+        }
+
+        public String getCor() {
+            return cor;
+        }
+
+        public void setCor(String cor) {
+            this.cor = cor;
+        }
+
+        public List<BigDecimal> getTotais() {
+            return totais;
+        }
+
+        public void setTotais(List<BigDecimal> totais) {
+            this.totais = totais;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.controle.model.entity;
 
+import com.example.controle.model.id.IdOrdenadoPorTempo;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -11,7 +12,7 @@ import java.util.List;
 public class Categoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdOrdenadoPorTempo
     private Long id;
 
     @Column(nullable = false, length = 100)
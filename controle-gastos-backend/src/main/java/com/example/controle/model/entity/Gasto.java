@@ -1,5 +1,7 @@
 package com.example.controle.model.entity;
 
+import com.example.controle.model.id.IdOrdenadoPorTempo;
+import com.example.controle.util.TextoUtil;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -10,17 +12,23 @@ import java.time.LocalDateTime;
 @Table(name = "gastos", indexes = {
     @Index(name = "idx_usuario_data", columnList = "usuario_id, data_gasto"),
     @Index(name = "idx_categoria", columnList = "categoria_id"),
-    @Index(name = "idx_data_gasto", columnList = "data_gasto")
+    @Index(name = "idx_data_gasto", columnList = "data_gasto"),
+    @Index(name = "idx_updated_at_usuario", columnList = "updated_at, usuario_id"),
+    @Index(name = "idx_usuario_descricao_normalizada", columnList = "usuario_id, descricao_normalizada")
 })
 public class Gasto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdOrdenadoPorTempo
     private Long id;
 
     @Column(nullable = false, length = 200)
     private String descricao;
 
+    // Descrição sem acentos e em minúsculas, para a busca por prefixo usar o índice
+    @Column(name = "descricao_normalizada", length = 200)
+    private String descricaoNormalizada;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal valor;
 
@@ -48,6 +56,7 @@ public class Gasto {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        descricaoNormalizada = TextoUtil.normalizar(descricao);
         if (dataGasto == null) {
             dataGasto = LocalDate.now();
         }
@@ -56,6 +65,7 @@ public class Gasto {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        descricaoNormalizada = TextoUtil.normalizar(descricao);
     }
 
     // Constructors
@@ -119,6 +129,10 @@ public class Gasto {
         this.dataGasto = dataGasto;
     }
 
+    public String getDescricaoNormalizada() {
+        return descricaoNormalizada;
+    }
+
     public String getObservacao() {
         return observacao;
     }
@@ -0,0 +1,97 @@
+package com.example.controle.model.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total e quantidade de gastos de um usuário por categoria e dia. Mantido na
+ * mesma transação das escritas em {@link Gasto}.
+ */
+@Entity
+@Table(name = "resumo_gastos_diario",
+    uniqueConstraints = @UniqueConstraint(name = "uk_resumo_diario", columnNames = {"usuario_id", "dia", "categoria_id"}),
+    indexes = @Index(name = "idx_resumo_diario_usuario_dia", columnList = "usuario_id, dia"))
+public class ResumoDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "categoria_id", nullable = false)
+    private Long categoriaId;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    // Constructors
+    public ResumoDiario() {
+    }
+
+    public ResumoDiario(Long usuarioId, Long categoriaId, LocalDate dia, BigDecimal total, Long quantidade) {
+        this.usuarioId = usuarioId;
+        this.categoriaId = categoriaId;
+        this.dia = dia;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.controle.model.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Total e quantidade de gastos de um usuário por categoria e mês. Mantido na
+ * mesma transação das escritas em {@link Gasto}.
+ */
+@Entity
+@Table(name = "resumo_gastos_mensal",
+    uniqueConstraints = @UniqueConstraint(name = "uk_resumo_mensal", columnNames = {"usuario_id", "ano", "mes", "categoria_id"}))
+public class ResumoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "categoria_id", nullable = false)
+    private Long categoriaId;
+
+    @Column(nullable = false)
+    private Integer ano;
+
+    @Column(nullable = false)
+    private Integer mes;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    // Constructors
+    public ResumoMensal() {
+    }
+
+    public ResumoMensal(Long usuarioId, Long categoriaId, Integer ano, Integer mes, BigDecimal total, Long quantidade) {
+        this.usuarioId = usuarioId;
+        this.categoriaId = categoriaId;
+        this.ano = ano;
+        this.mes = mes;
+        this.total = total;
+        this.quantidade = quantidade;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public Integer getAno() {
+        return ano;
+    }
+
+    public void setAno(Integer ano) {
+        this.ano = ano;
+    }
+
+    public Integer getMes() {
+        return mes;
+    }
+
+    public void setMes(Integer mes) {
+        this.mes = mes;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.controle.model.entity;
 
+import com.example.controle.model.id.IdOrdenadoPorTempo;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,7 +18,7 @@ public class Usuario implements UserDetails {
     private static final long serialVersionUID = 1L;
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdOrdenadoPorTempo
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
@@ -36,6 +37,17 @@ public class Usuario implements UserDetails {
     @Column(name = "ativo", nullable = false)
     private Boolean ativo = true;
 
+    // Incrementada ao desativar, reativar, mudar o papel ou revogar os tokens:
+    // tokens emitidos com uma versão anterior deixam de valer
+    @Column(name = "versao_token")
+    private Long versaoToken = 0L;
+
+    // Incrementada na transação de toda escrita de gastos do usuário e usada nos
+    // ETags. Só muda pelo UPDATE de UsuarioRepository.incrementarVersaoDados: salvar
+    // a entidade inteira não pode sobrescrever um incremento concorrente
+    @Column(name = "versao_dados", updatable = false)
+    private Long versaoDados = 0L;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -145,6 +157,23 @@ public class Usuario implements UserDetails {
         this.ativo = ativo;
     }
 
+    public long getVersaoToken() {
+        // Linhas gravadas antes da coluna existir ficam com null
+        return versaoToken != null ? versaoToken : 0L;
+    }
+
+    public void setVersaoToken(Long versaoToken) {
+        this.versaoToken = versaoToken;
+    }
+
+    public void incrementarVersaoToken() {
+        versaoToken = getVersaoToken() + 1;
+    }
+
+    public Long getVersaoDados() {
+        return versaoDados != null ? versaoDados : 0L;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,32 @@
+package com.example.controle.model.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador de linha única incrementado a cada mudança em dados compartilhados
+ * entre usuários (como o nome ou a cor de uma categoria). Compõe os ETags junto
+ * com {@link Usuario#getVersaoDados()}.
+ */
+@Entity
+@Table(name = "versao_dados_global")
+public class VersaoDadosGlobal {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    // Constructors
+    public VersaoDadosGlobal() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+}
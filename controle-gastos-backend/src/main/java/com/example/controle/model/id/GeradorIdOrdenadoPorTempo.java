@@ -0,0 +1,76 @@
+package com.example.controle.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Ids de 53 bits ordenados pelo instante de criação, no formato:
+ * <pre>
+ *   41 bits: milissegundos desde 2024-01-01T00:00Z (até 2093)
+ *    4 bits: nó (instância da aplicação), da propriedade gastos.ids.no
+ *    8 bits: sequência dentro do milissegundo
+ * </pre>
+ * Diferente de um TSID de 64 bits, o id cabe no maior inteiro exato de um
+ * {@code Number} do JavaScript, então os clientes continuam lendo o JSON sem
+ * perda. Ids gerados depois são sempre maiores, o que mantém o id válido como
+ * desempate da paginação por cursor, e são muito maiores que os ids IDENTITY
+ * já gravados, que podem continuar como estão.
+ * <p>
+ * O Hibernate instancia o gerador sem injeção de dependências, então o nó é
+ * estado da classe, definido na inicialização por {@code IdsConfig}.
+ */
+public class GeradorIdOrdenadoPorTempo implements BeforeExecutionGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long EPOCA = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int BITS_NO = 4;
+    private static final int BITS_SEQUENCIA = 8;
+    private static final long MAXIMO_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+    private static long no;
+    private static long ultimoInstante = -1;
+    private static long sequencia;
+
+    /** Define o nó dos próximos ids; sem chamada, o nó é 0. */
+    public static synchronized void configurarNo(int novoNo) {
+        if (novoNo < 0 || novoNo >= 1 << BITS_NO) {
+            throw new IllegalStateException("gastos.ids.no deve estar entre 0 e " + ((1 << BITS_NO) - 1) + ": " + novoNo);
+        }
+        no = novoNo;
+    }
+
+    /**
+     * Próximo id. Com o relógio voltando para trás, continua do último instante
+     * usado; esgotada a sequência do milissegundo, avança para o seguinte.
+     */
+    public static synchronized long proximo() {
+        long instante = Math.max(System.currentTimeMillis() - EPOCA, ultimoInstante);
+        if (instante == ultimoInstante) {
+            sequencia++;
+            if (sequencia > MAXIMO_SEQUENCIA) {
+                instante++;
+                sequencia = 0;
+            }
+        } else {
+            sequencia = 0;
+        }
+        ultimoInstante = instante;
+        return instante << (BITS_NO + BITS_SEQUENCIA) | no << BITS_SEQUENCIA | sequencia;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return proximo();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.controle.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gera o id da entidade na aplicação, antes do INSERT, com
+ * {@link GeradorIdOrdenadoPorTempo}. Substitui {@code @GeneratedValue(IDENTITY)}
+ * nas entidades gravadas em volume: sem depender do banco para o id, o Hibernate
+ * pode agrupar os INSERTs em lote (hibernate.jdbc.batch_size).
+ */
+@IdGeneratorType(GeradorIdOrdenadoPorTempo.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdOrdenadoPorTempo {
+}
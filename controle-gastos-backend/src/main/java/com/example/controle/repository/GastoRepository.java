@@ -1,25 +1,72 @@
 package com.example.controle.repository;
 
 import com.example.controle.model.entity.Gasto;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecificationExecutor<Gasto> {
+public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecificationExecutor<Gasto>,
+        GastoRepositoryCustom {
 
+    @EntityGraph(attributePaths = "categoria")
+    Optional<Gasto> findByIdAndUsuarioId(Long id, Long usuarioId);
+
+    /**
+     * Carrega o gasto do usuário bloqueando a linha (SELECT ... FOR UPDATE) até o
+     * fim da transação, para que os valores anteriores usados nos resumos não
+     * mudem entre a leitura e a escrita. A categoria não é buscada para não
+     * bloquear também a linha da categoria, compartilhada entre usuários.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Gasto g WHERE g.id = :id AND g.usuario.id = :usuarioId")
+    Optional<Gasto> findParaAlteracao(@Param("id") Long id, @Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("DELETE FROM Gasto g WHERE g.id = :id AND g.usuario.id = :usuarioId")
+    int deletarPorIdEUsuario(@Param("id") Long id, @Param("usuarioId") Long usuarioId);
+
+    /**
+     * Como {@link #findParaAlteracao(Long, Long)}, para vários gastos de uma vez.
+     * A ordem por id fixa a ordem de bloqueio entre lotes concorrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Gasto g WHERE g.id IN :ids AND g.usuario.id = :usuarioId ORDER BY g.id")
+    List<Gasto> findTodosParaAlteracao(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("DELETE FROM Gasto g WHERE g.id IN :ids AND g.usuario.id = :usuarioId")
+    int deletarPorIdsEUsuario(@Param("ids") Collection<Long> ids, @Param("usuarioId") Long usuarioId);
+
+    // As listagens carregam a categoria no mesmo SELECT (JOIN), pois o DTO de
+    // resposta sempre a inclui; sem isso cada linha dispararia uma consulta extra
+    @EntityGraph(attributePaths = "categoria")
     Page<Gasto> findByUsuarioId(Long usuarioId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "categoria")
     Page<Gasto> findByUsuarioIdAndCategoriaId(Long usuarioId, Long categoriaId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "categoria")
     @Query("SELECT g FROM Gasto g WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim")
     Page<Gasto> findByUsuarioAndPeriodo(
             @Param("usuarioId") Long usuarioId,
@@ -28,6 +75,10 @@ public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecific
             Pageable pageable
     );
 
+    @Override
+    @EntityGraph(attributePaths = "categoria")
+    Page<Gasto> findAll(Specification<Gasto> specification, Pageable pageable);
+
     @Query("SELECT SUM(g.valor) FROM Gasto g WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim")
     BigDecimal somarGastosPorUsuarioEPeriodo(
             @Param("usuarioId") Long usuarioId,
@@ -42,6 +93,7 @@ public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecific
             @Param("dataFim") LocalDate dataFim
     );
 
+    @EntityGraph(attributePaths = "categoria")
     @Query("SELECT g FROM Gasto g WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim ORDER BY g.valor DESC")
     List<Gasto> findTopGastosByUsuarioAndPeriodo(
             @Param("usuarioId") Long usuarioId,
@@ -61,7 +113,30 @@ public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecific
             @Param("dataFim") LocalDate dataFim
     );
 
-    @Query("SELECT CAST(g.dataGasto AS string) as dia, SUM(g.valor) as total " +
+    @Query("SELECT c.id as categoriaId, c.nome as categoria, c.cor as cor, g.dataGasto as dia, " +
+           "SUM(g.valor) as total, COUNT(g) as quantidade " +
+           "FROM Gasto g JOIN g.categoria c " +
+           "WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY c.id, c.nome, c.cor, g.dataGasto " +
+           "ORDER BY g.dataGasto")
+    List<Object[]> agruparPorCategoriaEDiaNoPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+
+    @Query("SELECT year(g.dataGasto) as ano, month(g.dataGasto) as mes, c.id as categoriaId, " +
+           "c.nome as categoria, c.cor as cor, SUM(g.valor) as total, COUNT(g) as quantidade " +
+           "FROM Gasto g JOIN g.categoria c " +
+           "WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY year(g.dataGasto), month(g.dataGasto), c.id, c.nome, c.cor")
+    List<Object[]> agruparPorMesECategoriaNoPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+
+    @Query("SELECT g.dataGasto as dia, SUM(g.valor) as total " +
            "FROM Gasto g " +
            "WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim " +
            "GROUP BY g.dataGasto " +
@@ -71,4 +146,44 @@ public interface GastoRepository extends JpaRepository<Gasto, Long>, JpaSpecific
             @Param("dataInicio") LocalDate dataInicio,
             @Param("dataFim") LocalDate dataFim
     );
+
+    @Query("SELECT DISTINCT g.usuario.id FROM Gasto g " +
+           "WHERE g.updatedAt >= :desde AND g.usuario.id > :ultimoId " +
+           "ORDER BY g.usuario.id")
+    List<Long> findUsuariosAtivosAposId(
+            @Param("desde") LocalDateTime desde,
+            @Param("ultimoId") Long ultimoId,
+            Pageable pageable
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.categoria.id, g.valor FROM Gasto g " +
+           "WHERE g.usuario.id = :usuarioId AND g.dataGasto BETWEEN :dataInicio AND :dataFim")
+    Stream<Object[]> streamValoresPorPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+
+    // Em ordem crescente de uso, para que a grafia mais usada de cada descrição seja a última lida
+    @Query("SELECT g.descricao, COUNT(g) FROM Gasto g WHERE g.usuario.id = :usuarioId " +
+           "GROUP BY g.descricao ORDER BY COUNT(g)")
+    List<Object[]> contarPorDescricao(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT g.id, g.descricao FROM Gasto g " +
+           "WHERE g.descricaoNormalizada IS NULL AND g.id > :ultimoId ORDER BY g.id")
+    List<Object[]> findDescricoesSemNormalizacao(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    // Atualização direta: não passa por @PreUpdate, então updated_at não muda
+    @Modifying
+    @Query("UPDATE Gasto g SET g.descricaoNormalizada = :descricaoNormalizada WHERE g.id = :id")
+    int atualizarDescricaoNormalizada(@Param("id") Long id, @Param("descricaoNormalizada") String descricaoNormalizada);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.id, g.usuario.id, g.descricao, g.observacao FROM Gasto g")
+    Stream<Object[]> streamTextos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.id, g.usuario.id, g.descricao, g.observacao FROM Gasto g WHERE g.updatedAt >= :desde")
+    Stream<Object[]> streamTextosAlteradosDesde(@Param("desde") LocalDateTime desde);
 }
@@ -0,0 +1,44 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.Gasto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface GastoRepositoryCustom {
+
+    /**
+     * Busca uma página sem a consulta de contagem: lê uma linha a mais que o
+     * tamanho da página apenas para saber se existe a próxima. A categoria vem
+     * no mesmo SELECT.
+     */
+    Slice<Gasto> buscarFatia(Specification<Gasto> specification, Pageable pageable);
+
+    /**
+     * Percorre todos os gastos da especificação, com a categoria, lendo do banco
+     * em blocos. Precisa ser consumido e fechado dentro de uma transação; as
+     * entidades lidas ficam no contexto de persistência até ele ser limpo.
+     */
+    Stream<Gasto> percorrer(Specification<Gasto> specification, Sort sort);
+
+    /**
+     * Insere gastos novos com um único INSERT em lote via JDBC, sem o custo do
+     * contexto de persistência, e preenche nas entidades o id e as datas.
+     * O valor é arredondado para centavos (HALF_EVEN) também nas entidades.
+     * As entidades não entram no contexto de persistência;
+     * da categoria e do usuário só o id é usado.
+     */
+    void inserirEmLote(List<Gasto> gastos);
+
+    /**
+     * Grava descrição, valor, categoria, data e observação do gasto com um único
+     * UPDATE restrito ao dono, sem o dirty checking do contexto de persistência.
+     * A entidade é desanexada e não volta a ser gravada no commit; seu
+     * {@code updatedAt} recebe o valor gravado. Retorna as linhas alteradas.
+     */
+    int atualizarCampos(Gasto gasto, Long usuarioId);
+}
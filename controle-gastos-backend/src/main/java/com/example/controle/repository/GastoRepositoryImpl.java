@@ -0,0 +1,153 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.id.GeradorIdOrdenadoPorTempo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import com.example.controle.util.TextoUtil;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class GastoRepositoryImpl implements GastoRepositoryCustom {
+
+    private static final int TAMANHO_BLOCO_LEITURA = 1000;
+
+    private static final String SQL_INSERIR =
+        "INSERT INTO gastos (id, descricao, descricao_normalizada, valor, categoria_id, usuario_id, data_gasto, " +
+        "observacao, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public GastoRepositoryImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Slice<Gasto> buscarFatia(Specification<Gasto> specification, Pageable pageable) {
+        List<Gasto> gastos = entityManager.createQuery(consultaComCategoria(specification, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean temMais = gastos.size() > pageable.getPageSize();
+        if (temMais) {
+            gastos = gastos.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(gastos, pageable, temMais);
+    }
+
+    @Override
+    public Stream<Gasto> percorrer(Specification<Gasto> specification, Sort sort) {
+        return entityManager.createQuery(consultaComCategoria(specification, sort))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_BLOCO_LEITURA)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public void inserirEmLote(List<Gasto> gastos) {
+        if (gastos.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (Gasto gasto : gastos) {
+            gasto.setId(GeradorIdOrdenadoPorTempo.proximo());
+            gasto.setCreatedAt(agora);
+            gasto.setUpdatedAt(agora);
+            if (gasto.getDataGasto() == null) {
+                gasto.setDataGasto(LocalDate.now());
+            }
+            // Normalizado aqui, e não no setter do lote: um valor com mais casas não pode
+            // virar ArithmeticException no meio do batch, e os resumos usam este mesmo valor
+            gasto.setValor(gasto.getValor().setScale(2, RoundingMode.HALF_EVEN));
+        }
+
+        jdbcTemplate.batchUpdate(SQL_INSERIR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Gasto gasto = gastos.get(i);
+                ps.setLong(1, gasto.getId());
+                ps.setString(2, gasto.getDescricao());
+                ps.setString(3, TextoUtil.normalizar(gasto.getDescricao()));
+                ps.setBigDecimal(4, gasto.getValor());
+                ps.setLong(5, gasto.getCategoria().getId());
+                ps.setLong(6, gasto.getUsuario().getId());
+                ps.setDate(7, Date.valueOf(gasto.getDataGasto()));
+                if (gasto.getObservacao() != null) {
+                    ps.setString(8, gasto.getObservacao());
+                } else {
+                    ps.setNull(8, Types.VARCHAR);
+                }
+                ps.setTimestamp(9, Timestamp.valueOf(gasto.getCreatedAt()));
+                ps.setTimestamp(10, Timestamp.valueOf(gasto.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return gastos.size();
+            }
+        });
+    }
+
+    @Override
+    public int atualizarCampos(Gasto gasto, Long usuarioId) {
+        // Desanexada antes do UPDATE, para que o flush automático não grave a linha inteira
+        entityManager.detach(gasto);
+        gasto.setUpdatedAt(LocalDateTime.now());
+
+        return entityManager.createQuery(
+                "UPDATE Gasto g SET g.descricao = :descricao, g.descricaoNormalizada = :descricaoNormalizada, " +
+                "g.valor = :valor, g.categoria = :categoria, g.dataGasto = :dataGasto, " +
+                "g.observacao = :observacao, g.updatedAt = :updatedAt " +
+                "WHERE g.id = :id AND g.usuario.id = :usuarioId")
+                .setParameter("descricao", gasto.getDescricao())
+                .setParameter("descricaoNormalizada", TextoUtil.normalizar(gasto.getDescricao()))
+                .setParameter("valor", gasto.getValor())
+                .setParameter("categoria", gasto.getCategoria())
+                .setParameter("dataGasto", gasto.getDataGasto())
+                .setParameter("observacao", gasto.getObservacao())
+                .setParameter("updatedAt", gasto.getUpdatedAt())
+                .setParameter("id", gasto.getId())
+                .setParameter("usuarioId", usuarioId)
+                .executeUpdate();
+    }
+
+    private CriteriaQuery<Gasto> consultaComCategoria(Specification<Gasto> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Gasto> query = criteriaBuilder.createQuery(Gasto.class);
+        Root<Gasto> root = query.from(Gasto.class);
+        root.fetch("categoria", JoinType.INNER);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return query;
+    }
+}
@@ -2,23 +2,46 @@ package com.example.controle.repository;
 
 import com.example.controle.model.dto.GastoFilterDTO;
 import com.example.controle.model.entity.Gasto;
+import com.example.controle.util.TextoUtil;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class GastoSpecification {
 
     public static Specification<Gasto> comFiltros(Long usuarioId, GastoFilterDTO filter) {
+        return comFiltros(usuarioId, filter, null);
+    }
+
+    /**
+     * Como {@link #comFiltros(Long, GastoFilterDTO)}, mas com a busca textual já
+     * resolvida pelo índice: quando {@code idsTexto} não é nulo, ele substitui o
+     * LIKE na descrição.
+     */
+    public static Specification<Gasto> comFiltros(Long usuarioId, GastoFilterDTO filter, Collection<Long> idsTexto) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Filtro obrigatório por usuário
             predicates.add(criteriaBuilder.equal(root.get("usuario").get("id"), usuarioId));
 
-            // Filtro por descrição (like)
-            if (filter.getDescricao() != null && !filter.getDescricao().isEmpty()) {
+            // Filtro por texto: ids do índice textual ou like na descrição
+            if (idsTexto != null) {
+                predicates.add(idsTexto.isEmpty()
+                        ? criteriaBuilder.disjunction()
+                        : root.get("id").in(idsTexto));
+            } else if (filter.isBuscaPorPrefixo() && filter.getDescricao() != null && !filter.getDescricao().isBlank()) {
+                // Sem função sobre a coluna: vira uma busca por faixa em idx_usuario_descricao_normalizada
+                predicates.add(criteriaBuilder.like(
+                        root.get("descricaoNormalizada"),
+                        TextoUtil.escaparLike(TextoUtil.normalizar(filter.getDescricao())) + "%",
+                        TextoUtil.ESCAPE_LIKE
+                ));
+            } else if (filter.getDescricao() != null && !filter.getDescricao().isEmpty()) {
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("descricao")),
                         "%" + filter.getDescricao().toLowerCase() + "%"
@@ -52,4 +75,30 @@ public class GastoSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Gastos posteriores à posição (dataGasto, id) na ordenação informada, para
+     * paginação por cursor. Combinado com o filtro por usuário, vira uma busca por
+     * faixa em {@code idx_usuario_data}, que já termina no id da chave primária.
+     */
+    public static Specification<Gasto> aposPosicao(LocalDate dataGasto, Long id, boolean ascendente) {
+        return (root, query, criteriaBuilder) -> {
+            if (ascendente) {
+                return criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("dataGasto"), dataGasto),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get("dataGasto"), dataGasto),
+                                criteriaBuilder.greaterThan(root.get("id"), id)
+                        )
+                );
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("dataGasto"), dataGasto),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("dataGasto"), dataGasto),
+                            criteriaBuilder.lessThan(root.get("id"), id)
+                    )
+            );
+        };
+    }
 }
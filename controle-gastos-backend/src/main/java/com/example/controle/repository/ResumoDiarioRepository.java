@@ -0,0 +1,73 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.ResumoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, Long> {
+
+    /**
+     * Soma ao resumo do dia, criando a linha se ainda não existir. Um único
+     * comando sobre a chave única uk_resumo_diario, seguro com escritas
+     * concorrentes na mesma chave.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO resumo_gastos_diario (usuario_id, categoria_id, dia, total, quantidade) " +
+           "VALUES (:usuarioId, :categoriaId, :dia, :valor, :quantidade) " +
+           "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)",
+           nativeQuery = true)
+    int acumular(
+            @Param("usuarioId") Long usuarioId,
+            @Param("categoriaId") Long categoriaId,
+            @Param("dia") LocalDate dia,
+            @Param("valor") BigDecimal valor,
+            @Param("quantidade") Long quantidade
+    );
+
+    @Modifying
+    @Query("DELETE FROM ResumoDiario r WHERE r.usuarioId = :usuarioId")
+    int deletarPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("INSERT INTO ResumoDiario (usuarioId, categoriaId, dia, total, quantidade) " +
+           "SELECT g.usuario.id, g.categoria.id, g.dataGasto, SUM(g.valor), COUNT(g) " +
+           "FROM Gasto g WHERE g.usuario.id = :usuarioId " +
+           "GROUP BY g.usuario.id, g.categoria.id, g.dataGasto")
+    int recalcularPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT SUM(r.total) FROM ResumoDiario r " +
+           "WHERE r.usuarioId = :usuarioId AND r.dia BETWEEN :dataInicio AND :dataFim")
+    BigDecimal somarPorUsuarioEPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+
+    @Query("SELECT SUM(r.quantidade) FROM ResumoDiario r " +
+           "WHERE r.usuarioId = :usuarioId AND r.dia BETWEEN :dataInicio AND :dataFim")
+    Long contarPorUsuarioEPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+
+    @Query("SELECT r.dia as dia, SUM(r.total) as total " +
+           "FROM ResumoDiario r " +
+           "WHERE r.usuarioId = :usuarioId AND r.dia BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY r.dia " +
+           "HAVING SUM(r.quantidade) > 0 " +
+           "ORDER BY r.dia")
+    List<Object[]> agruparPorDiaEPeriodo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+}
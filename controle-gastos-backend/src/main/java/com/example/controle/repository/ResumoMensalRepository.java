@@ -0,0 +1,78 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.ResumoMensal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, Long> {
+
+    /** Como {@link ResumoDiarioRepository#acumular}, sobre a chave única uk_resumo_mensal. */
+    @Modifying
+    @Query(value = "INSERT INTO resumo_gastos_mensal (usuario_id, categoria_id, ano, mes, total, quantidade) " +
+           "VALUES (:usuarioId, :categoriaId, :ano, :mes, :valor, :quantidade) " +
+           "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)",
+           nativeQuery = true)
+    int acumular(
+            @Param("usuarioId") Long usuarioId,
+            @Param("categoriaId") Long categoriaId,
+            @Param("ano") Integer ano,
+            @Param("mes") Integer mes,
+            @Param("valor") BigDecimal valor,
+            @Param("quantidade") Long quantidade
+    );
+
+    @Modifying
+    @Query("DELETE FROM ResumoMensal r WHERE r.usuarioId = :usuarioId")
+    int deletarPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("INSERT INTO ResumoMensal (usuarioId, categoriaId, ano, mes, total, quantidade) " +
+           "SELECT r.usuarioId, r.categoriaId, year(r.dia), month(r.dia), SUM(r.total), SUM(r.quantidade) " +
+           "FROM ResumoDiario r WHERE r.usuarioId = :usuarioId " +
+           "GROUP BY r.usuarioId, r.categoriaId, year(r.dia), month(r.dia)")
+    int recalcularPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT SUM(r.total) FROM ResumoMensal r " +
+           "WHERE r.usuarioId = :usuarioId AND r.ano = :ano AND r.mes = :mes")
+    BigDecimal somarPorUsuarioEMes(
+            @Param("usuarioId") Long usuarioId,
+            @Param("ano") Integer ano,
+            @Param("mes") Integer mes
+    );
+
+    @Query("SELECT c.nome as categoria, c.cor as cor, SUM(r.total) as total, SUM(r.quantidade) as quantidade " +
+           "FROM ResumoMensal r JOIN Categoria c ON c.id = r.categoriaId " +
+           "WHERE r.usuarioId = :usuarioId AND r.ano = :ano AND r.mes = :mes " +
+           "GROUP BY c.id, c.nome, c.cor " +
+           "HAVING SUM(r.quantidade) > 0 " +
+           "ORDER BY total DESC")
+    List<Object[]> agruparPorCategoriaEMes(
+            @Param("usuarioId") Long usuarioId,
+            @Param("ano") Integer ano,
+            @Param("mes") Integer mes
+    );
+
+    @Query("SELECT r.ano as ano, r.mes as mes, c.id as categoriaId, c.nome as categoria, c.cor as cor, " +
+           "SUM(r.total) as total, SUM(r.quantidade) as quantidade " +
+           "FROM ResumoMensal r JOIN Categoria c ON c.id = r.categoriaId " +
+           "WHERE r.usuarioId = :usuarioId " +
+           // Comparação de tupla escrita por extenso para usar o índice (usuario_id, ano, mes)
+           "AND (r.ano > :anoInicio OR (r.ano = :anoInicio AND r.mes >= :mesInicio)) " +
+           "AND (r.ano < :anoFim OR (r.ano = :anoFim AND r.mes <= :mesFim)) " +
+           "GROUP BY r.ano, r.mes, c.id, c.nome, c.cor " +
+           "HAVING SUM(r.quantidade) > 0")
+    List<Object[]> agruparPorMesECategoriaNoIntervalo(
+            @Param("usuarioId") Long usuarioId,
+            @Param("anoInicio") Integer anoInicio,
+            @Param("mesInicio") Integer mesInicio,
+            @Param("anoFim") Integer anoFim,
+            @Param("mesFim") Integer mesFim
+    );
+}
@@ -1,9 +1,14 @@
 package com.example.controle.repository;
 
 import com.example.controle.model.entity.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,24 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.id > :ultimoId ORDER BY u.id")
+    List<Long> findIdsAposId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    /**
+     * (id, versaoToken, ativo) dos usuários com tokens possivelmente revogados:
+     * os que já tiveram o acesso alterado alguma vez.
+     */
+    @Query("SELECT u.id, u.versaoToken, u.ativo, u.email FROM Usuario u WHERE u.versaoToken > 0 OR u.ativo = false")
+    List<Object[]> findEstadosDeAcesso();
+
+    @Modifying
+    @Query("UPDATE Usuario u SET u.versaoDados = COALESCE(u.versaoDados, 0) + 1 WHERE u.id = :id")
+    int incrementarVersaoDados(@Param("id") Long id);
+
+    /** (versaoDados do usuário, versão global) em uma única consulta. */
+    @Query("SELECT COALESCE(u.versaoDados, 0), " +
+           "COALESCE((SELECT g.versao FROM VersaoDadosGlobal g WHERE g.id = 1), 0) " +
+           "FROM Usuario u WHERE u.id = :id")
+    List<Object[]> buscarVersoesDados(@Param("id") Long id);
 }
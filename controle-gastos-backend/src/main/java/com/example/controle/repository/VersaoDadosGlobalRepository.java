@@ -0,0 +1,18 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.VersaoDadosGlobal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VersaoDadosGlobalRepository extends JpaRepository<VersaoDadosGlobal, Long> {
+
+    /** Cria a linha na primeira chamada. */
+    @Modifying
+    @Query(value = "INSERT INTO versao_dados_global (id, versao) VALUES (1, 1) " +
+           "ON DUPLICATE KEY UPDATE versao = versao + 1",
+           nativeQuery = true)
+    int incrementar();
+}
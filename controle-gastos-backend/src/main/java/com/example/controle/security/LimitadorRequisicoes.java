@@ -0,0 +1,99 @@
+package com.example.controle.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por chave, no formato GCRA: cada balde é um único {@code long}
+ * com o instante teórico em que ele estará cheio de novo, atualizado por CAS.
+ * Não há lock nem thread de reposição; uma requisição custa uma leitura no
+ * mapa e, em geral, um compareAndSet.
+ * <p>
+ * Um balde cujo instante já passou está cheio e equivale a não existir, então
+ * {@link #removerOciosos()} pode descartá-lo sem mudar nenhuma decisão.
+ */
+public class LimitadorRequisicoes {
+
+    private static final long REMOVIDO = Long.MIN_VALUE;
+
+    private final LongSupplier relogio;
+    private final ConcurrentMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+
+    public LimitadorRequisicoes() {
+        this(System::nanoTime);
+    }
+
+    LimitadorRequisicoes(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * Consome uma ficha do balde da chave. Retorna 0 se a requisição pode
+     * seguir, ou quantos nanossegundos faltam para haver uma ficha.
+     */
+    public long consumir(String chave, Regra regra) {
+        long agora = relogio.getAsLong();
+        AtomicLong cheioEm = baldes.computeIfAbsent(chave, k -> new AtomicLong(agora));
+        while (true) {
+            long atual = cheioEm.get();
+            if (atual == REMOVIDO) {
+                // Descartado por removerOciosos: continua em um balde novo
+                baldes.remove(chave, cheioEm);
+                cheioEm = baldes.computeIfAbsent(chave, k -> new AtomicLong(agora));
+                continue;
+            }
+            long base = atual - agora < 0 ? agora : atual;
+            long espera = base - agora - regra.tolerancia();
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(atual, base + regra.intervalo())) {
+                return 0;
+            }
+        }
+    }
+
+    /** Remove os baldes cheios (sem uso recente). Retorna quantos removeu. */
+    public int removerOciosos() {
+        long agora = relogio.getAsLong();
+        int removidos = 0;
+        for (var entrada : baldes.entrySet()) {
+            AtomicLong cheioEm = entrada.getValue();
+            long atual = cheioEm.get();
+            // O CAS impede remover um balde que acabou de ser consumido
+            if (atual != REMOVIDO && atual - agora <= 0 && cheioEm.compareAndSet(atual, REMOVIDO)) {
+                baldes.remove(entrada.getKey(), cheioEm);
+                removidos++;
+            }
+        }
+        return removidos;
+    }
+
+    public int getTamanho() {
+        return baldes.size();
+    }
+
+    /**
+     * Até {@code capacidade} requisições seguidas, repostas à taxa de
+     * {@code porMinuto}.
+     */
+    public record Regra(long capacidade, long porMinuto) {
+
+        public Regra {
+            if (capacidade < 1 || porMinuto < 1) {
+                throw new IllegalArgumentException("Capacidade e taxa devem ser positivas");
+            }
+        }
+
+        long intervalo() {
+            return TimeUnit.MINUTES.toNanos(1) / porMinuto;
+        }
+
+        long tolerancia() {
+            return intervalo() * (capacidade - 1);
+        }
+    }
+}
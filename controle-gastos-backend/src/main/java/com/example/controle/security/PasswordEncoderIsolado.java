@@ -0,0 +1,113 @@
+package com.example.controle.security;
+
+import com.example.controle.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o hash e a verificação de senhas (BCrypt, caro em CPU de propósito)
+ * em um pool próprio de tamanho fixo, com fila limitada. A thread da
+ * requisição só espera o resultado, então um pico de logins ocupa no máximo
+ * esse pool e não os núcleos que atendem o restante da API. Com a fila cheia,
+ * a operação é recusada na hora com {@link ServicoSobrecarregadoException}.
+ */
+public class PasswordEncoderIsolado implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderIsolado.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSegundos;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Counter rejeitadas;
+
+    public PasswordEncoderIsolado(PasswordEncoder delegate, int threads, int tamanhoFila,
+                                  long retryAfterSegundos, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSegundos = retryAfterSegundos;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "senhas-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "senhas");
+
+        this.tempoEncode = Timer.builder("seguranca.senhas.duracao")
+                .description("Tempo de hash/verificação de senha, sem a espera na fila")
+                .tag("operacao", "encode")
+                .register(meterRegistry);
+        this.tempoMatches = Timer.builder("seguranca.senhas.duracao")
+                .description("Tempo de hash/verificação de senha, sem a espera na fila")
+                .tag("operacao", "matches")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("seguranca.senhas.rejeitadas")
+                .description("Operações de senha recusadas com a fila cheia")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> tempoEncode.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> tempoMatches.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Só lê o custo gravado no hash
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> operacao) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(operacao);
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            log.warn("Operação de senha recusada: {} na fila", executor.getQueue().size());
+            throw new ServicoSobrecarregadoException(
+                "Muitas autenticações simultâneas. Tente novamente em instantes", retryAfterSegundos);
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a verificação de senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.controle.security;
+
+import com.example.controle.cache.UsuarioCache;
+import com.example.controle.event.AcessoUsuarioAlteradoEvent;
+import com.example.controle.repository.UsuarioRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Versão mínima de token e situação dos usuários que já tiveram o acesso
+ * alterado, em memória, para o filtro de JWT decidir sem ir ao banco. A fonte
+ * é a tabela de usuários: as alterações desta instância entram após o commit
+ * e as das demais na atualização periódica. Como a versão só cresce, as
+ * entradas são mescladas pela maior versão e nunca regridem. Alterações vindas
+ * de outras instâncias também descartam o usuário do {@link UsuarioCache}.
+ */
+@Component
+public class RevogacaoTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(RevogacaoTokens.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioCache usuarioCache;
+    private final ConcurrentMap<Long, EstadoAcesso> estados = new ConcurrentHashMap<>();
+
+    public RevogacaoTokens(UsuarioRepository usuarioRepository, UsuarioCache usuarioCache) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioCache = usuarioCache;
+    }
+
+    /**
+     * Usuários sem registro aqui nunca tiveram o acesso alterado: qualquer
+     * versão de token vale.
+     */
+    public boolean aceita(Long usuarioId, long versaoToken) {
+        EstadoAcesso estado = estados.get(usuarioId);
+        return estado == null || (estado.ativo() && versaoToken >= estado.versaoToken());
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.intervalo-atualizacao:PT30S}",
+               initialDelayString = "${seguranca.revogacao.intervalo-atualizacao:PT30S}")
+    public void atualizar() {
+        int lidos = 0;
+        for (Object[] linha : usuarioRepository.findEstadosDeAcesso()) {
+            if (registrar((Long) linha[0], linha[1] != null ? (Long) linha[1] : 0L, (Boolean) linha[2])) {
+                usuarioCache.invalidar((String) linha[3]);
+            }
+            lidos++;
+        }
+        log.debug("Tabela de revogação de tokens atualizada: {} usuários", lidos);
+    }
+
+    @TransactionalEventListener
+    public void aoAlterarAcesso(AcessoUsuarioAlteradoEvent evento) {
+        registrar(evento.usuarioId(), evento.versaoToken(), evento.ativo());
+    }
+
+    /** Retorna se o estado registrado do usuário mudou. */
+    private boolean registrar(Long usuarioId, long versaoToken, boolean ativo) {
+        EstadoAcesso anterior = estados.get(usuarioId);
+        EstadoAcesso atual = estados.merge(usuarioId, new EstadoAcesso(versaoToken, ativo),
+            (registrado, novo) -> novo.versaoToken() >= registrado.versaoToken() ? novo : registrado);
+        return !atual.equals(anterior);
+    }
+
+    private record EstadoAcesso(long versaoToken, boolean ativo) {
+    }
+}
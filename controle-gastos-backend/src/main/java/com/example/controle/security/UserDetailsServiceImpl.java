@@ -1,23 +1,30 @@
 package com.example.controle.security;
 
+import com.example.controle.cache.UsuarioCache;
 import com.example.controle.repository.UsuarioRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Usuários da autenticação (login e, com {@code seguranca.jwt.verificar-usuario},
+ * cada requisição), lidos através do {@link UsuarioCache}.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioCache usuarioCache;
 
-    public UserDetailsServiceImpl(UsuarioRepository usuarioRepository) {
+    public UserDetailsServiceImpl(UsuarioRepository usuarioRepository, UsuarioCache usuarioCache) {
         this.usuarioRepository = usuarioRepository;
+        this.usuarioCache = usuarioCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepository.findByEmail(email)
+        return usuarioCache.obter(email, usuarioRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
     }
 }
@@ -0,0 +1,66 @@
+package com.example.controle.security;
+
+import com.example.controle.model.entity.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usuário das requisições autenticadas por token, montado a partir das claims
+ * do JWT, sem consulta ao banco. Para gravar um relacionamento com o usuário,
+ * use {@code usuarioRepository.getReferenceById(getId())}.
+ */
+public final class UsuarioAutenticado implements Principal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final Usuario.Role role;
+    private final long versaoToken;
+
+    public UsuarioAutenticado(Long id, String email, Usuario.Role role, long versaoToken) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.versaoToken = versaoToken;
+    }
+
+    public static UsuarioAutenticado de(Usuario usuario) {
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getRole(), usuario.getVersaoToken());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Usuario.Role getRole() {
+        return role;
+    }
+
+    public long getVersaoToken() {
+        return versaoToken;
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
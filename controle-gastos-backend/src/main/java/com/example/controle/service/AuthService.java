@@ -1,5 +1,6 @@
 package com.example.controle.service;
 
+import com.example.controle.cache.UsuarioCache;
 import com.example.controle.exception.BusinessException;
 import com.example.controle.model.dto.AuthResponseDTO;
 import com.example.controle.model.dto.LoginRequestDTO;
@@ -14,7 +15,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
@@ -25,18 +25,25 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final UsuarioCache usuarioCache;
 
     public AuthService(UsuarioRepository usuarioRepository,
                       PasswordEncoder passwordEncoder,
                       JwtUtil jwtUtil,
-                      AuthenticationManager authenticationManager) {
+                      AuthenticationManager authenticationManager,
+                      UsuarioCache usuarioCache) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.usuarioCache = usuarioCache;
     }
 
-    @Transactional
+    /**
+     * Sem transação em volta: o hash da senha pode esperar na fila do pool de
+     * senhas, e não deve segurar uma conexão do banco enquanto isso. O
+     * {@code save} tem a própria transação.
+     */
     public AuthResponseDTO register(RegisterRequestDTO request) {
         log.info("Registrando novo usuário: {}", request.getEmail());
 
@@ -52,6 +59,8 @@ public class AuthService {
         usuario.setAtivo(true);
 
         usuarioRepository.save(usuario);
+        // O email pode estar no cache de inexistentes por uma tentativa anterior
+        usuarioCache.invalidar(usuario.getEmail());
         log.info("Usuário registrado com sucesso: {}", usuario.getEmail());
 
         String token = jwtUtil.generateToken(usuario);
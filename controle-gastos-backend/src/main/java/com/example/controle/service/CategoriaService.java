@@ -1,5 +1,6 @@
 package com.example.controle.service;
 
+import com.example.controle.event.CategoriaAlteradaEvent;
 import com.example.controle.exception.BusinessException;
 import com.example.controle.exception.ResourceNotFoundException;
 import com.example.controle.mapper.CategoriaMapper;
@@ -9,6 +10,7 @@ import com.example.controle.model.entity.Categoria;
 import com.example.controle.repository.CategoriaRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,10 +23,17 @@ public class CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
     private final CategoriaMapper categoriaMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersaoDadosService versaoDadosService;
 
-    public CategoriaService(CategoriaRepository categoriaRepository, CategoriaMapper categoriaMapper) {
+    public CategoriaService(CategoriaRepository categoriaRepository,
+                            CategoriaMapper categoriaMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            VersaoDadosService versaoDadosService) {
         this.categoriaRepository = categoriaRepository;
         this.categoriaMapper = categoriaMapper;
+        this.eventPublisher = eventPublisher;
+        this.versaoDadosService = versaoDadosService;
     }
 
     @Transactional(readOnly = true)
@@ -70,6 +79,11 @@ public class CategoriaService {
         categoriaMapper.updateEntityFromDTO(requestDTO, categoria);
         Categoria categoriaAtualizada = categoriaRepository.save(categoria);
 
+        // Nome, cor e ícone da categoria são copiados para os dashboards em cache
+        // (invalidados depois do commit, pelo evento) e para as respostas já entregues com ETag
+        eventPublisher.publishEvent(new CategoriaAlteradaEvent(categoriaAtualizada.getId()));
+        versaoDadosService.incrementarGlobal();
+
         log.info("Categoria atualizada: {}", id);
         return categoriaMapper.toResponseDTO(categoriaAtualizada);
     }
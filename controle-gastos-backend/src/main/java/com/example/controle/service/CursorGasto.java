@@ -0,0 +1,38 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.BusinessException;
+import com.example.controle.model.entity.Gasto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem de gastos ordenada por (dataGasto, id) na direção
+ * indicada, serializada como um token opaco em base64 para o cliente. A direção
+ * faz parte do token para que um cursor não seja reaproveitado com a ordem
+ * invertida, o que pularia ou repetiria linhas.
+ */
+record CursorGasto(LocalDate dataGasto, Long id, boolean ascendente) {
+
+    static CursorGasto de(Gasto gasto, boolean ascendente) {
+        return new CursorGasto(gasto.getDataGasto(), gasto.getId(), ascendente);
+    }
+
+    static CursorGasto decodificar(String token) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (partes.length != 3 || !(partes[0].equals("A") || partes[0].equals("D"))) {
+                throw new IllegalArgumentException();
+            }
+            return new CursorGasto(LocalDate.parse(partes[1]), Long.parseLong(partes[2]), partes[0].equals("A"));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    String codificar() {
+        String texto = (ascendente ? "A" : "D") + "|" + dataGasto + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.controle.service;
+
+import com.example.controle.cache.DashboardCache;
+import com.example.controle.repository.GastoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pré-calcula o dashboard do mês atual dos usuários que gravaram gastos nos
+ * últimos dias, para que o pico de acessos do início do expediente encontre o
+ * cache já preenchido. Os dashboards já presentes no cache não são recalculados.
+ * Cada dashboard é calculado no modo sequencial, com uma conexão, então a
+ * rotina usa no máximo {@code dashboard.aquecimento.max-consultas-simultaneas}
+ * conexões do pool, mesmo com {@code dashboard.paralelo.habilitado}.
+ */
+@Service
+public class DashboardAquecimentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAquecimentoService.class);
+    private static final int TAMANHO_LOTE_USUARIOS = 500;
+
+    private final GastoRepository gastoRepository;
+    private final DashboardService dashboardService;
+    private final DashboardCache dashboardCache;
+    private final ExecutorService dashboardExecutor;
+    private final int maxConsultasSimultaneas;
+
+    private final Timer duracao;
+    private final Counter falhas;
+    private final AtomicLong usuariosAtivos = new AtomicLong();
+    private final AtomicLong usuariosAquecidos = new AtomicLong();
+
+    @Value("${dashboard.aquecimento.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${dashboard.aquecimento.dias-atividade:7}")
+    private int diasAtividade;
+
+    public DashboardAquecimentoService(GastoRepository gastoRepository,
+                                       DashboardService dashboardService,
+                                       DashboardCache dashboardCache,
+                                       @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${dashboard.aquecimento.max-consultas-simultaneas:4}") int maxConsultasSimultaneas) {
+        // Com zero permissões, a primeira aquisição bloquearia a thread do agendador para sempre
+        if (maxConsultasSimultaneas < 1) {
+            throw new IllegalStateException(
+                "dashboard.aquecimento.max-consultas-simultaneas deve ser ao menos 1: " + maxConsultasSimultaneas);
+        }
+        this.maxConsultasSimultaneas = maxConsultasSimultaneas;
+        this.gastoRepository = gastoRepository;
+        this.dashboardService = dashboardService;
+        this.dashboardCache = dashboardCache;
+        this.dashboardExecutor = dashboardExecutor;
+
+        this.duracao = Timer.builder("dashboard.aquecimento.duracao")
+                .description("Duração da rotina de aquecimento do cache de dashboards")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("dashboard.aquecimento.falhas")
+                .description("Dashboards que falharam durante o aquecimento")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.aquecimento.usuarios.ativos", usuariosAtivos, AtomicLong::get)
+                .description("Usuários ativos encontrados na última execução")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.aquecimento.usuarios.aquecidos", usuariosAquecidos, AtomicLong::get)
+                .description("Usuários com dashboard em cache ao fim da última execução")
+                .register(meterRegistry);
+        AtomicLong ativos = usuariosAtivos;
+        Gauge.builder("dashboard.aquecimento.cobertura", usuariosAquecidos,
+                        aquecidos -> cobertura(ativos.get(), aquecidos.get()))
+                .description("Fração dos usuários ativos com dashboard em cache na última execução")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${dashboard.aquecimento.cron:0 30 7 * * MON-FRI}",
+               zone = "${dashboard.aquecimento.zona:America/Sao_Paulo}")
+    public void aquecerAgendado() {
+        if (!habilitado) {
+            return;
+        }
+        aquecer();
+    }
+
+    /**
+     * Percorre os usuários ativos em lotes e calcula os dashboards em paralelo,
+     * com no máximo {@code dashboard.aquecimento.max-consultas-simultaneas}
+     * cálculos ao mesmo tempo. Retorna quantos usuários ficaram com o dashboard em cache.
+     */
+    public int aquecer() {
+        if (!dashboardCache.isHabilitado()) {
+            log.warn("Aquecimento de dashboards ignorado: cache de dashboards desabilitado");
+            return 0;
+        }
+
+        return duracao.record(() -> {
+            YearMonth mes = YearMonth.now();
+            LocalDateTime desde = LocalDateTime.now().minusDays(diasAtividade);
+            Semaphore permissoes = new Semaphore(maxConsultasSimultaneas);
+            AtomicInteger aquecidos = new AtomicInteger();
+            int ativos = 0;
+
+            log.info("Iniciando aquecimento dos dashboards de {} (usuários ativos desde {})", mes, desde);
+
+            Long ultimoId = 0L;
+            List<Long> ids;
+            do {
+                ids = gastoRepository.findUsuariosAtivosAposId(desde, ultimoId, PageRequest.of(0, TAMANHO_LOTE_USUARIOS));
+                for (Long usuarioId : ids) {
+                    // Adquire antes de submeter para não enfileirar todos os usuários de uma vez
+                    permissoes.acquireUninterruptibly();
+                    dashboardExecutor.execute(() -> {
+                        try {
+                            dashboardCache.obter(usuarioId, mes, () -> dashboardService.calcularDashboardSequencial(usuarioId, mes));
+                            aquecidos.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            falhas.increment();
+                            log.warn("Falha ao aquecer dashboard do usuário {}: {}", usuarioId, e.getMessage());
+                        } finally {
+                            permissoes.release();
+                        }
+                    });
+                }
+                ativos += ids.size();
+                if (!ids.isEmpty()) {
+                    ultimoId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == TAMANHO_LOTE_USUARIOS);
+
+            // Espera as tarefas em andamento terminarem
+            permissoes.acquireUninterruptibly(maxConsultasSimultaneas);
+
+            usuariosAtivos.set(ativos);
+            usuariosAquecidos.set(aquecidos.get());
+            log.info("Aquecimento concluído: {} de {} usuários ativos com dashboard em cache", aquecidos.get(), ativos);
+            return aquecidos.get();
+        });
+    }
+
+    private static double cobertura(long ativos, long aquecidos) {
+        return ativos == 0 ? 1.0 : (double) aquecidos / ativos;
+    }
+}
@@ -1,85 +1,386 @@
 package com.example.controle.service;
 
+import com.example.controle.cache.DashboardCache;
+import com.example.controle.exception.BusinessException;
 import com.example.controle.mapper.GastoMapper;
 import com.example.controle.model.dto.DashboardDTO;
 import com.example.controle.model.dto.GastoResponseDTO;
+import com.example.controle.model.dto.SerieDiariaDTO;
+import com.example.controle.model.dto.TendenciaDTO;
 import com.example.controle.model.entity.Gasto;
-import com.example.controle.model.entity.Usuario;
 import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.ResumoMensalRepository;
+import com.example.controle.security.UsuarioAutenticado;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 @Service
 public class DashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    private static final int MAX_MESES_TENDENCIA = 60;
 
     private final GastoRepository gastoRepository;
     private final GastoMapper gastoMapper;
-
-    public DashboardService(GastoRepository gastoRepository, GastoMapper gastoMapper) {
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final DashboardCache dashboardCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService dashboardExecutor;
+
+    @Value("${dashboard.paralelo.habilitado:false}")
+    private boolean paraleloHabilitado;
+
+    @Value("${dashboard.paralelo.max-consultas-simultaneas:3}")
+    private int maxConsultasSimultaneas;
+
+    @Value("${dashboard.consulta-unica.habilitada:false}")
+    private boolean consultaUnicaHabilitada;
+
+    @Value("${resumos.leitura.habilitada:false}")
+    private boolean leituraResumosHabilitada;
+
+    public DashboardService(GastoRepository gastoRepository,
+                            GastoMapper gastoMapper,
+                            ResumoDiarioRepository resumoDiarioRepository,
+                            ResumoMensalRepository resumoMensalRepository,
+                            DashboardCache dashboardCache,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("dashboardExecutor") ExecutorService dashboardExecutor) {
         this.gastoRepository = gastoRepository;
         this.gastoMapper = gastoMapper;
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.dashboardCache = dashboardCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.dashboardExecutor = dashboardExecutor;
     }
 
-    private Usuario getUsuarioLogado() {
+    private UsuarioAutenticado getUsuarioLogado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (Usuario) authentication.getPrincipal();
+        return (UsuarioAutenticado) authentication.getPrincipal();
     }
 
-    @Transactional(readOnly = true)
     public DashboardDTO getDashboard(YearMonth mesReferencia) {
-        Usuario usuario = getUsuarioLogado();
-        log.info("Gerando dashboard para usuário: {} - mês: {}", usuario.getEmail(), mesReferencia);
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.debug("Obtendo dashboard para usuário: {} - mês: {}", usuario.getEmail(), mesReferencia);
+
+        return dashboardCache.obter(usuario.getId(), mesReferencia,
+            () -> calcularDashboard(usuario.getId(), mesReferencia));
+    }
+
+    public DashboardDTO calcularDashboard(Long usuarioId, YearMonth mesReferencia) {
+        return calcularDashboard(usuarioId, mesReferencia, paraleloHabilitado);
+    }
+
+    /**
+     * Calcula sempre no modo sequencial, com uma única conexão, independente de
+     * {@code dashboard.paralelo.habilitado}. Usado por rotinas que já calculam
+     * vários dashboards ao mesmo tempo e limitam as conexões por dashboard.
+     */
+    public DashboardDTO calcularDashboardSequencial(Long usuarioId, YearMonth mesReferencia) {
+        return calcularDashboard(usuarioId, mesReferencia, false);
+    }
+
+    private DashboardDTO calcularDashboard(Long usuarioId, YearMonth mesReferencia, boolean paralelo) {
+        log.info("Gerando dashboard para usuário ID: {} - mês: {}", usuarioId, mesReferencia);
+
+        DashboardDTO dashboard = paralelo
+            ? montarEmParalelo(usuarioId, mesReferencia)
+            : transactionTemplate.execute(status -> montarSequencial(usuarioId, mesReferencia));
+
+        log.info("Dashboard gerado com sucesso para usuário ID: {}", usuarioId);
+        return dashboard;
+    }
+
+    /**
+     * Monta a série mensal entre {@code inicio} e {@code fim} (inclusive) com uma
+     * única consulta agrupada por ano, mês e categoria.
+     */
+    @Transactional(readOnly = true)
+    public TendenciaDTO getTendencia(YearMonth inicio, YearMonth fim) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.info("Gerando tendência para usuário: {} - de {} a {}", usuario.getEmail(), inicio, fim);
+
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("O mês final deve ser igual ou posterior ao mês inicial");
+        }
+        int quantidadeMeses = (int) (fim.getYear() * 12L + fim.getMonthValue()
+            - inicio.getYear() * 12L - inicio.getMonthValue()) + 1;
+        if (quantidadeMeses > MAX_MESES_TENDENCIA) {
+            throw new BusinessException("O intervalo da tendência deve ter no máximo " + MAX_MESES_TENDENCIA + " meses");
+        }
+
+        List<Object[]> resultados = leituraResumosHabilitada
+            ? resumoMensalRepository.agruparPorMesECategoriaNoIntervalo(
+                usuario.getId(),
+                inicio.getYear(), inicio.getMonthValue(),
+                fim.getYear(), fim.getMonthValue())
+            : gastoRepository.agruparPorMesECategoriaNoPeriodo(
+                usuario.getId(), inicio.atDay(1), fim.atEndOfMonth());
+
+        List<String> meses = new ArrayList<>(quantidadeMeses);
+        for (int i = 0; i < quantidadeMeses; i++) {
+            meses.add(inicio.plusMonths(i).toString());
+        }
+
+        BigDecimal[] totais = zeros(quantidadeMeses);
+        long[] quantidades = new long[quantidadeMeses];
+        Map<Long, TendenciaDTO.SerieCategoriaDTO> porCategoria = new LinkedHashMap<>();
+        Map<Long, BigDecimal[]> totaisPorCategoria = new LinkedHashMap<>();
+        Map<Long, BigDecimal> totalGeralPorCategoria = new LinkedHashMap<>();
+
+        for (Object[] resultado : resultados) {
+            int indice = (((Number) resultado[0]).intValue() - inicio.getYear()) * 12
+                + ((Number) resultado[1]).intValue() - inicio.getMonthValue();
+            Long categoriaId = (Long) resultado[2];
+            BigDecimal total = (BigDecimal) resultado[5];
+
+            totais[indice] = totais[indice].add(total);
+            quantidades[indice] += ((Number) resultado[6]).longValue();
+
+            BigDecimal[] serie = totaisPorCategoria.computeIfAbsent(categoriaId, id -> zeros(quantidadeMeses));
+            serie[indice] = serie[indice].add(total);
+            totalGeralPorCategoria.merge(categoriaId, total, BigDecimal::add);
+            porCategoria.computeIfAbsent(categoriaId, id -> new TendenciaDTO.SerieCategoriaDTO(
+                (String) resultado[3], (String) resultado[4], Arrays.asList(serie)));
+        }
+
+        // Categorias com maior total no intervalo primeiro
+        List<TendenciaDTO.SerieCategoriaDTO> categorias = porCategoria.keySet().stream()
+            .sorted(Comparator.comparing(totalGeralPorCategoria::get).reversed())
+            .map(porCategoria::get)
+            .toList();
+
+        TendenciaDTO tendencia = new TendenciaDTO();
+        tendencia.setMeses(meses);
+        tendencia.setTotais(Arrays.asList(totais));
+        tendencia.setQuantidades(Arrays.stream(quantidades).boxed().toList());
+        tendencia.setCategorias(categorias);
+        return tendencia;
+    }
+
+    private static BigDecimal[] zeros(int tamanho) {
+        BigDecimal[] valores = new BigDecimal[tamanho];
+        Arrays.fill(valores, BigDecimal.ZERO);
+        return valores;
+    }
 
+    private DashboardDTO montarSequencial(Long usuarioId, YearMonth mesReferencia) {
         LocalDate dataInicio = mesReferencia.atDay(1);
         LocalDate dataFim = mesReferencia.atEndOfMonth();
+        YearMonth mesAnterior = mesReferencia.minusMonths(1);
+
+        Agregados agregados;
+        if (leituraResumosHabilitada) {
+            agregados = agregarPorResumos(usuarioId, mesReferencia);
+        } else if (consultaUnicaHabilitada) {
+            agregados = agregarEmConsultaUnica(usuarioId, mesReferencia);
+        } else {
+            agregados = new Agregados(
+                somarPeriodo(usuarioId, dataInicio, dataFim),
+                somarPeriodo(usuarioId, mesAnterior.atDay(1), mesAnterior.atEndOfMonth()),
+                contarPeriodo(usuarioId, dataInicio, dataFim),
+                gastoRepository.agruparPorCategoriaEPeriodo(usuarioId, dataInicio, dataFim),
+                obterGastosPorDia(mesReferencia, gastoRepository.agruparPorDiaEPeriodo(usuarioId, dataInicio, dataFim))
+            );
+        }
+
+        return montarDashboard(agregados, buscarMaioresGastos(usuarioId, dataInicio, dataFim));
+    }
 
+    /**
+     * Dispara as consultas do dashboard simultaneamente, cada uma na sua própria
+     * transação somente leitura. O semáforo limita quantas conexões um mesmo
+     * dashboard pode ocupar do pool ao mesmo tempo.
+     */
+    private DashboardDTO montarEmParalelo(Long usuarioId, YearMonth mesReferencia) {
+        LocalDate dataInicio = mesReferencia.atDay(1);
+        LocalDate dataFim = mesReferencia.atEndOfMonth();
         YearMonth mesAnterior = mesReferencia.minusMonths(1);
-        LocalDate dataInicioAnterior = mesAnterior.atDay(1);
-        LocalDate dataFimAnterior = mesAnterior.atEndOfMonth();
 
-        DashboardDTO dashboard = new DashboardDTO();
+        Semaphore limite = new Semaphore(Math.max(1, maxConsultasSimultaneas));
+        Executor executor = new DelegatingSecurityContextExecutor(dashboardExecutor);
+
+        CompletableFuture<List<GastoResponseDTO>> maioresGastos = consultar(limite, executor,
+            () -> buscarMaioresGastos(usuarioId, dataInicio, dataFim));
+        CompletableFuture<Agregados> agregados;
+
+        if (leituraResumosHabilitada) {
+            agregados = consultar(limite, executor, () -> agregarPorResumos(usuarioId, mesReferencia));
+        } else if (consultaUnicaHabilitada) {
+            agregados = consultar(limite, executor, () -> agregarEmConsultaUnica(usuarioId, mesReferencia));
+        } else {
+            CompletableFuture<BigDecimal> totalMes = consultar(limite, executor,
+                () -> somarPeriodo(usuarioId, dataInicio, dataFim));
+            CompletableFuture<BigDecimal> totalMesAnterior = consultar(limite, executor,
+                () -> somarPeriodo(usuarioId, mesAnterior.atDay(1), mesAnterior.atEndOfMonth()));
+            CompletableFuture<Long> quantidade = consultar(limite, executor,
+                () -> contarPeriodo(usuarioId, dataInicio, dataFim));
+            CompletableFuture<List<Object[]>> porCategoria = consultar(limite, executor,
+                () -> gastoRepository.agruparPorCategoriaEPeriodo(usuarioId, dataInicio, dataFim));
+            CompletableFuture<List<Object[]>> porDia = consultar(limite, executor,
+                () -> gastoRepository.agruparPorDiaEPeriodo(usuarioId, dataInicio, dataFim));
+
+            agregados = CompletableFuture.allOf(totalMes, totalMesAnterior, quantidade, porCategoria, porDia)
+                .thenApply(ignorado -> new Agregados(
+                    totalMes.join(),
+                    totalMesAnterior.join(),
+                    quantidade.join(),
+                    porCategoria.join(),
+                    obterGastosPorDia(mesReferencia, porDia.join())
+                ));
+        }
+
+        try {
+            return montarDashboard(agregados.join(), maioresGastos.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> consultar(Semaphore limite, Executor executor, Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                limite.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Consulta do dashboard interrompida", e);
+            }
+            try {
+                return transactionTemplate.execute(status -> consulta.get());
+            } finally {
+                limite.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Lê o mês de referência e o mês anterior numa única varredura de
+     * {@code idx_usuario_data}, agrupada por categoria e dia, e acumula em memória
+     * os totais, a quantidade e as quebras por categoria e por dia.
+     */
+    private Agregados agregarEmConsultaUnica(Long usuarioId, YearMonth mesReferencia) {
+        LocalDate dataInicio = mesReferencia.atDay(1);
+
+        List<Object[]> resultados = gastoRepository.agruparPorCategoriaEDiaNoPeriodo(
+            usuarioId, mesReferencia.minusMonths(1).atDay(1), mesReferencia.atEndOfMonth()
+        );
+
+        BigDecimal totalMes = BigDecimal.ZERO;
+        BigDecimal totalMesAnterior = BigDecimal.ZERO;
+        long quantidade = 0L;
+        Map<Long, Object[]> porCategoria = new LinkedHashMap<>();
+        SerieDiariaDTO porDia = new SerieDiariaDTO(dataInicio, mesReferencia.atEndOfMonth());
+
+        for (Object[] resultado : resultados) {
+            LocalDate dia = (LocalDate) resultado[3];
+            BigDecimal total = (BigDecimal) resultado[4];
+            long quantidadeLinha = ((Number) resultado[5]).longValue();
+
+            if (dia.isBefore(dataInicio)) {
+                totalMesAnterior = totalMesAnterior.add(total);
+                continue;
+            }
+
+            totalMes = totalMes.add(total);
+            quantidade += quantidadeLinha;
+            porDia.somar(dia, total);
 
-        // Total do mês
-        BigDecimal totalMes = gastoRepository.somarGastosPorUsuarioEPeriodo(
-            usuario.getId(), dataInicio, dataFim
+            Object[] categoria = porCategoria.computeIfAbsent((Long) resultado[0],
+                id -> new Object[]{resultado[1], resultado[2], BigDecimal.ZERO, 0L});
+            categoria[2] = ((BigDecimal) categoria[2]).add(total);
+            categoria[3] = (Long) categoria[3] + quantidadeLinha;
+        }
+
+        List<Object[]> categorias = new ArrayList<>(porCategoria.values());
+        categorias.sort((a, b) -> ((BigDecimal) b[2]).compareTo((BigDecimal) a[2]));
+
+        return new Agregados(totalMes, totalMesAnterior, quantidade, categorias, porDia);
+    }
+
+    /**
+     * Lê os agregados das tabelas de resumo: totais e categorias vêm do resumo
+     * mensal e a série diária do resumo diário, sem tocar na tabela de gastos.
+     */
+    private Agregados agregarPorResumos(Long usuarioId, YearMonth mesReferencia) {
+        YearMonth mesAnterior = mesReferencia.minusMonths(1);
+        int ano = mesReferencia.getYear();
+        int mes = mesReferencia.getMonthValue();
+
+        List<Object[]> porCategoria = resumoMensalRepository.agruparPorCategoriaEMes(usuarioId, ano, mes);
+
+        BigDecimal totalMes = BigDecimal.ZERO;
+        long quantidade = 0L;
+        for (Object[] categoria : porCategoria) {
+            totalMes = totalMes.add((BigDecimal) categoria[2]);
+            quantidade += ((Number) categoria[3]).longValue();
+        }
+
+        BigDecimal totalMesAnterior = resumoMensalRepository.somarPorUsuarioEMes(
+            usuarioId, mesAnterior.getYear(), mesAnterior.getMonthValue()
         );
-        dashboard.setTotalMes(totalMes != null ? totalMes : BigDecimal.ZERO);
 
-        // Total do mês anterior
-        BigDecimal totalMesAnterior = gastoRepository.somarGastosPorUsuarioEPeriodo(
-            usuario.getId(), dataInicioAnterior, dataFimAnterior
+        return new Agregados(
+            totalMes,
+            totalMesAnterior != null ? totalMesAnterior : BigDecimal.ZERO,
+            quantidade,
+            porCategoria,
+            obterGastosPorDia(mesReferencia, resumoDiarioRepository.agruparPorDiaEPeriodo(
+                usuarioId, mesReferencia.atDay(1), mesReferencia.atEndOfMonth()
+            ))
         );
-        dashboard.setTotalMesAnterior(totalMesAnterior != null ? totalMesAnterior : BigDecimal.ZERO);
+    }
+
+    private DashboardDTO montarDashboard(Agregados agregados, List<GastoResponseDTO> maioresGastos) {
+        DashboardDTO dashboard = new DashboardDTO();
+
+        // Totais do mês e do mês anterior
+        dashboard.setTotalMes(agregados.totalMes());
+        dashboard.setTotalMesAnterior(agregados.totalMesAnterior());
 
         // Percentual de variação
         BigDecimal percentualVariacao = calcularPercentualVariacao(
-            dashboard.getTotalMes(), 
+            dashboard.getTotalMes(),
             dashboard.getTotalMesAnterior()
         );
         dashboard.setPercentualVariacao(percentualVariacao);
 
         // Quantidade de gastos
-        Long quantidade = gastoRepository.contarGastosPorUsuarioEPeriodo(
-            usuario.getId(), dataInicio, dataFim
-        );
-        dashboard.setQuantidadeGastos(quantidade != null ? quantidade : 0L);
+        dashboard.setQuantidadeGastos(agregados.quantidade());
 
         // Ticket médio
         BigDecimal ticketMedio = BigDecimal.ZERO;
@@ -90,28 +391,35 @@ public class DashboardService {
         dashboard.setTicketMedio(ticketMedio);
 
         // Gastos por categoria
-        List<DashboardDTO.GastoPorCategoriaDTO> gastosPorCategoria = 
-            obterGastosPorCategoria(usuario.getId(), dataInicio, dataFim, dashboard.getTotalMes());
-        dashboard.setGastosPorCategoria(gastosPorCategoria);
+        dashboard.setGastosPorCategoria(obterGastosPorCategoria(agregados.porCategoria(), dashboard.getTotalMes()));
 
         // Maiores gastos
-        Pageable topGastos = PageRequest.of(0, 5);
-        List<Gasto> maioresGastos = gastoRepository.findTopGastosByUsuarioAndPeriodo(
-            usuario.getId(), dataInicio, dataFim, topGastos
-        );
-        List<GastoResponseDTO> maioresGastosDTO = gastoMapper.toResponseDTOList(maioresGastos);
-        dashboard.setMaioresGastos(maioresGastosDTO);
+        dashboard.setMaioresGastos(maioresGastos);
 
         // Gastos por dia
-        Map<String, BigDecimal> gastosPorDia = obterGastosPorDia(
-            usuario.getId(), dataInicio, dataFim
-        );
-        dashboard.setGastosPorDia(gastosPorDia);
+        dashboard.setGastosPorDia(agregados.porDia());
 
-        log.info("Dashboard gerado com sucesso para usuário: {}", usuario.getEmail());
         return dashboard;
     }
 
+    private BigDecimal somarPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) {
+        BigDecimal total = gastoRepository.somarGastosPorUsuarioEPeriodo(usuarioId, dataInicio, dataFim);
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    private Long contarPeriodo(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) {
+        Long quantidade = gastoRepository.contarGastosPorUsuarioEPeriodo(usuarioId, dataInicio, dataFim);
+        return quantidade != null ? quantidade : 0L;
+    }
+
+    private List<GastoResponseDTO> buscarMaioresGastos(Long usuarioId, LocalDate dataInicio, LocalDate dataFim) {
+        Pageable topGastos = PageRequest.of(0, 5);
+        List<Gasto> maioresGastos = gastoRepository.findTopGastosByUsuarioAndPeriodo(
+            usuarioId, dataInicio, dataFim, topGastos
+        );
+        return gastoMapper.toResponseDTOList(maioresGastos);
+    }
+
     private BigDecimal calcularPercentualVariacao(BigDecimal valorAtual, BigDecimal valorAnterior) {
         if (valorAnterior.compareTo(BigDecimal.ZERO) == 0) {
             return valorAtual.compareTo(BigDecimal.ZERO) > 0 ? new BigDecimal("100") : BigDecimal.ZERO;
@@ -127,11 +435,7 @@ public class DashboardService {
     }
 
     private List<DashboardDTO.GastoPorCategoriaDTO> obterGastosPorCategoria(
-            Long usuarioId, LocalDate dataInicio, LocalDate dataFim, BigDecimal totalGeral) {
-        
-        List<Object[]> resultados = gastoRepository.agruparPorCategoriaEPeriodo(
-            usuarioId, dataInicio, dataFim
-        );
+            List<Object[]> resultados, BigDecimal totalGeral) {
 
         List<DashboardDTO.GastoPorCategoriaDTO> gastosPorCategoria = new ArrayList<>();
 
@@ -164,21 +468,22 @@ public class DashboardService {
         return gastosPorCategoria;
     }
 
-    private Map<String, BigDecimal> obterGastosPorDia(
-            Long usuarioId, LocalDate dataInicio, LocalDate dataFim) {
-        
-        List<Object[]> resultados = gastoRepository.agruparPorDiaEPeriodo(
-            usuarioId, dataInicio, dataFim
-        );
-
-        Map<String, BigDecimal> gastosPorDia = new LinkedHashMap<>();
+    private SerieDiariaDTO obterGastosPorDia(YearMonth mesReferencia, List<Object[]> resultados) {
+        SerieDiariaDTO gastosPorDia = new SerieDiariaDTO(mesReferencia.atDay(1), mesReferencia.atEndOfMonth());
 
         for (Object[] resultado : resultados) {
-            String dia = (String) resultado[0];
+            LocalDate dia = (LocalDate) resultado[0];
             BigDecimal total = (BigDecimal) resultado[1];
-            gastosPorDia.put(dia, total);
+            gastosPorDia.somar(dia, total);
         }
 
         return gastosPorDia;
     }
+
+    private record Agregados(BigDecimal totalMes,
+                             BigDecimal totalMesAnterior,
+                             Long quantidade,
+                             List<Object[]> porCategoria,
+                             SerieDiariaDTO porDia) {
+    }
 }
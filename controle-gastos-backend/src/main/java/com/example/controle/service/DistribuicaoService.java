@@ -0,0 +1,150 @@
+package com.example.controle.service;
+
+import com.example.controle.cache.DistribuicaoCache;
+import com.example.controle.estatistica.DistribuicaoGastos;
+import com.example.controle.estatistica.EsbocoQuantis;
+import com.example.controle.exception.BusinessException;
+import com.example.controle.model.dto.DistribuicaoDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas de distribuição dos valores dos gastos (percentis e faixas). Cada
+ * mês é lido uma única vez, em streaming, e guardado em {@link DistribuicaoCache};
+ * intervalos de vários meses mesclam as distribuições mensais.
+ */
+@Service
+public class DistribuicaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DistribuicaoService.class);
+    private static final int MAX_MESES_DISTRIBUICAO = 24;
+
+    private final GastoRepository gastoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final DistribuicaoCache distribuicaoCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public DistribuicaoService(GastoRepository gastoRepository,
+                               CategoriaRepository categoriaRepository,
+                               DistribuicaoCache distribuicaoCache,
+                               PlatformTransactionManager transactionManager) {
+        this.gastoRepository = gastoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.distribuicaoCache = distribuicaoCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    public DistribuicaoDTO getDistribuicao(YearMonth inicio, YearMonth fim) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.debug("Obtendo distribuição para usuário: {} - de {} a {}", usuario.getEmail(), inicio, fim);
+
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("O mês final deve ser igual ou posterior ao mês inicial");
+        }
+        if (inicio.plusMonths(MAX_MESES_DISTRIBUICAO).isBefore(fim.plusMonths(1))) {
+            throw new BusinessException("O intervalo da distribuição deve ter no máximo " + MAX_MESES_DISTRIBUICAO + " meses");
+        }
+
+        DistribuicaoGastos distribuicao = new DistribuicaoGastos();
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            YearMonth mesAtual = mes;
+            distribuicao.mesclar(distribuicaoCache.obter(usuario.getId(), mesAtual,
+                () -> calcularMes(usuario.getId(), mesAtual)));
+        }
+
+        return montarDistribuicao(distribuicao, inicio, fim);
+    }
+
+    /**
+     * Percorre os gastos do mês uma única vez; cada linha é descartada logo após
+     * ser somada aos esboços.
+     */
+    private DistribuicaoGastos calcularMes(Long usuarioId, YearMonth mes) {
+        return transactionTemplate.execute(status -> {
+            DistribuicaoGastos distribuicao = new DistribuicaoGastos();
+            try (Stream<Object[]> linhas = gastoRepository.streamValoresPorPeriodo(
+                    usuarioId, mes.atDay(1), mes.atEndOfMonth())) {
+                linhas.forEach(linha -> distribuicao.adicionar((Long) linha[0], (BigDecimal) linha[1]));
+            }
+            log.debug("Distribuição de {} calculada para usuário ID: {} ({} gastos)",
+                mes, usuarioId, distribuicao.getGeral().getQuantidade());
+            return distribuicao;
+        });
+    }
+
+    private DistribuicaoDTO montarDistribuicao(DistribuicaoGastos distribuicao, YearMonth inicio, YearMonth fim) {
+        EsbocoQuantis geral = distribuicao.getGeral();
+
+        DistribuicaoDTO dto = new DistribuicaoDTO();
+        dto.setInicio(inicio.toString());
+        dto.setFim(fim.toString());
+        dto.setQuantidade(geral.getQuantidade());
+        dto.setMinimo(valor(geral.getMinimo()));
+        dto.setMaximo(valor(geral.getMaximo()));
+        dto.setP50(valor(geral.quantil(0.5)));
+        dto.setP90(valor(geral.quantil(0.9)));
+        dto.setP99(valor(geral.quantil(0.99)));
+
+        // Faixas de valor
+        long[] contagens = distribuicao.getFaixas();
+        BigDecimal[] limites = DistribuicaoGastos.LIMITES_FAIXAS;
+        List<DistribuicaoDTO.FaixaDTO> faixas = new ArrayList<>(limites.length);
+        for (int i = 0; i < limites.length; i++) {
+            BigDecimal limiteSuperior = i + 1 < limites.length ? limites[i + 1] : null;
+            faixas.add(new DistribuicaoDTO.FaixaDTO(limites[i], limiteSuperior, contagens[i]));
+        }
+        dto.setFaixas(faixas);
+
+        // Percentis por categoria, das categorias com mais gastos para as com menos
+        Map<Long, EsbocoQuantis> porCategoria = distribuicao.getPorCategoria();
+        Map<Long, Categoria> categorias = categoriaRepository.findAllById(porCategoria.keySet()).stream()
+            .collect(Collectors.toMap(Categoria::getId, Function.identity()));
+
+        List<DistribuicaoDTO.DistribuicaoCategoriaDTO> porCategoriaDTO = new ArrayList<>(porCategoria.size());
+        porCategoria.forEach((categoriaId, esboco) -> {
+            Categoria categoria = categorias.get(categoriaId);
+            DistribuicaoDTO.DistribuicaoCategoriaDTO item = new DistribuicaoDTO.DistribuicaoCategoriaDTO();
+            item.setCategoria(categoria != null ? categoria.getNome() : null);
+            item.setCor(categoria != null ? categoria.getCor() : null);
+            item.setQuantidade(esboco.getQuantidade());
+            item.setP50(valor(esboco.quantil(0.5)));
+            item.setP90(valor(esboco.quantil(0.9)));
+            item.setP99(valor(esboco.quantil(0.99)));
+            porCategoriaDTO.add(item);
+        });
+        porCategoriaDTO.sort(Comparator.comparing(DistribuicaoDTO.DistribuicaoCategoriaDTO::getQuantidade).reversed());
+        dto.setCategorias(porCategoriaDTO);
+
+        return dto;
+    }
+
+    private static BigDecimal valor(double valor) {
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.BusinessException;
+
+/**
+ * Como calcular o total de elementos de uma listagem paginada por offset.
+ */
+public enum EstrategiaContagem {
+
+    /** Executa o COUNT a cada página (comportamento original). */
+    EXATA,
+
+    /** Não conta: a resposta informa apenas se existe a próxima página. */
+    NENHUMA,
+
+    /** Reaproveita o último COUNT do mesmo usuário e filtro até a próxima escrita. */
+    CACHE;
+
+    public static EstrategiaContagem de(String valor) {
+        for (EstrategiaContagem estrategia : values()) {
+            if (estrategia.name().equalsIgnoreCase(valor)) {
+                return estrategia;
+            }
+        }
+        throw new BusinessException("Estratégia de contagem inválida: " + valor + " (use exata, nenhuma ou cache)");
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.LimiteExcedidoException;
+import com.example.controle.exception.ServicoSobrecarregadoException;
+import com.example.controle.model.dto.GastoFilterDTO;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Exportação dos gastos do usuário em CSV ou NDJSON. Os gastos são lidos em
+ * streaming e escritos na resposta à medida que chegam do banco: o contexto de
+ * persistência é limpo a cada lote, então a memória usada não depende da
+ * quantidade de gastos exportados.
+ * <p>
+ * Cada exportação ocupa uma conexão e uma transação até o fim do download, então
+ * o número de exportações simultâneas é limitado por usuário (429) e no total
+ * (503), bem abaixo do tamanho do pool de conexões.
+ */
+@Service
+public class ExportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+    private static final int LINHAS_POR_LOTE = 1000;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final long RETRY_AFTER_SEGUNDOS = 30;
+
+    private final GastoService gastoService;
+    private final GastoRepository gastoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore exportacoesEmAndamento;
+    private final int maxPorUsuario;
+    // Exportações em andamento por usuário; o usuário sai do mapa ao chegar a zero
+    private final ConcurrentMap<Long, Integer> exportacoesPorUsuario = new ConcurrentHashMap<>();
+
+    public ExportacaoService(GastoService gastoService,
+                             GastoRepository gastoRepository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${gastos.exportacao.max-simultaneas:4}") int maxSimultaneas,
+                             @Value("${gastos.exportacao.max-por-usuario:1}") int maxPorUsuario) {
+        this.gastoService = gastoService;
+        this.gastoRepository = gastoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.exportacoesEmAndamento = new Semaphore(maxSimultaneas);
+        this.maxPorUsuario = maxPorUsuario;
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    /**
+     * Resolve o usuário e o filtro na thread da requisição e devolve o corpo da
+     * resposta, que é escrito depois, fora dela. As vagas da exportação são
+     * reservadas aqui e liberadas quando a escrita termina.
+     */
+    public StreamingResponseBody exportar(GastoFilterDTO filter, FormatoExportacao formato) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.info("Exportando gastos do usuário: {} em {} com filtros: {}", usuario.getEmail(), formato, filter);
+
+        Specification<Gasto> specification = gastoService.especificacao(usuario.getId(), filter);
+        Sort.Direction direcao = "ASC".equalsIgnoreCase(filter.getDirecao()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort ordenacao = Sort.by(direcao, filter.getOrdenarPor(), "id");
+
+        Runnable liberar = reservar(usuario);
+        return saida -> {
+            try {
+                long linhas = transactionTemplate.execute(status -> {
+                    try (Stream<Gasto> gastos = gastoRepository.percorrer(specification, ordenacao)) {
+                        return escrever(gastos.iterator(), formato, saida);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                log.info("Exportação do usuário: {} concluída com {} gastos", usuario.getEmail(), linhas);
+            } catch (UncheckedIOException e) {
+                // Normalmente o cliente desistiu do download; a resposta já começou, então só resta encerrar
+                log.warn("Exportação do usuário: {} interrompida: {}", usuario.getEmail(), e.getCause().getMessage());
+                throw e.getCause();
+            } finally {
+                liberar.run();
+            }
+        };
+    }
+
+    private Runnable reservar(UsuarioAutenticado usuario) {
+        Long usuarioId = usuario.getId();
+        boolean[] reservada = new boolean[1];
+        exportacoesPorUsuario.compute(usuarioId, (id, emAndamento) -> {
+            int atual = emAndamento == null ? 0 : emAndamento;
+            if (atual >= maxPorUsuario) {
+                return emAndamento;
+            }
+            reservada[0] = true;
+            return atual + 1;
+        });
+        if (!reservada[0]) {
+            log.warn("Exportação do usuário: {} recusada: já há {} em andamento", usuario.getEmail(), maxPorUsuario);
+            throw new LimiteExcedidoException(
+                "Já existe uma exportação em andamento. Aguarde ela terminar", RETRY_AFTER_SEGUNDOS);
+        }
+        if (!exportacoesEmAndamento.tryAcquire()) {
+            liberarDoUsuario(usuarioId);
+            log.warn("Exportação do usuário: {} recusada: limite de exportações simultâneas atingido", usuario.getEmail());
+            throw new ServicoSobrecarregadoException(
+                "Muitas exportações simultâneas. Tente novamente em instantes", RETRY_AFTER_SEGUNDOS);
+        }
+        return () -> {
+            exportacoesEmAndamento.release();
+            liberarDoUsuario(usuarioId);
+        };
+    }
+
+    private void liberarDoUsuario(Long usuarioId) {
+        exportacoesPorUsuario.computeIfPresent(usuarioId, (id, emAndamento) -> emAndamento > 1 ? emAndamento - 1 : null);
+    }
+
+    private long escrever(Iterator<Gasto> gastos, FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        JsonGenerator json = null;
+        if (formato == FormatoExportacao.CSV) {
+            writer.write("id,dataGasto,descricao,valor,categoriaId,categoria,observacao\r\n");
+        } else {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        long linhas = 0;
+        while (gastos.hasNext()) {
+            LinhaExportacao linha = LinhaExportacao.de(gastos.next());
+            if (json != null) {
+                json.writeObject(linha);
+                json.flush();
+                writer.write('\n');
+            } else {
+                escreverCsv(writer, linha);
+            }
+
+            if (++linhas % LINHAS_POR_LOTE == 0) {
+                // Descarta as entidades já escritas e envia o lote ao cliente
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return linhas;
+    }
+
+    private static void escreverCsv(Writer writer, LinhaExportacao linha) throws IOException {
+        writer.write(String.valueOf(linha.id()));
+        writer.write(',');
+        writer.write(linha.dataGasto().toString());
+        writer.write(',');
+        writer.write(campoCsv(linha.descricao()));
+        writer.write(',');
+        writer.write(linha.valor().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(linha.categoriaId()));
+        writer.write(',');
+        writer.write(campoCsv(linha.categoria()));
+        writer.write(',');
+        writer.write(campoCsv(linha.observacao()));
+        writer.write("\r\n");
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private record LinhaExportacao(Long id, LocalDate dataGasto, String descricao, BigDecimal valor,
+                                   Long categoriaId, String categoria, String observacao) {
+
+        static LinhaExportacao de(Gasto gasto) {
+            return new LinhaExportacao(gasto.getId(), gasto.getDataGasto(), gasto.getDescricao(), gasto.getValor(),
+                gasto.getCategoria().getId(), gasto.getCategoria().getNome(), gasto.getObservacao());
+        }
+    }
+}
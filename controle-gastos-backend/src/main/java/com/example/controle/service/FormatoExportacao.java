@@ -0,0 +1,41 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.BusinessException;
+
+/**
+ * Formatos da exportação de gastos. Ambos são escritos linha a linha, sem
+ * montar o arquivo em memória.
+ */
+public enum FormatoExportacao {
+
+    /** Valores separados por vírgula, com cabeçalho e aspas conforme a RFC 4180. */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /** Um objeto JSON por linha. */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String valor) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new BusinessException("Formato de exportação inválido: " + valor + " (use csv ou ndjson)");
+    }
+}
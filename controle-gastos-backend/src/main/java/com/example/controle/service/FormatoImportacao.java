@@ -0,0 +1,24 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.BusinessException;
+
+/**
+ * Formatos aceitos pela importação de gastos.
+ */
+public enum FormatoImportacao {
+
+    /** Planilha com cabeçalho; o mesmo formato gerado pela exportação em CSV. */
+    CSV,
+
+    /** Extrato bancário (Open Financial Exchange); apenas os débitos são importados. */
+    OFX;
+
+    public static FormatoImportacao de(String valor) {
+        for (FormatoImportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new BusinessException("Formato de importação inválido: " + valor + " (use csv ou ofx)");
+    }
+}
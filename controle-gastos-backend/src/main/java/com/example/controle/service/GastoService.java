@@ -2,52 +2,102 @@ package com.example.controle.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.controle.busca.IndiceTextoGastos;
+import com.example.controle.busca.SugestoesDescricao;
+import com.example.controle.cache.ContagemCache;
+import com.example.controle.cache.SugestoesCache;
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.exception.BusinessException;
 import com.example.controle.exception.ResourceNotFoundException;
 import com.example.controle.mapper.GastoMapper;
 import com.example.controle.model.dto.GastoFilterDTO;
 import com.example.controle.model.dto.GastoRequestDTO;
 import com.example.controle.model.dto.GastoResponseDTO;
+import com.example.controle.model.dto.PaginaCursorDTO;
+import com.example.controle.model.dto.SugestaoDescricaoDTO;
 import com.example.controle.model.entity.Categoria;
 import com.example.controle.model.entity.Gasto;
-import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
 import com.example.controle.repository.GastoRepository;
 import com.example.controle.repository.GastoSpecification;
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.example.controle.util.TextoUtil;
 
 @Service
 public class GastoService {
 
     private static final Logger log = LoggerFactory.getLogger(GastoService.class);
+    private static final int TAMANHO_MAXIMO_PAGINA_CURSOR = 100;
+    private static final int MAX_SUGESTOES = 20;
 
     private final GastoRepository gastoRepository;
     private final GastoMapper gastoMapper;
     private final CategoriaService categoriaService;
+    private final ResumoGastoService resumoGastoService;
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final ContagemCache contagemCache;
+    private final IndiceTextoGastos indiceTextoGastos;
+    private final SugestoesCache sugestoesCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsuarioRepository usuarioRepository;
+    private final CategoriaRepository categoriaRepository;
+
+    @Value("${resumos.leitura.habilitada:false}")
+    private boolean leituraResumosHabilitada;
 
     public GastoService(GastoRepository gastoRepository,
                        GastoMapper gastoMapper,
-                       CategoriaService categoriaService) {
+                       CategoriaService categoriaService,
+                       ResumoGastoService resumoGastoService,
+                       ResumoDiarioRepository resumoDiarioRepository,
+                       ContagemCache contagemCache,
+                       IndiceTextoGastos indiceTextoGastos,
+                       SugestoesCache sugestoesCache,
+                       ApplicationEventPublisher eventPublisher,
+                       UsuarioRepository usuarioRepository,
+                       CategoriaRepository categoriaRepository) {
         this.gastoRepository = gastoRepository;
         this.gastoMapper = gastoMapper;
         this.categoriaService = categoriaService;
+        this.resumoGastoService = resumoGastoService;
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.contagemCache = contagemCache;
+        this.indiceTextoGastos = indiceTextoGastos;
+        this.sugestoesCache = sugestoesCache;
+        this.eventPublisher = eventPublisher;
+        this.usuarioRepository = usuarioRepository;
+        this.categoriaRepository = categoriaRepository;
     }
 
-    private Usuario getUsuarioLogado() {
+    private UsuarioAutenticado getUsuarioLogado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (Usuario) authentication.getPrincipal();
+        return (UsuarioAutenticado) authentication.getPrincipal();
     }
 
     @Transactional(readOnly = true)
     public Page<GastoResponseDTO> listarTodos(Pageable pageable) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Listando gastos do usuário: {}", usuario.getEmail());
         
         Page<Gasto> gastos = gastoRepository.findByUsuarioId(usuario.getId(), pageable);
@@ -56,34 +106,165 @@ public class GastoService {
 
     @Transactional(readOnly = true)
     public Page<GastoResponseDTO> filtrar(GastoFilterDTO filter, Pageable pageable) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Filtrando gastos do usuário: {} com filtros: {}", usuario.getEmail(), filter);
         
-        Page<Gasto> gastos = gastoRepository.findAll(
-            GastoSpecification.comFiltros(usuario.getId(), filter),
-            pageable
-        );
+        Page<Gasto> gastos = gastoRepository.findAll(especificacao(usuario.getId(), filter), pageable);
         return gastos.map(gastoMapper::toResponseDTO);
     }
 
+    /**
+     * Lista uma página por offset com a estratégia de contagem escolhida. Com
+     * {@link EstrategiaContagem#NENHUMA} o retorno é um {@link Slice} sem total;
+     * com {@link EstrategiaContagem#CACHE} o total vem do {@link ContagemCache} e
+     * pode ficar defasado apenas até a próxima escrita do usuário.
+     */
+    @Transactional(readOnly = true)
+    public Slice<GastoResponseDTO> listarPagina(GastoFilterDTO filter, Pageable pageable, EstrategiaContagem contagem) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.debug("Listando página {} de gastos do usuário: {} com contagem {} e filtros: {}",
+            pageable.getPageNumber(), usuario.getEmail(), contagem, filter);
+
+        Specification<Gasto> specification = especificacao(usuario.getId(), filter);
+
+        if (contagem == EstrategiaContagem.EXATA) {
+            return gastoRepository.findAll(specification, pageable).map(gastoMapper::toResponseDTO);
+        }
+
+        // Antes da primeira consulta: ver ContagemCache
+        ContagemCache.Contagens contagens = contagem == EstrategiaContagem.CACHE
+            ? contagemCache.abrir(usuario.getId())
+            : null;
+
+        Slice<Gasto> fatia = gastoRepository.buscarFatia(specification, pageable);
+        if (contagens == null) {
+            return fatia.map(gastoMapper::toResponseDTO);
+        }
+
+        long total = contagens.obter(chaveContagem(filter), () -> gastoRepository.count(specification));
+        return new PageImpl<>(fatia.getContent(), pageable, total).map(gastoMapper::toResponseDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<GastoResponseDTO> buscarPorCategoria(Long categoriaId, Pageable pageable, EstrategiaContagem contagem) {
+        categoriaService.buscarEntidadePorId(categoriaId);
+
+        GastoFilterDTO filter = new GastoFilterDTO();
+        filter.setCategoriaId(categoriaId);
+        return listarPagina(filter, pageable, contagem);
+    }
+
+    /**
+     * Monta a especificação do filtro. Havendo texto e índice disponível, a busca
+     * textual (descrição e observação) é resolvida no índice e chega ao banco como
+     * uma lista de ids, que os demais critérios filtram e paginam.
+     */
+    Specification<Gasto> especificacao(Long usuarioId, GastoFilterDTO filter) {
+        if (filter.getDescricao() == null || filter.getDescricao().isBlank() || filter.isBuscaPorPrefixo()) {
+            return GastoSpecification.comFiltros(usuarioId, filter);
+        }
+        List<Long> idsTexto = indiceTextoGastos.buscar(usuarioId, filter.getDescricao()).orElse(null);
+        return GastoSpecification.comFiltros(usuarioId, filter, idsTexto);
+    }
+
+    /**
+     * Chave do filtro para o cache de contagem: apenas os critérios que mudam o
+     * total, normalizados para que filtros equivalentes compartilhem a entrada.
+     */
+    private static String chaveContagem(GastoFilterDTO filter) {
+        String descricao = filter.getDescricao() != null && !filter.getDescricao().isEmpty()
+            ? (filter.isBuscaPorPrefixo() ? "prefixo:" + TextoUtil.normalizar(filter.getDescricao()) : filter.getDescricao().toLowerCase())
+            : "";
+        return String.join("|",
+            descricao,
+            String.valueOf(filter.getCategoriaId()),
+            String.valueOf(filter.getDataInicio()),
+            String.valueOf(filter.getDataFim()),
+            filter.getValorMinimo() != null ? filter.getValorMinimo().stripTrailingZeros().toPlainString() : "null",
+            filter.getValorMaximo() != null ? filter.getValorMaximo().stripTrailingZeros().toPlainString() : "null");
+    }
+
+    /**
+     * Lista os gastos que passam no filtro a partir da posição do cursor, em ordem
+     * de (dataGasto, id). Cada página é uma busca por faixa em {@code idx_usuario_data}
+     * a partir da última linha entregue, então o custo não cresce com a profundidade.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<GastoResponseDTO> listarComCursor(GastoFilterDTO filter, String cursor, int tamanho) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.debug("Listando gastos por cursor do usuário: {} com filtros: {}", usuario.getEmail(), filter);
+
+        if (!"dataGasto".equals(filter.getOrdenarPor())) {
+            throw new BusinessException("A paginação por cursor só suporta ordenação por dataGasto");
+        }
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA_CURSOR) {
+            throw new BusinessException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA_CURSOR);
+        }
+
+        boolean ascendente = "ASC".equalsIgnoreCase(filter.getDirecao());
+        Sort ordenacao = Sort.by(ascendente ? Sort.Direction.ASC : Sort.Direction.DESC, "dataGasto", "id");
+
+        Specification<Gasto> specification = especificacao(usuario.getId(), filter);
+        if (cursor != null && !cursor.isBlank()) {
+            CursorGasto posicao = CursorGasto.decodificar(cursor);
+            if (posicao.ascendente() != ascendente) {
+                throw new BusinessException("O cursor foi gerado para a outra direção de ordenação");
+            }
+            specification = specification.and(
+                GastoSpecification.aposPosicao(posicao.dataGasto(), posicao.id(), ascendente)
+            );
+        }
+
+        // A posição fica no WHERE, então a leitura é sempre a primeira "fatia"
+        Slice<Gasto> fatia = gastoRepository.buscarFatia(specification, PageRequest.of(0, tamanho, ordenacao));
+
+        List<Gasto> gastos = fatia.getContent();
+        String proximoCursor = fatia.hasNext() ? CursorGasto.de(gastos.get(gastos.size() - 1), ascendente).codificar() : null;
+        return new PaginaCursorDTO<>(gastoMapper.toResponseDTOList(gastos), proximoCursor, fatia.hasNext());
+    }
+
+    /**
+     * Descrições já usadas pelo usuário que começam pelo prefixo, das mais usadas
+     * para as menos usadas. Só o primeiro acesso do usuário (ou o primeiro após a
+     * saída do cache) consulta o banco; por isso o método não abre transação, que
+     * reservaria uma conexão a cada tecla digitada.
+     */
+    public List<SugestaoDescricaoDTO> sugerirDescricoes(String prefixo, int limite) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+
+        if (limite < 1 || limite > MAX_SUGESTOES) {
+            throw new BusinessException("O limite de sugestões deve estar entre 1 e " + MAX_SUGESTOES);
+        }
+
+        SugestoesDescricao sugestoes = sugestoesCache.obter(usuario.getId(), () -> {
+            log.debug("Carregando sugestões de descrição do usuário: {}", usuario.getEmail());
+            SugestoesDescricao carregadas = new SugestoesDescricao();
+            for (Object[] linha : gastoRepository.contarPorDescricao(usuario.getId())) {
+                carregadas.adicionar((String) linha[0], (Long) linha[1]);
+            }
+            return carregadas;
+        });
+
+        return sugestoes.buscar(prefixo != null ? prefixo : "", limite).stream()
+            .map(sugestao -> new SugestaoDescricaoDTO(sugestao.getDescricao(), sugestao.getQuantidade()))
+            .toList();
+    }
+
     @Transactional(readOnly = true)
     public GastoResponseDTO buscarPorId(Long id) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Buscando gasto ID: {} do usuário: {}", id, usuario.getEmail());
         
-        Gasto gasto = gastoRepository.findById(id)
+        // A posse é verificada no próprio WHERE: gasto de outro usuário não é encontrado
+        Gasto gasto = gastoRepository.findByIdAndUsuarioId(id, usuario.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Gasto", "id", id));
         
-        if (!gasto.getUsuario().getId().equals(usuario.getId())) {
-            throw new ResourceNotFoundException("Gasto", "id", id);
-        }
-        
         return gastoMapper.toResponseDTO(gasto);
     }
 
     @Transactional(readOnly = true)
     public Page<GastoResponseDTO> buscarPorCategoria(Long categoriaId, Pageable pageable) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Buscando gastos da categoria: {} do usuário: {}", categoriaId, usuario.getEmail());
         
         categoriaService.buscarEntidadePorId(categoriaId);
@@ -93,9 +274,18 @@ public class GastoService {
         return gastos.map(gastoMapper::toResponseDTO);
     }
 
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<GastoResponseDTO> buscarPorCategoriaComCursor(Long categoriaId, String cursor, int tamanho) {
+        categoriaService.buscarEntidadePorId(categoriaId);
+
+        GastoFilterDTO filter = new GastoFilterDTO();
+        filter.setCategoriaId(categoriaId);
+        return listarComCursor(filter, cursor, tamanho);
+    }
+
     @Transactional(readOnly = true)
     public Page<GastoResponseDTO> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim, Pageable pageable) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Buscando gastos entre {} e {} do usuário: {}", dataInicio, dataFim, usuario.getEmail());
         
         Page<Gasto> gastos = gastoRepository.findByUsuarioAndPeriodo(
@@ -106,36 +296,43 @@ public class GastoService {
 
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.debug("Calculando total entre {} e {} do usuário: {}", dataInicio, dataFim, usuario.getEmail());
         
-        BigDecimal total = gastoRepository.somarGastosPorUsuarioEPeriodo(
-            usuario.getId(), dataInicio, dataFim
-        );
+        BigDecimal total = leituraResumosHabilitada
+            ? resumoDiarioRepository.somarPorUsuarioEPeriodo(usuario.getId(), dataInicio, dataFim)
+            : gastoRepository.somarGastosPorUsuarioEPeriodo(usuario.getId(), dataInicio, dataFim);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     @Transactional(readOnly = true)
     public Long contarGastosPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
-        Usuario usuario = getUsuarioLogado();
-        Long count = gastoRepository.contarGastosPorUsuarioEPeriodo(
-            usuario.getId(), dataInicio, dataFim
-        );
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        Long count = leituraResumosHabilitada
+            ? resumoDiarioRepository.contarPorUsuarioEPeriodo(usuario.getId(), dataInicio, dataFim)
+            : gastoRepository.contarGastosPorUsuarioEPeriodo(usuario.getId(), dataInicio, dataFim);
         return count != null ? count : 0L;
     }
 
     @Transactional
     public GastoResponseDTO criar(GastoRequestDTO requestDTO) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.info("Criando novo gasto para usuário: {}", usuario.getEmail());
         
         Categoria categoria = categoriaService.buscarEntidadePorId(requestDTO.getCategoriaId());
 
         Gasto gasto = gastoMapper.toEntity(requestDTO);
         gasto.setCategoria(categoria);
-        gasto.setUsuario(usuario);
+        gasto.setUsuario(usuarioRepository.getReferenceById(usuario.getId()));
 
         Gasto gastoSalvo = gastoRepository.save(gasto);
+        resumoGastoService.registrar(
+            usuario.getId(), categoria.getId(), gastoSalvo.getDataGasto(), gastoSalvo.getValor(), 1
+        );
+        eventPublisher.publishEvent(new GastoAlteradoEvent(
+            usuario.getId(), gastoSalvo.getId(), null, gastoSalvo.getDataGasto(),
+            null, gastoSalvo.getDescricao(), gastoSalvo.getObservacao()
+        ));
         log.info("Gasto criado com ID: {}", gastoSalvo.getId());
         
         return gastoMapper.toResponseDTO(gastoSalvo);
@@ -143,40 +340,78 @@ public class GastoService {
 
     @Transactional
     public GastoResponseDTO atualizar(Long id, GastoRequestDTO requestDTO) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.info("Atualizando gasto ID: {} do usuário: {}", id, usuario.getEmail());
         
-        Gasto gasto = gastoRepository.findById(id)
+        Gasto gasto = gastoRepository.findParaAlteracao(id, usuario.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Gasto", "id", id));
 
-        if (!gasto.getUsuario().getId().equals(usuario.getId())) {
-            throw new ResourceNotFoundException("Gasto", "id", id);
-        }
+        Long categoriaAnteriorId = gasto.getCategoria().getId();
+        LocalDate dataAnterior = gasto.getDataGasto();
+        BigDecimal valorAnterior = gasto.getValor();
+        String descricaoAnterior = gasto.getDescricao();
 
-        Categoria categoria = categoriaService.buscarEntidadePorId(requestDTO.getCategoriaId());
+        // A nova categoria não é lida antes do UPDATE: a chave estrangeira recusa um id inexistente
+        boolean categoriaAlterada = !categoriaAnteriorId.equals(requestDTO.getCategoriaId());
+        Categoria categoria = categoriaAlterada
+                ? categoriaRepository.getReferenceById(requestDTO.getCategoriaId())
+                : gasto.getCategoria();
 
         gastoMapper.updateEntityFromDTO(requestDTO, gasto);
         gasto.setCategoria(categoria);
 
-        Gasto gastoAtualizado = gastoRepository.save(gasto);
+        // A linha já está bloqueada: um UPDATE só das colunas editáveis, restrito ao dono
+        int atualizados;
+        try {
+            atualizados = gastoRepository.atualizarCampos(gasto, usuario.getId());
+        } catch (DataIntegrityViolationException e) {
+            if (!categoriaAlterada) {
+                throw e;
+            }
+            throw new ResourceNotFoundException("Categoria", "id", requestDTO.getCategoriaId());
+        }
+        if (atualizados == 0) {
+            throw new ResourceNotFoundException("Gasto", "id", id);
+        }
+
+        if (categoriaAlterada
+                || !dataAnterior.equals(gasto.getDataGasto())
+                || valorAnterior.compareTo(gasto.getValor()) != 0) {
+            resumoGastoService.registrar(
+                usuario.getId(), categoriaAnteriorId, dataAnterior, valorAnterior.negate(), -1
+            );
+            resumoGastoService.registrar(
+                usuario.getId(), categoria.getId(), gasto.getDataGasto(), gasto.getValor(), 1
+            );
+        }
+        eventPublisher.publishEvent(new GastoAlteradoEvent(
+            usuario.getId(), id, dataAnterior, gasto.getDataGasto(),
+            descricaoAnterior, gasto.getDescricao(), gasto.getObservacao()
+        ));
         log.info("Gasto atualizado: {}", id);
         
-        return gastoMapper.toResponseDTO(gastoAtualizado);
+        return gastoMapper.toResponseDTO(gasto);
     }
 
     @Transactional
     public void deletar(Long id) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.info("Deletando gasto ID: {} do usuário: {}", id, usuario.getEmail());
         
-        Gasto gasto = gastoRepository.findById(id)
+        // Os valores anteriores ainda são necessários para os resumos, então a linha é
+        // lida com bloqueio e removida por um DELETE restrito ao usuário
+        Gasto gasto = gastoRepository.findParaAlteracao(id, usuario.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Gasto", "id", id));
 
-        if (!gasto.getUsuario().getId().equals(usuario.getId())) {
+        if (gastoRepository.deletarPorIdEUsuario(id, usuario.getId()) == 0) {
             throw new ResourceNotFoundException("Gasto", "id", id);
         }
-
-        gastoRepository.delete(gasto);
+        resumoGastoService.registrar(
+            usuario.getId(), gasto.getCategoria().getId(), gasto.getDataGasto(), gasto.getValor().negate(), -1
+        );
+        eventPublisher.publishEvent(new GastoAlteradoEvent(
+            usuario.getId(), id, gasto.getDataGasto(), null, gasto.getDescricao(), null, null
+        ));
         log.info("Gasto deletado: {}", id);
     }
 }
@@ -0,0 +1,259 @@
+package com.example.controle.service;
+
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.exception.BusinessException;
+import com.example.controle.importacao.LeitorCsv;
+import com.example.controle.importacao.LeitorExtrato;
+import com.example.controle.importacao.LeitorOfx;
+import com.example.controle.importacao.LinhaExtrato;
+import com.example.controle.model.dto.GastoRequestDTO;
+import com.example.controle.model.dto.ImportacaoResultadoDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.example.controle.util.TextoUtil;
+import com.example.controle.util.ValidacaoUtil;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em lote de gastos a partir de CSV ou OFX. O arquivo é lido em
+ * streaming; as linhas válidas são gravadas por INSERT em lote via JDBC, um bloco
+ * por transação, com os resumos do bloco acumulados por (categoria, dia). Linhas
+ * inválidas não interrompem a importação: são relatadas no resultado. Uma falha
+ * do banco ao gravar um bloco interrompe a importação, que retorna o resultado
+ * parcial.
+ */
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+    private static final int MAX_ERROS_DETALHADOS = 100;
+
+    private final CategoriaRepository categoriaRepository;
+    private final GastoRepository gastoRepository;
+    private final ResumoGastoService resumoGastoService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${gastos.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    public ImportacaoService(CategoriaRepository categoriaRepository,
+                             GastoRepository gastoRepository,
+                             ResumoGastoService resumoGastoService,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             UsuarioRepository usuarioRepository) {
+        this.categoriaRepository = categoriaRepository;
+        this.gastoRepository = gastoRepository;
+        this.resumoGastoService = resumoGastoService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    /**
+     * Importa o arquivo para o usuário logado. Linhas sem categoria (e todas as
+     * de OFX) usam {@code categoriaPadraoId}. Se um bloco falhar no banco, a
+     * leitura para ali: os blocos já gravados permanecem e o resultado, marcado
+     * como interrompido, traz as linhas do bloco que falhou.
+     */
+    public ImportacaoResultadoDTO importar(InputStream arquivo, FormatoImportacao formato,
+                                           Long categoriaPadraoId, Charset charset) throws IOException {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        log.info("Iniciando importação {} para usuário: {}", formato, usuario.getEmail());
+
+        // Categorias são poucas e compartilhadas: um único SELECT resolve todas as linhas
+        Map<String, Long> categoriasPorNome = new HashMap<>();
+        Map<Long, Categoria> categorias = new HashMap<>();
+        for (Categoria categoria : categoriaRepository.findAll()) {
+            categoriasPorNome.put(TextoUtil.normalizar(categoria.getNome()), categoria.getId());
+            categorias.put(categoria.getId(), categoria);
+        }
+        if (categoriaPadraoId != null && !categorias.containsKey(categoriaPadraoId)) {
+            throw new BusinessException("Categoria padrão não encontrada: " + categoriaPadraoId);
+        }
+        if (formato == FormatoImportacao.OFX && categoriaPadraoId == null) {
+            throw new BusinessException("Informe a categoria padrão para importar extratos OFX");
+        }
+
+        ImportacaoResultadoDTO resultado = new ImportacaoResultadoDTO();
+        long inicio = System.nanoTime();
+        // Referência sem SELECT: a inserção em lote só usa o id do usuário
+        Usuario dono = usuarioRepository.getReferenceById(usuario.getId());
+        List<Gasto> lote = new ArrayList<>(tamanhoLote);
+        long primeiraLinhaLote = 0;
+        long ultimaLinhaLote = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(arquivo, charset), 64 * 1024);
+        try (LeitorExtrato leitor = formato == FormatoImportacao.CSV ? new LeitorCsv(reader) : new LeitorOfx(reader)) {
+            LinhaExtrato linha;
+            while ((linha = leitor.proxima()) != null) {
+                resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+
+                String erro = linha.erro();
+                GastoRequestDTO gasto = null;
+                if (erro == null) {
+                    gasto = converter(linha, categoriasPorNome, categorias.keySet(), categoriaPadraoId);
+                    erro = gasto == null ? "Categoria não encontrada: " + descreverCategoria(linha) : validar(gasto);
+                }
+                if (erro != null) {
+                    registrarErro(resultado, linha.numero(), erro);
+                    continue;
+                }
+
+                Gasto novo = new Gasto(gasto.getDescricao(), gasto.getValor(), categorias.get(gasto.getCategoriaId()), dono);
+                novo.setDataGasto(gasto.getDataGasto());
+                novo.setObservacao(gasto.getObservacao());
+                if (lote.isEmpty()) {
+                    primeiraLinhaLote = linha.numero();
+                }
+                lote.add(novo);
+                ultimaLinhaLote = linha.numero();
+                if (lote.size() == tamanhoLote) {
+                    if (!gravarLote(usuario, lote, primeiraLinhaLote, ultimaLinhaLote, resultado)) {
+                        break;
+                    }
+                    lote.clear();
+                }
+            }
+            if (!resultado.isInterrompida() && !lote.isEmpty()) {
+                gravarLote(usuario, lote, primeiraLinhaLote, ultimaLinhaLote, resultado);
+            }
+            resultado.setIgnorados(leitor.getIgnoradas());
+        }
+
+        long duracaoNanos = System.nanoTime() - inicio;
+        resultado.setDuracaoMs(duracaoNanos / 1_000_000);
+        resultado.setLinhasPorSegundo(duracaoNanos > 0 ? resultado.getLinhasLidas() * 1_000_000_000L / duracaoNanos : 0);
+        log.info("Importação do usuário: {} {}: {} linhas, {} importadas, {} com erro, {} linhas/s",
+            usuario.getEmail(), resultado.isInterrompida() ? "interrompida" : "concluída", resultado.getLinhasLidas(),
+            resultado.getImportados(), resultado.getLinhasComErro(), resultado.getLinhasPorSegundo());
+        return resultado;
+    }
+
+    private static GastoRequestDTO converter(LinhaExtrato linha, Map<String, Long> categoriasPorNome,
+                                             Set<Long> idsCategorias, Long categoriaPadraoId) {
+        Long categoriaId;
+        if (linha.categoriaId() != null) {
+            categoriaId = idsCategorias.contains(linha.categoriaId()) ? linha.categoriaId() : null;
+        } else if (linha.categoria() != null && !linha.categoria().isBlank()) {
+            categoriaId = categoriasPorNome.get(TextoUtil.normalizar(linha.categoria()));
+        } else {
+            categoriaId = categoriaPadraoId;
+        }
+        if (categoriaId == null) {
+            return null;
+        }
+
+        GastoRequestDTO gasto = new GastoRequestDTO();
+        gasto.setDescricao(linha.descricao() != null ? linha.descricao().trim() : null);
+        gasto.setValor(linha.valor());
+        gasto.setCategoriaId(categoriaId);
+        gasto.setDataGasto(linha.data());
+        gasto.setObservacao(linha.observacao() != null && !linha.observacao().isBlank() ? linha.observacao() : null);
+        return gasto;
+    }
+
+    private static String descreverCategoria(LinhaExtrato linha) {
+        return linha.categoriaId() != null ? "id " + linha.categoriaId()
+            : linha.categoria() != null && !linha.categoria().isBlank() ? linha.categoria() : "(nenhuma e sem categoria padrão)";
+    }
+
+    /** Mesmas regras do cadastro individual ({@link GastoRequestDTO}). */
+    private String validar(GastoRequestDTO gasto) {
+        return ValidacaoUtil.mensagem(validator.validate(gasto));
+    }
+
+    private static void registrarErro(ImportacaoResultadoDTO resultado, long linha, String mensagem) {
+        resultado.setLinhasComErro(resultado.getLinhasComErro() + 1);
+        if (resultado.getErros().size() < MAX_ERROS_DETALHADOS) {
+            resultado.getErros().add(new ImportacaoResultadoDTO.ErroLinhaDTO(linha, mensagem));
+        }
+    }
+
+    /**
+     * Grava o bloco e soma-o a {@code importados}. Se a transação falhar, nada do
+     * bloco fica gravado: o resultado é marcado como interrompido, com as linhas
+     * do bloco, e o retorno é {@code false}.
+     */
+    private boolean gravarLote(UsuarioAutenticado usuario, List<Gasto> lote, long primeiraLinha, long ultimaLinha,
+                               ImportacaoResultadoDTO resultado) {
+        try {
+            gravarLote(usuario.getId(), lote);
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Importação do usuário: {} interrompida no bloco das linhas {} a {}",
+                usuario.getEmail(), primeiraLinha, ultimaLinha, e);
+            resultado.setInterrompida(true);
+            resultado.setLinhaInicialFalha(primeiraLinha);
+            resultado.setLinhaFinalFalha(ultimaLinha);
+            return false;
+        }
+        resultado.setImportados(resultado.getImportados() + lote.size());
+        return true;
+    }
+
+    /**
+     * Grava um bloco em uma transação: um INSERT em lote (reescrito em um único
+     * INSERT de várias linhas pelo driver do MySQL com rewriteBatchedStatements),
+     * os resumos do bloco gravados também em lote e um único evento.
+     */
+    private void gravarLote(Long usuarioId, List<Gasto> lote) {
+        transactionTemplate.executeWithoutResult(status -> {
+            gastoRepository.inserirEmLote(lote);
+
+            List<ResumoGastoService.Acumulo> acumulos = new ArrayList<>(lote.size());
+            List<GastosImportadosEvent.GastoImportado> importados = new ArrayList<>(lote.size());
+            LocalDate dataInicio = null;
+            LocalDate dataFim = null;
+            for (Gasto gasto : lote) {
+                acumulos.add(new ResumoGastoService.Acumulo(
+                    gasto.getCategoria().getId(), gasto.getDataGasto(), gasto.getValor(), 1));
+                importados.add(new GastosImportadosEvent.GastoImportado(
+                    gasto.getId(), gasto.getDescricao(), gasto.getObservacao()));
+                dataInicio = dataInicio == null || gasto.getDataGasto().isBefore(dataInicio) ? gasto.getDataGasto() : dataInicio;
+                dataFim = dataFim == null || gasto.getDataGasto().isAfter(dataFim) ? gasto.getDataGasto() : dataFim;
+            }
+            resumoGastoService.registrarLote(usuarioId, acumulos);
+
+            eventPublisher.publishEvent(new GastosImportadosEvent(usuarioId, dataInicio, dataFim, importados));
+        });
+        log.debug("Bloco de {} gastos importado para usuário ID: {}", lote.size(), usuarioId);
+    }
+}
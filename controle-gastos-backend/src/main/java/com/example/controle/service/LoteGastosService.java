@@ -0,0 +1,285 @@
+package com.example.controle.service;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.exception.BusinessException;
+import com.example.controle.exception.ResourceNotFoundException;
+import com.example.controle.mapper.GastoMapper;
+import com.example.controle.model.dto.GastoRequestDTO;
+import com.example.controle.model.dto.LoteGastosRequestDTO;
+import com.example.controle.model.dto.LoteGastosResultadoDTO;
+import com.example.controle.model.dto.LoteGastosResultadoDTO.ResultadoOperacaoDTO;
+import com.example.controle.model.dto.OperacaoLoteDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.example.controle.util.ValidacaoUtil;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executa um lote de criações, atualizações e exclusões de gastos do usuário
+ * logado em uma única transação. Categorias e gastos alvo são lidos uma vez por
+ * lote; as atualizações saem em lote pelo Hibernate (hibernate.jdbc.batch_size),
+ * as exclusões em um único DELETE e as criações em um INSERT em lote via JDBC.
+ */
+@Service
+public class LoteGastosService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoteGastosService.class);
+
+    private final GastoRepository gastoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final GastoMapper gastoMapper;
+    private final ResumoGastoService resumoGastoService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${gastos.lote.max-operacoes:500}")
+    private int maxOperacoes;
+
+    public LoteGastosService(GastoRepository gastoRepository,
+                             CategoriaRepository categoriaRepository,
+                             GastoMapper gastoMapper,
+                             ResumoGastoService resumoGastoService,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             UsuarioRepository usuarioRepository) {
+        this.gastoRepository = gastoRepository;
+        this.categoriaRepository = categoriaRepository;
+        this.gastoMapper = gastoMapper;
+        this.resumoGastoService = resumoGastoService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    /**
+     * Valida todas as operações antes de gravar qualquer uma. Em um lote atômico,
+     * uma operação inválida faz o lote inteiro ser rejeitado sem alterações; caso
+     * contrário, as operações válidas são aplicadas e as inválidas relatadas.
+     * As operações valem na ordem enviada: uma operação sobre um gasto excluído
+     * antes no mesmo lote falha com 404.
+     */
+    @Transactional
+    public LoteGastosResultadoDTO executar(LoteGastosRequestDTO request) {
+        UsuarioAutenticado usuario = getUsuarioLogado();
+        List<OperacaoLoteDTO> operacoes = request.getOperacoes();
+        if (operacoes.size() > maxOperacoes) {
+            throw new BusinessException("O lote deve ter no máximo " + maxOperacoes + " operações");
+        }
+        log.info("Executando lote de {} operações para usuário: {}", operacoes.size(), usuario.getEmail());
+
+        List<ResultadoOperacaoDTO> resultados = new ArrayList<>(operacoes.size());
+        Set<Long> idsCategorias = new HashSet<>();
+        Set<Long> idsGastos = new LinkedHashSet<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            if (operacao == null) {
+                // Elemento null no JSON: relatado como as demais operações inválidas
+                ResultadoOperacaoDTO resultado = new ResultadoOperacaoDTO(i, null, null);
+                resultados.add(resultado);
+                falhar(resultado, HttpStatus.BAD_REQUEST, "Operação não informada");
+                continue;
+            }
+            ResultadoOperacaoDTO resultado = new ResultadoOperacaoDTO(i, operacao.getTipo(), operacao.getId());
+            resultados.add(resultado);
+
+            String erro = validar(operacao);
+            if (erro != null) {
+                falhar(resultado, HttpStatus.BAD_REQUEST, erro);
+                continue;
+            }
+            if (operacao.getTipo() != OperacaoLoteDTO.Tipo.DELETAR) {
+                idsCategorias.add(operacao.getGasto().getCategoriaId());
+            }
+            if (operacao.getTipo() != OperacaoLoteDTO.Tipo.CRIAR) {
+                idsGastos.add(operacao.getId());
+            }
+        }
+
+        // Uma leitura para todas as categorias e uma (com bloqueio) para todos os gastos alvo
+        Map<Long, Categoria> categorias = new HashMap<>();
+        if (!idsCategorias.isEmpty()) {
+            categoriaRepository.findAllById(idsCategorias).forEach(categoria -> categorias.put(categoria.getId(), categoria));
+        }
+        Map<Long, Gasto> gastos = new HashMap<>();
+        if (!idsGastos.isEmpty()) {
+            gastoRepository.findTodosParaAlteracao(idsGastos, usuario.getId()).forEach(gasto -> gastos.put(gasto.getId(), gasto));
+        }
+
+        Set<Long> idsExcluidos = new HashSet<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            ResultadoOperacaoDTO resultado = resultados.get(i);
+            if (resultado.getStatus() != 0) {
+                continue;
+            }
+            if (operacao.getTipo() != OperacaoLoteDTO.Tipo.DELETAR
+                    && !categorias.containsKey(operacao.getGasto().getCategoriaId())) {
+                falhar(resultado, HttpStatus.NOT_FOUND,
+                    new ResourceNotFoundException("Categoria", "id", operacao.getGasto().getCategoriaId()).getMessage());
+            } else if (operacao.getTipo() != OperacaoLoteDTO.Tipo.CRIAR
+                    && (!gastos.containsKey(operacao.getId()) || idsExcluidos.contains(operacao.getId()))) {
+                falhar(resultado, HttpStatus.NOT_FOUND, new ResourceNotFoundException("Gasto", "id", operacao.getId()).getMessage());
+            } else if (operacao.getTipo() == OperacaoLoteDTO.Tipo.DELETAR) {
+                idsExcluidos.add(operacao.getId());
+            }
+        }
+
+        LoteGastosResultadoDTO lote = new LoteGastosResultadoDTO();
+        lote.setResultados(resultados);
+        lote.setFalhas((int) resultados.stream().filter(resultado -> resultado.getStatus() != 0).count());
+        if (request.isAtomico() && lote.getFalhas() > 0) {
+            resultados.stream()
+                .filter(resultado -> resultado.getStatus() == 0)
+                .forEach(resultado -> falhar(resultado, HttpStatus.FAILED_DEPENDENCY,
+                    "Não aplicada: o lote tem operações inválidas"));
+            log.info("Lote rejeitado para usuário: {}: {} operações inválidas", usuario.getEmail(), lote.getFalhas());
+            return lote;
+        }
+
+        aplicar(usuario, operacoes, resultados, categorias, gastos);
+
+        lote.setAplicado(true);
+        lote.setSucessos(operacoes.size() - lote.getFalhas());
+        log.info("Lote aplicado para usuário: {}: {} operações, {} com falha",
+            usuario.getEmail(), operacoes.size(), lote.getFalhas());
+        return lote;
+    }
+
+    private void aplicar(UsuarioAutenticado usuario, List<OperacaoLoteDTO> operacoes, List<ResultadoOperacaoDTO> resultados,
+                         Map<Long, Categoria> categorias, Map<Long, Gasto> gastos) {
+        List<ResumoGastoService.Acumulo> acumulos = new ArrayList<>();
+        List<GastoAlteradoEvent> eventos = new ArrayList<>();
+        Set<Long> idsExcluidos = new LinkedHashSet<>();
+        List<Gasto> novos = new ArrayList<>();
+        List<ResultadoOperacaoDTO> resultadosNovos = new ArrayList<>();
+        Map<ResultadoOperacaoDTO, Gasto> atualizados = new HashMap<>();
+        // Referência sem SELECT: a inserção em lote só usa o id do usuário
+        Usuario dono = usuarioRepository.getReferenceById(usuario.getId());
+
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            ResultadoOperacaoDTO resultado = resultados.get(i);
+            if (resultado.getStatus() != 0) {
+                continue;
+            }
+
+            if (operacao.getTipo() == OperacaoLoteDTO.Tipo.CRIAR) {
+                Gasto gasto = gastoMapper.toEntity(operacao.getGasto());
+                gasto.setCategoria(categorias.get(operacao.getGasto().getCategoriaId()));
+                gasto.setUsuario(dono);
+                novos.add(gasto);
+                resultadosNovos.add(resultado);
+                continue;
+            }
+
+            Gasto gasto = gastos.get(operacao.getId());
+            LocalDate dataAnterior = gasto.getDataGasto();
+            String descricaoAnterior = gasto.getDescricao();
+            acumulos.add(new ResumoGastoService.Acumulo(
+                gasto.getCategoria().getId(), dataAnterior, gasto.getValor().negate(), -1));
+
+            if (operacao.getTipo() == OperacaoLoteDTO.Tipo.DELETAR) {
+                idsExcluidos.add(gasto.getId());
+                eventos.add(new GastoAlteradoEvent(
+                    usuario.getId(), gasto.getId(), dataAnterior, null, descricaoAnterior, null, null));
+                resultado.setStatus(HttpStatus.NO_CONTENT.value());
+            } else {
+                // Entidade gerenciada: o UPDATE sai no flush, agrupado com os demais
+                gastoMapper.updateEntityFromDTO(operacao.getGasto(), gasto);
+                gasto.setCategoria(categorias.get(operacao.getGasto().getCategoriaId()));
+                acumulos.add(new ResumoGastoService.Acumulo(
+                    gasto.getCategoria().getId(), gasto.getDataGasto(), gasto.getValor(), 1));
+                eventos.add(new GastoAlteradoEvent(
+                    usuario.getId(), gasto.getId(), dataAnterior, gasto.getDataGasto(),
+                    descricaoAnterior, gasto.getDescricao(), gasto.getObservacao()));
+                atualizados.put(resultado, gasto);
+                resultado.setStatus(HttpStatus.OK.value());
+            }
+        }
+
+        gastoRepository.flush();
+        if (!idsExcluidos.isEmpty()) {
+            gastoRepository.deletarPorIdsEUsuario(idsExcluidos, usuario.getId());
+        }
+        gastoRepository.inserirEmLote(novos);
+
+        LocalDate dataInicio = null;
+        LocalDate dataFim = null;
+        List<GastosImportadosEvent.GastoImportado> criados = new ArrayList<>(novos.size());
+        for (int i = 0; i < novos.size(); i++) {
+            Gasto gasto = novos.get(i);
+            acumulos.add(new ResumoGastoService.Acumulo(gasto.getCategoria().getId(), gasto.getDataGasto(), gasto.getValor(), 1));
+            criados.add(new GastosImportadosEvent.GastoImportado(gasto.getId(), gasto.getDescricao(), gasto.getObservacao()));
+            dataInicio = dataInicio == null || gasto.getDataGasto().isBefore(dataInicio) ? gasto.getDataGasto() : dataInicio;
+            dataFim = dataFim == null || gasto.getDataGasto().isAfter(dataFim) ? gasto.getDataGasto() : dataFim;
+
+            ResultadoOperacaoDTO resultado = resultadosNovos.get(i);
+            resultado.setId(gasto.getId());
+            resultado.setStatus(HttpStatus.CREATED.value());
+            resultado.setGasto(gastoMapper.toResponseDTO(gasto));
+        }
+        atualizados.forEach((resultado, gasto) -> {
+            if (!idsExcluidos.contains(gasto.getId())) {
+                resultado.setGasto(gastoMapper.toResponseDTO(gasto));
+            }
+        });
+
+        resumoGastoService.registrarLote(usuario.getId(), acumulos);
+        eventos.forEach(eventPublisher::publishEvent);
+        if (!criados.isEmpty()) {
+            eventPublisher.publishEvent(new GastosImportadosEvent(usuario.getId(), dataInicio, dataFim, criados));
+        }
+    }
+
+    /** Mesmas regras de {@code POST} e {@code PUT /api/gastos} ({@link GastoRequestDTO}). */
+    private String validar(OperacaoLoteDTO operacao) {
+        if (operacao.getTipo() == null) {
+            return "Tipo da operação é obrigatório";
+        }
+        if (operacao.getTipo() != OperacaoLoteDTO.Tipo.CRIAR && operacao.getId() == null) {
+            return "Id do gasto é obrigatório";
+        }
+        if (operacao.getTipo() == OperacaoLoteDTO.Tipo.DELETAR) {
+            return null;
+        }
+        if (operacao.getGasto() == null) {
+            return "Dados do gasto são obrigatórios";
+        }
+        return ValidacaoUtil.mensagem(validator.validate(operacao.getGasto()));
+    }
+
+    private static void falhar(ResultadoOperacaoDTO resultado, HttpStatus status, String mensagem) {
+        resultado.setStatus(status.value());
+        resultado.setMensagem(mensagem);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.controle.service;
+
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.util.TextoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Preenche {@code descricao_normalizada} dos gastos gravados antes da coluna
+ * existir. Os gastos novos e alterados já são normalizados pela própria entidade.
+ */
+@Service
+public class NormalizacaoDescricaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(NormalizacaoDescricaoService.class);
+    private static final int TAMANHO_LOTE = 500;
+
+    private final GastoRepository gastoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public NormalizacaoDescricaoService(GastoRepository gastoRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.gastoRepository = gastoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Percorre os gastos pendentes em ordem de id, um lote por transação, para
+     * não manter bloqueios longos. Pode ser interrompida e executada de novo:
+     * só os gastos ainda sem normalização são lidos.
+     */
+    public long preencherPendentes() {
+        log.info("Iniciando normalização das descrições dos gastos");
+
+        long atualizados = 0;
+        Long ultimoId = 0L;
+        List<Object[]> lote;
+
+        do {
+            Long aposId = ultimoId;
+            lote = transactionTemplate.execute(status -> {
+                List<Object[]> linhas = gastoRepository.findDescricoesSemNormalizacao(
+                    aposId, PageRequest.of(0, TAMANHO_LOTE)
+                );
+                for (Object[] linha : linhas) {
+                    gastoRepository.atualizarDescricaoNormalizada((Long) linha[0], TextoUtil.normalizar((String) linha[1]));
+                }
+                return linhas;
+            });
+            atualizados += lote.size();
+            if (!lote.isEmpty()) {
+                ultimoId = (Long) lote.get(lote.size() - 1)[0];
+            }
+        } while (lote.size() == TAMANHO_LOTE);
+
+        log.info("Normalização concluída para {} gastos", atualizados);
+        return atualizados;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.controle.service;
 import com.example.controle.model.entity.Gasto;
 import com.example.controle.model.entity.Usuario;
 import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.pdf.PdfDocument;
@@ -37,19 +39,21 @@ public class PdfService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     private final GastoRepository gastoRepository;
+    private final UsuarioRepository usuarioRepository;
 
-    public PdfService(GastoRepository gastoRepository) {
+    public PdfService(GastoRepository gastoRepository, UsuarioRepository usuarioRepository) {
         this.gastoRepository = gastoRepository;
+        this.usuarioRepository = usuarioRepository;
     }
 
-    private Usuario getUsuarioLogado() {
+    private UsuarioAutenticado getUsuarioLogado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (Usuario) authentication.getPrincipal();
+        return (UsuarioAutenticado) authentication.getPrincipal();
     }
 
     @Transactional(readOnly = true)
     public byte[] gerarRelatorioGastos(LocalDate dataInicio, LocalDate dataFim) {
-        Usuario usuario = getUsuarioLogado();
+        UsuarioAutenticado usuario = getUsuarioLogado();
         log.info("Gerando relatório PDF para usuário: {} - período: {} a {}", 
             usuario.getEmail(), dataInicio, dataFim);
 
@@ -59,7 +63,9 @@ public class PdfService {
             Document document = new Document(pdfDoc);
 
             // Cabeçalho
-            adicionarCabecalho(document, usuario, dataInicio, dataFim);
+            // O token não traz o nome; o relatório é raro o bastante para buscá-lo aqui
+            String nome = usuarioRepository.findById(usuario.getId()).map(Usuario::getNome).orElse(usuario.getEmail());
+            adicionarCabecalho(document, nome, dataInicio, dataFim);
 
             // Buscar gastos
             List<Gasto> gastos = gastoRepository.findByUsuarioAndPeriodo(
@@ -98,7 +104,7 @@ public class PdfService {
         }
     }
 
-    private void adicionarCabecalho(Document document, Usuario usuario, 
+    private void adicionarCabecalho(Document document, String nomeUsuario, 
                                     LocalDate dataInicio, LocalDate dataFim) {
         Paragraph titulo = new Paragraph("RELATÓRIO DE GASTOS")
             .setFontSize(18)
@@ -106,7 +112,7 @@ public class PdfService {
             .setTextAlignment(TextAlignment.CENTER);
         document.add(titulo);
 
-        Paragraph info = new Paragraph(String.format("Usuário: %s", usuario.getNome()))
+        Paragraph info = new Paragraph(String.format("Usuário: %s", nomeUsuario))
             .setFontSize(10)
             .setMarginTop(10);
         document.add(info);
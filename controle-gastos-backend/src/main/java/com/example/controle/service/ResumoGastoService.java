@@ -0,0 +1,166 @@
+package com.example.controle.service;
+
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.ResumoMensalRepository;
+import com.example.controle.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém as tabelas de resumo diário e mensal de gastos. As escritas de
+ * {@link GastoService} chamam {@link #registrar} dentro da própria transação,
+ * de forma que os resumos nunca divergem dos gastos já confirmados.
+ */
+@Service
+public class ResumoGastoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumoGastoService.class);
+    private static final int TAMANHO_LOTE_USUARIOS = 100;
+
+    // Mesmo upsert de ResumoDiarioRepository.acumular e ResumoMensalRepository.acumular, em lote via JDBC
+    private static final String SQL_ACUMULAR_DIARIO =
+        "INSERT INTO resumo_gastos_diario (usuario_id, categoria_id, dia, total, quantidade) VALUES (?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)";
+    private static final String SQL_ACUMULAR_MENSAL =
+        "INSERT INTO resumo_gastos_mensal (usuario_id, categoria_id, ano, mes, total, quantidade) VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total = total + VALUES(total), quantidade = quantidade + VALUES(quantidade)";
+
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final ResumoMensalRepository resumoMensalRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResumoGastoService(ResumoDiarioRepository resumoDiarioRepository,
+                              ResumoMensalRepository resumoMensalRepository,
+                              UsuarioRepository usuarioRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.resumoMensalRepository = resumoMensalRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Soma {@code valor} e {@code quantidade} (que podem ser negativos) ao resumo do
+     * dia e do mês do gasto, criando as linhas de resumo quando ainda não existem.
+     * Cada tabela recebe um upsert, então duas transações que criam a mesma chave
+     * ao mesmo tempo somam uma sobre a outra em vez de violar a chave única.
+     */
+    @Transactional
+    public void registrar(Long usuarioId, Long categoriaId, LocalDate dia, BigDecimal valor, long quantidade) {
+        resumoDiarioRepository.acumular(usuarioId, categoriaId, dia, valor, quantidade);
+        resumoMensalRepository.acumular(
+            usuarioId, categoriaId, dia.getYear(), dia.getMonthValue(), valor, quantidade
+        );
+    }
+
+    /**
+     * Versão em lote de {@link #registrar} para escritas de vários gastos: os
+     * acúmulos são somados por dia e por mês e gravados com um único upsert em
+     * lote por tabela, que o driver do MySQL envia como um INSERT de várias
+     * linhas. Deve ser chamado dentro da transação que gravou os gastos.
+     */
+    @Transactional
+    public void registrarLote(Long usuarioId, Collection<Acumulo> acumulos) {
+        Map<List<Object>, Acumulo> diarios = new LinkedHashMap<>();
+        Map<List<Object>, Acumulo> mensais = new LinkedHashMap<>();
+        for (Acumulo acumulo : acumulos) {
+            diarios.merge(List.of(acumulo.dia(), acumulo.categoriaId()), acumulo, Acumulo::somar);
+            mensais.merge(List.of(acumulo.dia().getYear(), acumulo.dia().getMonthValue(), acumulo.categoriaId()),
+                acumulo, Acumulo::somar);
+        }
+
+        List<Object[]> linhasDiarias = new ArrayList<>(diarios.size());
+        for (Acumulo acumulo : diarios.values()) {
+            if (!acumulo.isNulo()) {
+                linhasDiarias.add(new Object[]{usuarioId, acumulo.categoriaId(), Date.valueOf(acumulo.dia()),
+                    acumulo.valor(), acumulo.quantidade()});
+            }
+        }
+        acumular(SQL_ACUMULAR_DIARIO, linhasDiarias);
+
+        List<Object[]> linhasMensais = new ArrayList<>(mensais.size());
+        for (Acumulo acumulo : mensais.values()) {
+            if (!acumulo.isNulo()) {
+                linhasMensais.add(new Object[]{usuarioId, acumulo.categoriaId(), acumulo.dia().getYear(),
+                    acumulo.dia().getMonthValue(), acumulo.valor(), acumulo.quantidade()});
+            }
+        }
+        acumular(SQL_ACUMULAR_MENSAL, linhasMensais);
+    }
+
+    private void acumular(String sql, List<Object[]> linhas) {
+        if (!linhas.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, linhas);
+        }
+    }
+
+    /**
+     * Recalcula do zero os resumos de um usuário a partir da tabela de gastos.
+     */
+    public void reconstruir(Long usuarioId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            resumoMensalRepository.deletarPorUsuario(usuarioId);
+            resumoDiarioRepository.deletarPorUsuario(usuarioId);
+            int dias = resumoDiarioRepository.recalcularPorUsuario(usuarioId);
+            int meses = resumoMensalRepository.recalcularPorUsuario(usuarioId);
+            log.debug("Resumos do usuário {} reconstruídos: {} dias, {} meses", usuarioId, dias, meses);
+        });
+    }
+
+    /**
+     * Recalcula os resumos de todos os usuários, um usuário por transação, para
+     * não manter bloqueios longos nem uma transação gigante durante a rotina.
+     */
+    public int reconstruirTodos() {
+        log.info("Iniciando reconstrução dos resumos de gastos");
+
+        int processados = 0;
+        Long ultimoId = 0L;
+        List<Long> ids;
+
+        do {
+            ids = usuarioRepository.findIdsAposId(ultimoId, PageRequest.of(0, TAMANHO_LOTE_USUARIOS));
+            for (Long usuarioId : ids) {
+                reconstruir(usuarioId);
+                processados++;
+            }
+            if (!ids.isEmpty()) {
+                ultimoId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == TAMANHO_LOTE_USUARIOS);
+
+        log.info("Reconstrução dos resumos concluída para {} usuários", processados);
+        return processados;
+    }
+
+    /** Total e quantidade (que podem ser negativos) a somar ao resumo de uma categoria em um dia. */
+    public record Acumulo(Long categoriaId, LocalDate dia, BigDecimal valor, long quantidade) {
+
+        private Acumulo somar(Acumulo outro) {
+            return new Acumulo(categoriaId, dia, valor.add(outro.valor), quantidade + outro.quantidade);
+        }
+
+        private boolean isNulo() {
+            return quantidade == 0 && valor.signum() == 0;
+        }
+    }
+}
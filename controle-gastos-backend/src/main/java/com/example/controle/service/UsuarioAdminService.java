@@ -0,0 +1,85 @@
+package com.example.controle.service;
+
+import com.example.controle.event.AcessoUsuarioAlteradoEvent;
+import com.example.controle.exception.BusinessException;
+import com.example.controle.exception.ResourceNotFoundException;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Alterações de acesso dos usuários. Como o token carrega o papel e a versão
+ * do usuário, toda alteração incrementa a versão, invalidando os tokens já
+ * emitidos; o usuário volta a entrar com login.
+ */
+@Service
+public class UsuarioAdminService {
+
+    private static final Logger log = LoggerFactory.getLogger(UsuarioAdminService.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UsuarioAdminService(UsuarioRepository usuarioRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.usuarioRepository = usuarioRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    @Transactional
+    public Usuario desativar(Long id) {
+        Usuario usuario = buscarOutroUsuario(id);
+        usuario.setAtivo(false);
+        return alterarAcesso(usuario, "desativado");
+    }
+
+    @Transactional
+    public Usuario ativar(Long id) {
+        Usuario usuario = buscarOutroUsuario(id);
+        usuario.setAtivo(true);
+        return alterarAcesso(usuario, "ativado");
+    }
+
+    @Transactional
+    public Usuario alterarRole(Long id, Usuario.Role role) {
+        Usuario usuario = buscarOutroUsuario(id);
+        usuario.setRole(role);
+        return alterarAcesso(usuario, "com papel alterado para " + role);
+    }
+
+    @Transactional
+    public Usuario revogarTokens(Long id) {
+        Usuario usuario = usuarioRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
+        return alterarAcesso(usuario, "com tokens revogados");
+    }
+
+    private Usuario buscarOutroUsuario(Long id) {
+        if (id.equals(getUsuarioLogado().getId())) {
+            throw new BusinessException("Não é possível alterar o acesso do próprio usuário");
+        }
+        return usuarioRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
+    }
+
+    private Usuario alterarAcesso(Usuario usuario, String descricao) {
+        usuario.incrementarVersaoToken();
+        usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(
+            new AcessoUsuarioAlteradoEvent(usuario.getId(), usuario.getEmail(), usuario.getVersaoToken(), usuario.isEnabled()));
+        log.info("Usuário ID: {} {} por {}", usuario.getId(), descricao, getUsuarioLogado().getEmail());
+        return usuario;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.controle.service;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.repository.VersaoDadosGlobalRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gera ETags fracos a partir da versão dos dados de cada usuário
+ * ({@code usuarios.versao_dados}) e de uma versão global, ambas gravadas no
+ * banco. A versão do usuário é incrementada dentro da transação de toda escrita
+ * de gasto, então um ETag vale em qualquer instância da aplicação e sobrevive
+ * a reinícios.
+ */
+@Service
+public class VersaoDadosService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final VersaoDadosGlobalRepository versaoDadosGlobalRepository;
+
+    public VersaoDadosService(UsuarioRepository usuarioRepository,
+                              VersaoDadosGlobalRepository versaoDadosGlobalRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.versaoDadosGlobalRepository = versaoDadosGlobalRepository;
+    }
+
+    private UsuarioAutenticado getUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UsuarioAutenticado) authentication.getPrincipal();
+    }
+
+    /** (versão do usuário, versão global). */
+    @Transactional(readOnly = true)
+    public long[] versoesAtuais(Long usuarioId) {
+        List<Object[]> linhas = usuarioRepository.buscarVersoesDados(usuarioId);
+        if (linhas.isEmpty()) {
+            return new long[]{0L, 0L};
+        }
+        Object[] linha = linhas.get(0);
+        return new long[]{((Number) linha[0]).longValue(), ((Number) linha[1]).longValue()};
+    }
+
+    /**
+     * Incrementa a versão do usuário na transação atual, uma única vez por
+     * transação mesmo que ela grave vários gastos.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementar(Long usuarioId) {
+        if (incrementadosNaTransacao().add(usuarioId)) {
+            usuarioRepository.incrementarVersaoDados(usuarioId);
+        }
+    }
+
+    /**
+     * Invalida os ETags de todos os usuários, para mudanças que afetam dados
+     * compartilhados (como o nome ou a cor de uma categoria).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementarGlobal() {
+        versaoDadosGlobalRepository.incrementar();
+    }
+
+    // Antes do commit: o incremento é confirmado junto com os gastos
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarGasto(GastoAlteradoEvent evento) {
+        incrementar(evento.usuarioId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoImportarGastos(GastosImportadosEvent evento) {
+        incrementar(evento.usuarioId());
+    }
+
+    /**
+     * Gera o ETag da requisição atual para o usuário logado. Deve ser chamado
+     * antes de qualquer consulta, para que uma escrita concorrente nunca fique
+     * associada a uma versão anterior a ela.
+     * <p>
+     * {@code valoresResolvidos} são os valores padrão que o controller aplicou a
+     * parâmetros omitidos e que dependem do momento da requisição (como o mês
+     * atual): sem eles, a mesma URI manteria o ETag depois da virada do mês.
+     */
+    public String gerarEtag(HttpServletRequest request, Object... valoresResolvidos) {
+        Long usuarioId = getUsuarioLogado().getId();
+        String recurso = request.getQueryString() != null
+            ? request.getRequestURI() + "?" + request.getQueryString()
+            : request.getRequestURI();
+        if (valoresResolvidos.length > 0) {
+            recurso += "#" + Arrays.toString(valoresResolvidos);
+        }
+
+        long[] versoes = versoesAtuais(usuarioId);
+        return String.format("W/\"%d-%d-%d-%08x\"", versoes[1], usuarioId, versoes[0], recurso.hashCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> incrementadosNaTransacao() {
+        Set<Long> incrementados = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (incrementados == null) {
+            Set<Long> novos = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VersaoDadosService.this);
+                }
+            });
+            incrementados = novos;
+        }
+        return incrementados;
+    }
+}
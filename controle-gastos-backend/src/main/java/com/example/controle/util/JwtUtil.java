@@ -1,30 +1,64 @@
 package com.example.controle.util;
 
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.security.UsuarioAutenticado;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Geração e validação dos tokens JWT. A chave e o parser são montados uma vez;
+ * os tokens já verificados ficam em um cache limitado, indexado pelo SHA-256 do
+ * token (o token em si não é guardado), de modo que as requisições seguintes
+ * com o mesmo token não repetem a verificação da assinatura nem a leitura do
+ * JSON.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String CLAIM_USUARIO_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_VERSAO_TOKEN = "ver";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+    private final Cache<String, Claims> tokensVerificados;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache,
+                   MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                // Nenhum token emitido vive mais que jwt.expiration; a expiração de cada um é conferida na leitura
+                .expireAfterWrite(Duration.ofMillis(expiration))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "tokens-jwt");
     }
 
     public String extractUsername(String token) {
@@ -40,21 +74,66 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Claims de um token com assinatura válida e não expirado. Lança
+     * {@link io.jsonwebtoken.JwtException} para tokens inválidos ou expirados.
+     */
+    public Claims extractAllClaims(String token) {
+        String digest = digest(token);
+        Claims claims = tokensVerificados.getIfPresent(digest);
+        if (claims != null) {
+            if (!isExpired(claims)) {
+                return claims;
+            }
+            tokensVerificados.invalidate(digest);
+            throw new ExpiredJwtException(null, claims, "Token expirado");
+        }
+
+        // O parser já rejeita tokens expirados, e tokens sem exp não são emitidos aqui
+        claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            tokensVerificados.put(digest, claims);
+        }
+        return claims;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * O token leva id, papel e versão de token do usuário, para as requisições
+     * seguintes serem autenticadas sem consulta ao banco.
+     */
+    public String generateToken(Usuario usuario) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        claims.put(CLAIM_USUARIO_ID, usuario.getId());
+        claims.put(CLAIM_ROLE, usuario.getRole().name());
+        claims.put(CLAIM_VERSAO_TOKEN, usuario.getVersaoToken());
+        return createToken(claims, usuario.getUsername());
+    }
+
+    /**
+     * Usuário autenticado a partir das claims, ou {@code null} para tokens
+     * emitidos antes de as claims de usuário existirem.
+     */
+    public UsuarioAutenticado extractUsuario(Claims claims) {
+        Number id = claims.get(CLAIM_USUARIO_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number versao = claims.get(CLAIM_VERSAO_TOKEN, Number.class);
+        if (id == null || role == null || versao == null) {
+            return null;
+        }
+        return new UsuarioAutenticado(id.longValue(), claims.getSubject(), Usuario.Role.valueOf(role), versao.longValue());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -63,12 +142,16 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+
+    /** Validação sobre claims já lidas, para não ler o token de novo. */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 }
@@ -0,0 +1,36 @@
+package com.example.controle.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextoUtil {
+
+    /** Caractere de escape do LIKE; a barra invertida é interpretada nos literais do MySQL. */
+    public static final char ESCAPE_LIKE = '!';
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private TextoUtil() {
+    }
+
+    /**
+     * Forma de comparação de textos: minúsculas, sem acentos e com espaços
+     * simples, de modo que "Almoço  Executivo" e "almoco executivo" coincidem.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Escapa os curingas do LIKE ({@code %}, {@code _} e o próprio {@link #ESCAPE_LIKE}).
+     */
+    public static String escaparLike(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
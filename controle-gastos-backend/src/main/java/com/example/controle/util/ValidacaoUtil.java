@@ -0,0 +1,30 @@
+package com.example.controle.util;
+
+import jakarta.validation.ConstraintViolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public final class ValidacaoUtil {
+
+    private ValidacaoUtil() {
+    }
+
+    /**
+     * As mensagens das violações em ordem alfabética, separadas por "; ", ou
+     * {@code null} quando não há violações. A ordem fixa deixa a mesma linha
+     * inválida com a mesma mensagem em toda execução.
+     */
+    public static String mensagem(Set<? extends ConstraintViolation<?>> violacoes) {
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        List<String> mensagens = new ArrayList<>(violacoes.size());
+        for (ConstraintViolation<?> violacao : violacoes) {
+            mensagens.add(violacao.getMessage());
+        }
+        mensagens.sort(null);
+        return String.join("; ", mensagens);
+    }
+}
@@ -0,0 +1,17 @@
+-- Ids de gastos, categorias e usuários passam a ser gerados pela aplicação
+-- (GeradorIdOrdenadoPorTempo). O ddl-auto=update não altera colunas existentes,
+-- então bancos MySQL criados antes da mudança precisam deste script, executado
+-- uma vez com a aplicação parada.
+--
+-- As linhas existentes mantêm seus ids: os novos são sempre maiores que qualquer
+-- id AUTO_INCREMENT já gravado, então a ordem por id continua a de criação.
+-- Remover o AUTO_INCREMENT evita que um INSERT sem id receba max(id) + 1, que
+-- poderia colidir com o próximo id gerado pela aplicação. O tipo da coluna não
+-- muda, então as chaves estrangeiras continuam válidas; o MySQL, porém, recusa
+-- alterar colunas referenciadas (erro 1833) com a verificação de chaves ativa.
+
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE usuarios MODIFY id BIGINT NOT NULL;
+ALTER TABLE categorias MODIFY id BIGINT NOT NULL;
+ALTER TABLE gastos MODIFY id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
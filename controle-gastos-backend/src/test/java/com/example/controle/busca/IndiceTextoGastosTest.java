@@ -0,0 +1,145 @@
+package com.example.controle.busca;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.repository.GastoRepository;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IndiceTextoGastosTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 15);
+    private static final Duration MARGEM = Duration.ofMinutes(5);
+
+    @TempDir
+    Path diretorio;
+
+    private GastoRepository gastoRepository;
+    private IndiceTextoGastos indice;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gastoRepository = mock(GastoRepository.class);
+        indice = novoIndice();
+        indice.abrir();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        indice.fechar();
+    }
+
+    @Test
+    void deveBuscarPorPrefixoNoTextoDoUsuarioAposReconstruir() {
+        // Índice novo só responde depois da reconstrução
+        assertEquals(Optional.empty(), indice.buscar(1L, "mercado"));
+
+        when(gastoRepository.streamTextos()).thenReturn(Stream.of(
+            new Object[]{10L, 1L, "Supermercado São João", "compras do mês"},
+            new Object[]{11L, 1L, "Farmácia", null},
+            new Object[]{12L, 2L, "Supermercado", null}
+        ));
+        assertEquals(3, indice.reconstruir());
+
+        assertEquals(Optional.of(List.of(10L)), indice.buscar(1L, "SUPERMERC sao"));
+        assertEquals(Optional.of(List.of(10L)), indice.buscar(1L, "compras"));
+        assertEquals(Optional.of(List.of(11L)), indice.buscar(1L, "farmacia"));
+        assertEquals(Optional.of(List.of(12L)), indice.buscar(2L, "super"));
+
+        // Escritas confirmadas ficam visíveis na busca seguinte
+        indice.aoAlterarGasto(new GastoAlteradoEvent(1L, 11L, HOJE, HOJE, "Farmácia", "Drogaria", null));
+        indice.aoAlterarGasto(new GastoAlteradoEvent(1L, 10L, HOJE, null));
+        assertEquals(Optional.of(List.of()), indice.buscar(1L, "farmacia"));
+        assertEquals(Optional.of(List.of()), indice.buscar(1L, "supermercado"));
+        assertEquals(Optional.of(List.of(11L)), indice.buscar(1L, "drog"));
+    }
+
+    @Test
+    void deveReindexarAsAlteracoesDesdeAUltimaGravacaoAoReabrir() throws Exception {
+        LocalDateTime antes = LocalDateTime.now();
+        when(gastoRepository.streamTextos()).thenReturn(Stream.<Object[]>of(new Object[]{10L, 1L, "Padaria", null}));
+        indice.reconstruir();
+        indice.fechar();
+
+        // Gasto confirmado no banco mas perdido pelo índice antes da parada
+        when(gastoRepository.streamTextosAlteradosDesde(any()))
+            .thenReturn(Stream.<Object[]>of(new Object[]{11L, 1L, "Açougue", null}));
+        indice = novoIndice();
+        indice.abrir();
+
+        assertEquals(Optional.of(List.of(10L)), indice.buscar(1L, "padaria"));
+        assertEquals(Optional.of(List.of(11L)), indice.buscar(1L, "acougue"));
+        ArgumentCaptor<LocalDateTime> desde = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(gastoRepository).streamTextosAlteradosDesde(desde.capture());
+        assertFalse(desde.getValue().isBefore(antes.minus(MARGEM)));
+        assertFalse(desde.getValue().isAfter(LocalDateTime.now().minus(MARGEM)));
+    }
+
+    @Test
+    void naoDeveUsarUmIndiceQueNuncaFoiReconstruido() throws Exception {
+        indice.aoAlterarGasto(new GastoAlteradoEvent(1L, 10L, null, HOJE, null, "Padaria", null));
+        indice.gravar();
+        indice.fechar();
+
+        indice = novoIndice();
+        indice.abrir();
+
+        assertFalse(indice.disponivel());
+        verify(gastoRepository, never()).streamTextosAlteradosDesde(any());
+    }
+
+    @Test
+    void naoDeveGravarNemMarcarComoCompletoNoMeioDaReconstrucao() throws Exception {
+        when(gastoRepository.streamTextos()).thenReturn(Stream.<Object[]>of(
+            new Object[]{10L, 1L, "Padaria", null}, new Object[]{11L, 1L, "Feira", null}));
+        indice.reconstruir();
+
+        when(gastoRepository.streamTextos()).thenReturn(Stream.<Object[]>of(new Object[]{12L, 1L, "Mercado", null})
+            .peek(linha -> {
+                // A gravação agendada, em outra thread, chega com o índice já apagado
+                CompletableFuture.runAsync(indice::gravar).join();
+                assertEquals(2, documentosGravados());
+            }));
+        indice.reconstruir();
+
+        assertEquals(1, documentosGravados());
+        assertEquals(Optional.of(List.of(12L)), indice.buscar(1L, "mercado"));
+    }
+
+    private IndiceTextoGastos novoIndice() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new IndiceTextoGastos(gastoRepository, transactionManager, true, diretorio, MARGEM);
+    }
+
+    private int documentosGravados() {
+        try (Directory directory = FSDirectory.open(diretorio);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            return reader.numDocs();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.controle.busca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SugestoesDescricaoTest {
+
+    @Test
+    void deveSugerirMaisUsadasPorPrefixoIgnorandoAcentos() {
+        SugestoesDescricao sugestoes = new SugestoesDescricao();
+        sugestoes.adicionar("almoço", 1);
+        sugestoes.adicionar("Almoço", 4);
+        sugestoes.adicionar("Aluguel", 2);
+        sugestoes.adicionar("Alimentação pet", 3);
+        sugestoes.adicionar("Farmácia", 10);
+
+        List<SugestoesDescricao.Sugestao> resultado = sugestoes.buscar("AL", 2);
+
+        assertEquals(List.of("Almoço", "Alimentação pet"),
+            resultado.stream().map(SugestoesDescricao.Sugestao::getDescricao).toList());
+        assertEquals(5, resultado.get(0).getQuantidade());
+
+        // A última ocorrência de uma descrição a remove das sugestões
+        sugestoes.remover("aluguel");
+        sugestoes.remover("ALUGUEL");
+        assertEquals(List.of("Almoço", "Alimentação pet"),
+            sugestoes.buscar("al", 5).stream().map(SugestoesDescricao.Sugestao::getDescricao).toList());
+        assertTrue(sugestoes.buscar("almoco x", 5).isEmpty());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContagemCacheTest {
+
+    private final ContagemCache cache = new ContagemCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void naoDeveGuardarNoMapaNovoUmaContagemIniciadaAntesDaInvalidacao() {
+        // Leitura abre o mapa antes da primeira consulta...
+        ContagemCache.Contagens antesDaEscrita = cache.abrir(1L);
+        // ...uma escrita é confirmada e invalida o usuário...
+        cache.aoAlterarGasto(new GastoAlteradoEvent(1L, 10L, null, LocalDate.of(2024, 2, 15)));
+        // ...e só então a contagem do snapshot antigo termina
+        assertEquals(5, antesDaEscrita.obter("filtro", () -> 5));
+
+        // A leitura seguinte não vê o total defasado
+        assertEquals(6, cache.abrir(1L).obter("filtro", () -> 6));
+        assertEquals(6, cache.abrir(1L).obter("filtro", () -> fail("Deveria usar o total em cache")));
+    }
+}
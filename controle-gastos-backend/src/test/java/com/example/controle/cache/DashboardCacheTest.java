@@ -0,0 +1,58 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.CategoriaAlteradaEvent;
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.model.dto.DashboardDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheTest {
+
+    private final DashboardCache cache =
+        new DashboardCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+
+    @Test
+    void deveInvalidarApenasOMesDoGastoEOSeguinte() {
+        AtomicInteger calculos = new AtomicInteger();
+        for (int mes = 1; mes <= 4; mes++) {
+            cache.obter(1L, YearMonth.of(2024, mes), () -> contar(calculos));
+        }
+        cache.obter(2L, YearMonth.of(2024, 2), () -> contar(calculos));
+        assertEquals(5, calculos.get());
+
+        cache.aoAlterarGasto(new GastoAlteradoEvent(1L, 10L, null, LocalDate.of(2024, 2, 15)));
+
+        for (int mes = 1; mes <= 4; mes++) {
+            cache.obter(1L, YearMonth.of(2024, mes), () -> contar(calculos));
+        }
+        cache.obter(2L, YearMonth.of(2024, 2), () -> contar(calculos));
+
+        // Apenas fevereiro e março do usuário 1 foram recalculados
+        assertEquals(7, calculos.get());
+    }
+
+    @Test
+    void deveInvalidarTodosOsDashboardsQuandoUmaCategoriaMuda() {
+        AtomicInteger calculos = new AtomicInteger();
+        cache.obter(1L, YearMonth.of(2024, 1), () -> contar(calculos));
+        cache.obter(2L, YearMonth.of(2024, 2), () -> contar(calculos));
+
+        cache.aoAlterarCategoria(new CategoriaAlteradaEvent(7L));
+
+        cache.obter(1L, YearMonth.of(2024, 1), () -> contar(calculos));
+        cache.obter(2L, YearMonth.of(2024, 2), () -> contar(calculos));
+        assertEquals(4, calculos.get());
+    }
+
+    private DashboardDTO contar(AtomicInteger calculos) {
+        calculos.incrementAndGet();
+        return new DashboardDTO();
+    }
+}
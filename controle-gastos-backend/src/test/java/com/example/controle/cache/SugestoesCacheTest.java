@@ -0,0 +1,49 @@
+package com.example.controle.cache;
+
+import com.example.controle.busca.SugestoesDescricao;
+import com.example.controle.event.GastoAlteradoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SugestoesCacheTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 15);
+
+    private final SugestoesCache cache = new SugestoesCache(new SimpleMeterRegistry(), 1 << 20, Duration.ofMinutes(30));
+
+    @Test
+    void deveRecarregarQuandoUmaEscritaChegaDuranteACarga() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        SugestoesDescricao primeira = cache.obter(1L, () -> {
+            cargas.incrementAndGet();
+            SugestoesDescricao lidas = new SugestoesDescricao();
+            lidas.adicionar("Padaria", 1);
+            // Commit de outro gasto enquanto a leitura ainda não terminou
+            cache.aoAlterarGasto(new GastoAlteradoEvent(1L, 10L, null, HOJE, null, "Pastelaria", null));
+            return lidas;
+        });
+        assertEquals(1, primeira.buscar("pa", 5).size());
+
+        SugestoesDescricao segunda = cache.obter(1L, () -> {
+            cargas.incrementAndGet();
+            SugestoesDescricao lidas = new SugestoesDescricao();
+            lidas.adicionar("Padaria", 1);
+            lidas.adicionar("Pastelaria", 1);
+            return lidas;
+        });
+        assertEquals(2, cargas.get());
+        assertEquals(2, segunda.buscar("pa", 5).size());
+
+        // Sem escrita concorrente a carga fica no cache e recebe as escritas seguintes
+        cache.aoAlterarGasto(new GastoAlteradoEvent(1L, 11L, null, HOJE, null, "Pamonha", null));
+        assertSame(segunda, cache.obter(1L, () -> fail("Deveria usar o cache")));
+        assertEquals(3, segunda.buscar("pa", 5).size());
+    }
+}
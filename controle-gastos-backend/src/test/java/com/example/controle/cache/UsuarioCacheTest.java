@@ -0,0 +1,47 @@
+package com.example.controle.cache;
+
+import com.example.controle.event.AcessoUsuarioAlteradoEvent;
+import com.example.controle.model.entity.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsuarioCacheTest {
+
+    private final UsuarioCache cache =
+        new UsuarioCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+    @Test
+    void deveGuardarUsuariosEEmailsInexistentesAteSeremInvalidados() {
+        AtomicInteger consultas = new AtomicInteger();
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("joao@email.com");
+
+        for (int i = 0; i < 3; i++) {
+            cache.obter("joao@email.com", email -> {
+                consultas.incrementAndGet();
+                return Optional.of(usuario);
+            });
+            assertTrue(cache.obter("ninguem@email.com", email -> {
+                consultas.incrementAndGet();
+                return Optional.empty();
+            }).isEmpty());
+        }
+        assertEquals(2, consultas.get());
+
+        // Cada leitura é uma cópia: alterar o retorno não altera o cache
+        cache.obter("joao@email.com", email -> Optional.empty()).orElseThrow().setAtivo(false);
+        assertTrue(cache.obter("joao@email.com", email -> Optional.empty()).orElseThrow().isEnabled());
+
+        cache.aoAlterarAcesso(new AcessoUsuarioAlteradoEvent(1L, "joao@email.com", 1L, false));
+        cache.invalidar("ninguem@email.com");
+        assertTrue(cache.obter("joao@email.com", email -> Optional.empty()).isEmpty());
+        assertTrue(cache.obter("ninguem@email.com", email -> Optional.of(usuario)).isPresent());
+    }
+}
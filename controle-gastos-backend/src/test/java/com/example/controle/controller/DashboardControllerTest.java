@@ -0,0 +1,98 @@
+package com.example.controle.controller;
+
+import com.example.controle.model.dto.DashboardDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.example.controle.service.DashboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.YearMonth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    private RequestPostProcessor usuario;
+    private RequestPostProcessor admin;
+
+    @BeforeEach
+    void setUp() {
+        usuario = autenticado(salvarUsuario("dashboard@email.com", Usuario.Role.USER));
+        admin = autenticado(salvarUsuario("admin-dashboard@email.com", Usuario.Role.ADMIN));
+        when(dashboardService.getDashboard(any())).thenReturn(new DashboardDTO());
+    }
+
+    @Test
+    void deveResponder304ComOMesmoEtagAteUmaCategoriaSerAlterada() throws Exception {
+        String etag = mockMvc.perform(get("/api/dashboard").param("mes", "2024-01").with(usuario))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/dashboard").param("mes", "2024-01").with(usuario)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(dashboardService, times(1)).getDashboard(YearMonth.of(2024, 1));
+
+        Categoria categoria = categoriaRepository.save(new Categoria("Etag " + System.nanoTime(), null));
+        mockMvc.perform(put("/api/categorias/{id}", categoria.getId()).with(admin)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Renomeada " + System.nanoTime() + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/dashboard").param("mes", "2024-01").with(usuario)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(dashboardService, times(2)).getDashboard(YearMonth.of(2024, 1));
+    }
+
+    private Usuario salvarUsuario(String email, Usuario.Role role) {
+        return usuarioRepository.findByEmail(email).orElseGet(() -> {
+            Usuario novo = new Usuario();
+            novo.setNome("Usuário Teste");
+            novo.setEmail(email);
+            novo.setSenha("senha");
+            novo.setRole(role);
+            return usuarioRepository.save(novo);
+        });
+    }
+
+    private static RequestPostProcessor autenticado(Usuario usuario) {
+        UsuarioAutenticado principal = UsuarioAutenticado.de(usuario);
+        return authentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.controle.estatistica;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EsbocoQuantisTest {
+
+    @Test
+    void deveEstimarQuantisDentroDoErroRelativo() {
+        Random random = new Random(42);
+        double[] valores = new double[100_000];
+        EsbocoQuantis esboco = new EsbocoQuantis();
+        for (int i = 0; i < valores.length; i++) {
+            // Distribuição log-normal, parecida com a de valores de compras
+            valores[i] = Math.round(Math.exp(4 + 1.2 * random.nextGaussian()) * 100) / 100.0 + 0.01;
+            esboco.adicionar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            double exato = valores[(int) Math.floor(q * (valores.length - 1))];
+            assertEquals(exato, esboco.quantil(q), exato * EsbocoQuantis.ERRO_RELATIVO);
+        }
+        assertEquals(valores[0], esboco.getMinimo());
+        assertEquals(valores[valores.length - 1], esboco.getMaximo());
+        assertTrue(esboco.getTamanho() < 1_200);
+    }
+
+    @Test
+    void deveMesclarSemPerdaEmRelacaoAoEsbocoUnico() {
+        EsbocoQuantis unico = new EsbocoQuantis();
+        EsbocoQuantis janeiro = new EsbocoQuantis();
+        EsbocoQuantis fevereiro = new EsbocoQuantis();
+        for (int i = 1; i <= 1_000; i++) {
+            unico.adicionar(i);
+            (i % 2 == 0 ? janeiro : fevereiro).adicionar(i * 1.0);
+        }
+        fevereiro.adicionar(5_000);
+        unico.adicionar(5_000);
+
+        janeiro.mesclar(fevereiro);
+
+        assertEquals(unico.getQuantidade(), janeiro.getQuantidade());
+        for (double q : new double[]{0, 0.5, 0.9, 0.99, 1}) {
+            assertEquals(unico.quantil(q), janeiro.quantil(q));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.controle.filter;
+
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.security.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Dashboard e auth com rajada de 2 e uma ficha por segundo
+    private final LimiteRequisicoesFilter filter = criar(true);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveResponder429ComRetryAfterECorpoDeErro() throws Exception {
+        autenticar(1L);
+        assertEquals(200, executar("/api/dashboard/resumo", "10.0.0.1").getStatus());
+        assertEquals(200, executar("/api/dashboard/resumo", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse response = executar("/api/dashboard/resumo", "10.0.0.1");
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentType().startsWith("application/json"));
+        JsonNode erro = objectMapper.readTree(response.getContentAsByteArray());
+        assertEquals(429, erro.get("status").asInt());
+        assertEquals("Too Many Requests", erro.get("error").asText());
+        assertEquals("Limite de requisições atingido. Tente novamente em 1 s", erro.get("message").asText());
+        assertEquals("/api/dashboard/resumo", erro.get("path").asText());
+        assertEquals(1, meterRegistry.counter("limite.requisicoes.rejeitadas").count());
+    }
+
+    @Test
+    void deveLimitarODashboardPorUsuarioENaoPorIp() throws Exception {
+        autenticar(1L);
+        executar("/api/dashboard", "10.0.0.1");
+        executar("/api/dashboard", "10.0.0.2");
+        // Mesmo usuário, outro IP: o balde é o do usuário
+        assertEquals(429, executar("/api/dashboard", "10.0.0.3").getStatus());
+
+        // Outro usuário, mesmo IP: balde próprio
+        autenticar(2L);
+        assertEquals(200, executar("/api/dashboard", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void deveLimitarAAutenticacaoPorIp() throws Exception {
+        executar("/api/auth/login", "10.0.0.1");
+        executar("/api/auth/login", "10.0.0.1");
+        assertEquals(429, executar("/api/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, executar("/api/auth/login", "10.0.0.2").getStatus());
+
+        // Mesmo autenticado, o que conta na autenticação é o IP
+        autenticar(1L);
+        assertEquals(429, executar("/api/auth/login", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void deveCasarSomenteOPrefixoInteiro() throws Exception {
+        autenticar(1L);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, executar("/api/dashboardX", "10.0.0.1").getStatus());
+            assertEquals(200, executar("/api/gastos", "10.0.0.1").getStatus());
+        }
+        executar("/api/dashboard/resumo", "10.0.0.1");
+        executar("/api/dashboard", "10.0.0.1");
+        // Os dois caminhos do grupo dividem o mesmo balde
+        assertEquals(429, executar("/api/dashboard/top", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void naoDeveLimitarQuandoDesabilitado() throws Exception {
+        LimiteRequisicoesFilter desabilitado = criar(false);
+        autenticar(1L);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, executar(desabilitado, "/api/dashboard", "10.0.0.1").getStatus());
+            assertEquals(200, executar(desabilitado, "/api/auth/login", "10.0.0.1").getStatus());
+        }
+    }
+
+    private LimiteRequisicoesFilter criar(boolean habilitado) {
+        return new LimiteRequisicoesFilter(objectMapper, meterRegistry, habilitado, 2, 60, 3, 6, 2, 60);
+    }
+
+    private MockHttpServletResponse executar(String caminho, String ip) throws Exception {
+        return executar(filter, caminho, ip);
+    }
+
+    /** Passa a requisição pelo filtro; 200 indica que ela chegou à cadeia seguinte. */
+    private static MockHttpServletResponse executar(LimiteRequisicoesFilter filter, String caminho, String ip)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", caminho);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(response.getStatus() == 200, chain.getRequest() != null);
+        return response;
+    }
+
+    private static void autenticar(Long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setEmail("usuario" + id + "@email.com");
+        usuario.setRole(Usuario.Role.USER);
+        usuario.setVersaoToken(0L);
+        UsuarioAutenticado principal = UsuarioAutenticado.de(usuario);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
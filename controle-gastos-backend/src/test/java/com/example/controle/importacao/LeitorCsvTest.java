@@ -0,0 +1,38 @@
+package com.example.controle.importacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorCsvTest {
+
+    @Test
+    void deveLerFormatoBrasileiroComCamposEntreAspas() throws IOException {
+        String csv = "﻿Data;Descrição;Valor;Categoria;Observação\n" +
+            "15/03/2024;\"Almoço; executivo\";1.234,56;Alimentação;\"linha 1\nlinha 2\"\n" +
+            "\n" +
+            "31/02/2024;Data inválida;10,00;Alimentação;\n";
+
+        try (LeitorCsv leitor = new LeitorCsv(new StringReader(csv))) {
+            LinhaExtrato linha = leitor.proxima();
+            assertNull(linha.erro());
+            assertEquals(LocalDate.of(2024, 3, 15), linha.data());
+            assertEquals("Almoço; executivo", linha.descricao());
+            assertEquals(new BigDecimal("1234.56"), linha.valor());
+            assertEquals("Alimentação", linha.categoria());
+            assertEquals("linha 1\nlinha 2", linha.observacao());
+
+            // A linha em branco é pulada, mas a numeração segue o arquivo
+            LinhaExtrato invalida = leitor.proxima();
+            assertNotNull(invalida.erro());
+            assertEquals(5, invalida.numero());
+
+            assertNull(leitor.proxima());
+        }
+    }
+}
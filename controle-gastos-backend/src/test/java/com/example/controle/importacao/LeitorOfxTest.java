@@ -0,0 +1,65 @@
+package com.example.controle.importacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorOfxTest {
+
+    @Test
+    void deveLerApenasOsDebitosDeUmExtratoSgml() throws IOException {
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n" +
+            "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+            "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240315120000[-3:BRT]<TRNAMT>-1234.56" +
+            "<FITID>A1<NAME>SUPERMERCADO<MEMO>Compra &amp; pague</STMTTRN>\n" +
+            "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240316<TRNAMT>500.00<FITID>A2<MEMO>Salário</STMTTRN>\n" +
+            "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240317<TRNAMT>-9.90<FITID>A3<NAME>PADARIA</STMTTRN>\n" +
+            "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>2024<TRNAMT>-1.00<FITID>A4<MEMO>Data curta</STMTTRN>\n" +
+            "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+        try (LeitorOfx leitor = new LeitorOfx(new StringReader(ofx))) {
+            LinhaExtrato compra = leitor.proxima();
+            assertNull(compra.erro());
+            assertEquals(1, compra.numero());
+            assertEquals(LocalDate.of(2024, 3, 15), compra.data());
+            assertEquals(new BigDecimal("1234.56"), compra.valor());
+            assertEquals("Compra & pague", compra.descricao());
+            assertEquals("OFX A1", compra.observacao());
+
+            // Sem MEMO, a descrição vem de NAME; o crédito foi pulado, mas conta na numeração
+            LinhaExtrato padaria = leitor.proxima();
+            assertEquals(3, padaria.numero());
+            assertEquals("PADARIA", padaria.descricao());
+
+            LinhaExtrato invalida = leitor.proxima();
+            assertEquals(4, invalida.numero());
+            assertEquals("Data inválida: 2024", invalida.erro());
+
+            assertNull(leitor.proxima());
+            assertEquals(1, leitor.getIgnoradas());
+        }
+    }
+
+    @Test
+    void deveLerExtratoXml() throws IOException {
+        String ofx = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?OFX OFXHEADER=\"200\" VERSION=\"211\"?>\n" +
+            "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+            "  <STMTTRN>\n    <DTPOSTED>20231231</DTPOSTED>\n    <TRNAMT>-42,00</TRNAMT>\n" +
+            "    <FITID>X9</FITID>\n    <MEMO> Farmácia </MEMO>\n  </STMTTRN>\n" +
+            "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+        try (LeitorOfx leitor = new LeitorOfx(new StringReader(ofx))) {
+            LinhaExtrato linha = leitor.proxima();
+            assertNull(linha.erro());
+            assertEquals(LocalDate.of(2023, 12, 31), linha.data());
+            assertEquals(new BigDecimal("42.00"), linha.valor());
+            assertEquals("Farmácia", linha.descricao());
+            assertNull(leitor.proxima());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.controle.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeradorIdOrdenadoPorTempoTest {
+
+    // Maior inteiro representado sem perda por um Number do JavaScript
+    private static final long MAIOR_INTEIRO_SEGURO_JS = (1L << 53) - 1;
+
+    @Test
+    void deveGerarIdsCrescentesQueCabemEmUmNumberDoJavaScript() {
+        long anterior = GeradorIdOrdenadoPorTempo.proximo();
+        // Bem mais que a sequência de um milissegundo, para passar pelo avanço de instante
+        for (int i = 0; i < 100_000; i++) {
+            long id = GeradorIdOrdenadoPorTempo.proximo();
+            assertTrue(id > anterior, "id " + id + " não é maior que " + anterior);
+            anterior = id;
+        }
+        assertTrue(anterior <= MAIOR_INTEIRO_SEGURO_JS);
+    }
+
+    @Test
+    void deveGravarONoConfiguradoERecusarNosForaDaFaixa() {
+        try {
+            GeradorIdOrdenadoPorTempo.configurarNo(5);
+            assertEquals(5, GeradorIdOrdenadoPorTempo.proximo() >> 8 & 0xF);
+            assertThrows(IllegalStateException.class, () -> GeradorIdOrdenadoPorTempo.configurarNo(16));
+            assertThrows(IllegalStateException.class, () -> GeradorIdOrdenadoPorTempo.configurarNo(-1));
+        } finally {
+            GeradorIdOrdenadoPorTempo.configurarNo(0);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.dto.GastoFilterDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class GastoRepositoryTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Long usuarioId;
+    private Long categoriaId;
+
+    @BeforeEach
+    void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário Teste");
+        usuario.setEmail("repositorio@email.com");
+        usuario.setSenha("senha");
+        entityManager.persist(usuario);
+        usuarioId = usuario.getId();
+
+        // Uma categoria por gasto: o pior caso para consultas N+1
+        for (int i = 0; i < 5; i++) {
+            Categoria categoria = new Categoria("Categoria " + i, null);
+            entityManager.persist(categoria);
+            categoriaId = categoria.getId();
+
+            Gasto gasto = new Gasto("Gasto " + i, new BigDecimal("10.00").add(BigDecimal.valueOf(i)), categoria, usuario);
+            gasto.setDataGasto(HOJE.minusDays(i));
+            entityManager.persist(gasto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deveListarPaginasComCategoriaEmUmaUnicaConsulta() {
+        Pageable pagina = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "dataGasto"));
+
+        assertUmaConsulta(gastoRepository.findByUsuarioId(usuarioId, pagina).getContent());
+        assertUmaConsulta(gastoRepository.findByUsuarioIdAndCategoriaId(usuarioId, categoriaId, pagina).getContent());
+        assertUmaConsulta(gastoRepository.findByUsuarioAndPeriodo(usuarioId, HOJE.minusDays(30), HOJE, pagina).getContent());
+        assertUmaConsulta(gastoRepository.findAll(
+            GastoSpecification.comFiltros(usuarioId, new GastoFilterDTO()), pagina).getContent());
+        assertUmaConsulta(gastoRepository.buscarFatia(
+            GastoSpecification.comFiltros(usuarioId, new GastoFilterDTO()), pagina).getContent());
+        assertUmaConsulta(gastoRepository.findTopGastosByUsuarioAndPeriodo(
+            usuarioId, HOJE.minusDays(30), HOJE, PageRequest.of(0, 5)));
+    }
+
+    @Test
+    void deveRestringirExclusaoAoDonoDoGasto() {
+        Gasto gasto = gastoRepository.findAll().get(0);
+
+        assertEquals(0, gastoRepository.deletarPorIdEUsuario(gasto.getId(), usuarioId + 1));
+        assertTrue(gastoRepository.findByIdAndUsuarioId(gasto.getId(), usuarioId).isPresent());
+        assertTrue(gastoRepository.findParaAlteracao(gasto.getId(), usuarioId + 1).isEmpty());
+
+        assertEquals(1, gastoRepository.deletarPorIdEUsuario(gasto.getId(), usuarioId));
+        // O DELETE em massa não passa pelo contexto de persistência
+        entityManager.clear();
+        assertTrue(gastoRepository.findById(gasto.getId()).isEmpty());
+    }
+
+    @Test
+    void deveBuscarPorPrefixoIgnorandoAcentosEMaiusculas() {
+        Gasto gasto = gastoRepository.findAll().get(0);
+        gasto.setDescricao("Almoço Executivo");
+        gastoRepository.saveAndFlush(gasto);
+
+        GastoFilterDTO filtro = new GastoFilterDTO();
+        filtro.setBuscaPorPrefixo(true);
+        Pageable pagina = PageRequest.of(0, 20);
+
+        filtro.setDescricao("ALMOCO  exec");
+        List<Gasto> encontrados = gastoRepository.findAll(GastoSpecification.comFiltros(usuarioId, filtro), pagina).getContent();
+        assertEquals(List.of(gasto.getId()), encontrados.stream().map(Gasto::getId).toList());
+
+        // Prefixo, não trecho: "executivo" está no meio da descrição
+        filtro.setDescricao("executivo");
+        assertTrue(gastoRepository.findAll(GastoSpecification.comFiltros(usuarioId, filtro), pagina).isEmpty());
+
+        // Curingas digitados pelo usuário são literais
+        filtro.setDescricao("%");
+        assertTrue(gastoRepository.findAll(GastoSpecification.comFiltros(usuarioId, filtro), pagina).isEmpty());
+    }
+
+    @Test
+    void deveAtualizarComUmUnicoUpdateRestritoAoDono() {
+        Gasto gasto = gastoRepository.findParaAlteracao(gastoRepository.findAll().get(0).getId(), usuarioId)
+            .orElseThrow();
+        statistics.clear();
+
+        gasto.setDescricao("Almoço Executivo");
+        gasto.setValor(new BigDecimal("42.00"));
+        assertEquals(0, gastoRepository.atualizarCampos(gasto, usuarioId + 1));
+        assertEquals(1, gastoRepository.atualizarCampos(gasto, usuarioId));
+        entityManager.flush();
+        // Apenas os dois UPDATEs: a entidade desanexada não é gravada de novo no flush
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+
+        Gasto gravado = gastoRepository.findById(gasto.getId()).orElseThrow();
+        assertEquals("Almoço Executivo", gravado.getDescricao());
+        assertEquals("almoco executivo", gravado.getDescricaoNormalizada());
+        assertEquals(0, new BigDecimal("42.00").compareTo(gravado.getValor()));
+        assertNotNull(gravado.getUpdatedAt());
+    }
+
+    @Test
+    void deveRecusarNoUpdateUmaCategoriaInexistente() {
+        Gasto gasto = gastoRepository.findParaAlteracao(gastoRepository.findAll().get(0).getId(), usuarioId)
+            .orElseThrow();
+        // Referência sem leitura: quem valida o id é a chave estrangeira
+        gasto.setCategoria(entityManager.getEntityManager().getReference(Categoria.class, categoriaId + 1_000));
+
+        assertThrows(DataIntegrityViolationException.class, () -> gastoRepository.atualizarCampos(gasto, usuarioId));
+    }
+
+    @Test
+    void deveInserirEmLotePreenchendoIds() {
+        Gasto modelo = gastoRepository.findAll().get(0);
+        List<Gasto> novos = List.of(
+            new Gasto("Pão de Queijo", new BigDecimal("8.50"), modelo.getCategoria(), modelo.getUsuario()),
+            new Gasto("Café", new BigDecimal("6.00"), modelo.getCategoria(), modelo.getUsuario())
+        );
+
+        gastoRepository.inserirEmLote(novos);
+        entityManager.clear();
+
+        for (Gasto novo : novos) {
+            Gasto gravado = gastoRepository.findByIdAndUsuarioId(novo.getId(), usuarioId).orElseThrow();
+            assertEquals(novo.getDescricao(), gravado.getDescricao());
+            assertEquals(0, novo.getValor().compareTo(gravado.getValor()));
+        }
+        assertEquals("pao de queijo",
+            gastoRepository.findById(novos.get(0).getId()).orElseThrow().getDescricaoNormalizada());
+    }
+
+    @Test
+    void deveArredondarParaCentavosAoInserirEmLote() {
+        Gasto modelo = gastoRepository.findAll().get(0);
+        Gasto novo = new Gasto("Café", new BigDecimal("6.125"), modelo.getCategoria(), modelo.getUsuario());
+
+        gastoRepository.inserirEmLote(List.of(novo));
+        entityManager.clear();
+
+        assertEquals(new BigDecimal("6.12"), novo.getValor());
+        assertEquals(0, new BigDecimal("6.12").compareTo(
+            gastoRepository.findById(novo.getId()).orElseThrow().getValor()));
+    }
+
+    @Test
+    void devePaginarPorCursorSemRepetirNemPularGastosComDatasIguais() {
+        Gasto modelo = gastoRepository.findAll().get(0);
+        // Três gastos a mais em HOJE: o desempate fica por conta do id
+        for (int i = 0; i < 3; i++) {
+            Gasto gasto = new Gasto("Empate " + i, BigDecimal.ONE, modelo.getCategoria(), modelo.getUsuario());
+            gasto.setDataGasto(HOJE);
+            entityManager.persist(gasto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        for (boolean ascendente : new boolean[]{true, false}) {
+            Sort ordenacao = Sort.by(ascendente ? Sort.Direction.ASC : Sort.Direction.DESC, "dataGasto", "id");
+            List<Long> esperado = gastoRepository.findAll(
+                GastoSpecification.comFiltros(usuarioId, new GastoFilterDTO()), ordenacao).stream()
+                .map(Gasto::getId).toList();
+
+            List<Long> paginado = new ArrayList<>();
+            Gasto ultimo = null;
+            while (true) {
+                var specification = GastoSpecification.comFiltros(usuarioId, new GastoFilterDTO());
+                if (ultimo != null) {
+                    specification = specification.and(
+                        GastoSpecification.aposPosicao(ultimo.getDataGasto(), ultimo.getId(), ascendente));
+                }
+                var fatia = gastoRepository.buscarFatia(specification, PageRequest.of(0, 2, ordenacao));
+                fatia.getContent().forEach(gasto -> paginado.add(gasto.getId()));
+                if (!fatia.hasNext()) {
+                    break;
+                }
+                ultimo = fatia.getContent().get(fatia.getNumberOfElements() - 1);
+            }
+
+            assertEquals(8, esperado.size());
+            assertEquals(esperado, paginado, ascendente ? "ASC" : "DESC");
+        }
+    }
+
+    private void assertUmaConsulta(List<Gasto> gastos) {
+        assertFalse(gastos.isEmpty());
+        gastos.forEach(gasto -> assertNotNull(gasto.getCategoria().getNome()));
+
+        // Páginas incompletas não disparam COUNT, então sobra apenas o SELECT da página
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        statistics.clear();
+    }
+}
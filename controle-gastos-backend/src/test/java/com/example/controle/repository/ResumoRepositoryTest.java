@@ -0,0 +1,81 @@
+package com.example.controle.repository;
+
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.ResumoDiario;
+import com.example.controle.model.entity.ResumoMensal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Usa o H2 em modo MySQL de application-test.properties, por causa do ON DUPLICATE KEY UPDATE
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ResumoRepositoryTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void deveCriarOResumoNaPrimeiraEscritaESomarNasSeguintes() {
+        resumoDiarioRepository.acumular(1L, 10L, DIA, new BigDecimal("50.00"), 1L);
+        resumoDiarioRepository.acumular(1L, 10L, DIA, new BigDecimal("25.50"), 1L);
+        resumoDiarioRepository.acumular(1L, 10L, DIA, new BigDecimal("-50.00"), -1L);
+        resumoDiarioRepository.acumular(1L, 10L, DIA.plusDays(1), new BigDecimal("7.00"), 1L);
+
+        resumoMensalRepository.acumular(1L, 10L, 2024, 3, new BigDecimal("50.00"), 1L);
+        resumoMensalRepository.acumular(1L, 10L, 2024, 3, new BigDecimal("25.50"), 1L);
+        entityManager.clear();
+
+        List<ResumoDiario> diarios = resumoDiarioRepository.findAll();
+        diarios.sort(Comparator.comparing(ResumoDiario::getDia));
+        assertEquals(2, diarios.size());
+        assertEquals(0, new BigDecimal("25.50").compareTo(diarios.get(0).getTotal()));
+        assertEquals(1L, diarios.get(0).getQuantidade());
+        assertEquals(0, new BigDecimal("7.00").compareTo(diarios.get(1).getTotal()));
+
+        List<ResumoMensal> mensais = resumoMensalRepository.findAll();
+        assertEquals(1, mensais.size());
+        assertEquals(0, new BigDecimal("75.50").compareTo(mensais.get(0).getTotal()));
+        assertEquals(2L, mensais.get(0).getQuantidade());
+    }
+
+    @Test
+    void deveAgruparApenasOsMesesDoIntervaloAtravessandoOAno() {
+        Categoria categoria = entityManager.persist(new Categoria("Mercado", null));
+        Long categoriaId = categoria.getId();
+        resumoMensalRepository.acumular(1L, categoriaId, 2023, 10, new BigDecimal("1.00"), 1L);
+        resumoMensalRepository.acumular(1L, categoriaId, 2023, 11, new BigDecimal("2.00"), 1L);
+        resumoMensalRepository.acumular(1L, categoriaId, 2023, 12, new BigDecimal("3.00"), 1L);
+        resumoMensalRepository.acumular(1L, categoriaId, 2024, 1, new BigDecimal("4.00"), 1L);
+        resumoMensalRepository.acumular(1L, categoriaId, 2024, 2, new BigDecimal("5.00"), 1L);
+        resumoMensalRepository.acumular(1L, categoriaId, 2024, 3, new BigDecimal("6.00"), 1L);
+        resumoMensalRepository.acumular(2L, categoriaId, 2024, 1, new BigDecimal("9.00"), 1L);
+
+        List<Object[]> linhas = resumoMensalRepository.agruparPorMesECategoriaNoIntervalo(1L, 2023, 11, 2024, 2);
+
+        Set<String> meses = linhas.stream().map(linha -> linha[0] + "-" + linha[1]).collect(Collectors.toSet());
+        assertEquals(4, linhas.size());
+        assertEquals(Set.of("2023-11", "2023-12", "2024-1", "2024-2"), meses);
+    }
+}
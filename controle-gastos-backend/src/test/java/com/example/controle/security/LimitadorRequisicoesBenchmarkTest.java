@@ -0,0 +1,92 @@
+package com.example.controle.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Custo do limitador por requisição com várias threads: cada uma com as suas
+ * chaves (usuários diferentes) e todas na mesma chave (um usuário em rajada,
+ * disputando o CAS do mesmo balde). A limpeza roda em paralelo, como o
+ * {@code @Scheduled} do filtro. Execute com
+ * {@code mvn test -Dtest=LimitadorRequisicoesBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LimitadorRequisicoesBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+    private static final int EXECUCOES = Integer.getInteger("benchmark.execucoes", 1_000_000);
+    private static final int CHAVES_POR_THREAD = 10_000;
+
+    // Taxa alta o bastante para quase tudo ser admitido: mede o caminho comum, não o 429
+    private final LimitadorRequisicoes.Regra regra = new LimitadorRequisicoes.Regra(1_000_000, 60_000_000_000L);
+
+    @Test
+    void medirCustoPorRequisicao() throws Exception {
+        String[][] chaves = new String[THREADS][CHAVES_POR_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < CHAVES_POR_THREAD; i++) {
+                chaves[t][i] = "dashboard:u" + (t * CHAVES_POR_THREAD + i);
+            }
+        }
+        String[][] mesmaChave = new String[THREADS][];
+        for (int t = 0; t < THREADS; t++) {
+            mesmaChave[t] = new String[] {"dashboard:u0"};
+        }
+
+        medir(chaves);
+        medir(mesmaChave);
+        double muitasChavesMicros = medir(chaves);
+        double mesmaChaveMicros = medir(mesmaChave);
+
+        System.out.printf("Limitador por requisição (%d threads, %d execuções cada)%n", THREADS, EXECUCOES);
+        System.out.printf("  chaves distintas  %8.3f µs%n", muitasChavesMicros);
+        System.out.printf("  mesma chave       %8.3f µs%n", mesmaChaveMicros);
+        assertTrue(mesmaChaveMicros < 10 && muitasChavesMicros < 10);
+    }
+
+    /** Média em microssegundos por chamada, vista por cada thread. */
+    private double medir(String[][] chaves) throws Exception {
+        LimitadorRequisicoes limitador = new LimitadorRequisicoes();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> threads = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1)) {
+            for (String[] chavesDaThread : chaves) {
+                threads.add(executor.submit(() -> {
+                    largada.await();
+                    long inicio = System.nanoTime();
+                    long esperas = 0;
+                    for (int i = 0; i < EXECUCOES; i++) {
+                        esperas += limitador.consumir(chavesDaThread[i % chavesDaThread.length], regra);
+                    }
+                    long duracao = System.nanoTime() - inicio;
+                    assertTrue(esperas >= 0);
+                    return duracao;
+                }));
+            }
+            Future<?> limpeza = executor.submit(() -> {
+                largada.await();
+                while (!threads.stream().allMatch(Future::isDone)) {
+                    limitador.removerOciosos();
+                    Thread.sleep(10);
+                }
+                return null;
+            });
+            largada.countDown();
+            long total = 0;
+            for (Future<Long> thread : threads) {
+                total += thread.get();
+            }
+            limpeza.get();
+            return total / 1_000.0 / EXECUCOES / chaves.length;
+        }
+    }
+}
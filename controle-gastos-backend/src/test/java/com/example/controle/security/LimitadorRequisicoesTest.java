@@ -0,0 +1,107 @@
+package com.example.controle.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorRequisicoesTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong relogio = new AtomicLong(1_000 * SEGUNDO);
+    private final LimitadorRequisicoes limitador = new LimitadorRequisicoes(relogio::get);
+
+    // Rajada de 3, uma ficha a cada 10 s
+    private final LimitadorRequisicoes.Regra regra = new LimitadorRequisicoes.Regra(3, 6);
+
+    @Test
+    void devePermitirARajadaEReporAFichaNoIntervalo() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.consumir("u1", regra));
+        }
+        assertEquals(10 * SEGUNDO, limitador.consumir("u1", regra));
+        // Outra chave tem o próprio balde
+        assertEquals(0, limitador.consumir("u2", regra));
+
+        relogio.addAndGet(4 * SEGUNDO);
+        assertEquals(6 * SEGUNDO, limitador.consumir("u1", regra));
+
+        relogio.addAndGet(6 * SEGUNDO);
+        assertEquals(0, limitador.consumir("u1", regra));
+        assertTrue(limitador.consumir("u1", regra) > 0);
+    }
+
+    @Test
+    void deveRemoverApenasBaldesCheios() {
+        limitador.consumir("u1", regra);
+        relogio.addAndGet(5 * SEGUNDO);
+        limitador.consumir("u2", regra);
+
+        relogio.addAndGet(5 * SEGUNDO);
+        assertEquals(1, limitador.removerOciosos());
+        assertEquals(1, limitador.getTamanho());
+
+        // O balde em uso mantém o consumo: 1 já gasto, restam 2
+        assertEquals(0, limitador.consumir("u2", regra));
+        assertEquals(0, limitador.consumir("u2", regra));
+        assertTrue(limitador.consumir("u2", regra) > 0);
+    }
+
+    @Test
+    void naoDeveAdmitirMaisQueACapacidadeComALimpezaConcorrente() throws Exception {
+        int threads = 8;
+        int chaves = 1024;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+            for (int rodada = 0; rodada < 200; rodada++) {
+                // Cada rodada começa com todos os baldes cheios, que a limpeza pode marcar como
+                // REMOVIDO entre o computeIfAbsent e o CAS de quem consome
+                CountDownLatch largada = new CountDownLatch(1);
+                AtomicIntegerArray admitidas = new AtomicIntegerArray(chaves);
+                List<Future<?>> tarefas = new ArrayList<>();
+                AtomicInteger consumindo = new AtomicInteger(threads);
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    while (consumindo.get() > 0) {
+                        limitador.removerOciosos();
+                    }
+                    return null;
+                }));
+                for (int t = 0; t < threads; t++) {
+                    int deslocamento = t * chaves / threads;
+                    tarefas.add(executor.submit(() -> {
+                        largada.await();
+                        for (int i = 0; i < 2 * chaves; i++) {
+                            int chave = (deslocamento + i) % chaves;
+                            if (limitador.consumir("u" + chave, regra) == 0) {
+                                admitidas.incrementAndGet(chave);
+                            }
+                        }
+                        consumindo.decrementAndGet();
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+
+                // O relógio está parado durante a rodada: nenhuma ficha é reposta
+                for (int chave = 0; chave < chaves; chave++) {
+                    assertEquals(3, admitidas.get(chave), "rodada " + rodada + ", chave " + chave);
+                }
+                relogio.addAndGet(30 * SEGUNDO);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.controle.security;
+
+import com.example.controle.exception.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderIsoladoTest {
+
+    @Test
+    void deveRecusarNaHoraQuandoAFilaEstiverCheia() throws Exception {
+        CountDownLatch iniciado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                iniciado.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PasswordEncoderIsolado encoder = new PasswordEncoderIsolado(lento, 1, 1, 3, registry)) {
+            // Uma operação em execução e outra na fila ocupam o pool inteiro
+            CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (registry.get("executor.queued").gauge().value() < 1) {
+                Thread.sleep(10);
+            }
+
+            ServicoSobrecarregadoException recusa =
+                assertThrows(ServicoSobrecarregadoException.class, () -> encoder.matches("c", "hash:c"));
+            assertEquals(3, recusa.getRetryAfterSegundos());
+            assertEquals(1, registry.get("seguranca.senhas.rejeitadas").counter().count());
+
+            liberar.countDown();
+            assertEquals("hash:a", emExecucao.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:b", naFila.get(5, TimeUnit.SECONDS));
+            assertTrue(encoder.matches("c", "hash:c"));
+        }
+    }
+}
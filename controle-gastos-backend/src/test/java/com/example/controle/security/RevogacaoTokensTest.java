@@ -0,0 +1,47 @@
+package com.example.controle.security;
+
+import com.example.controle.cache.UsuarioCache;
+import com.example.controle.event.AcessoUsuarioAlteradoEvent;
+import com.example.controle.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RevogacaoTokensTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final UsuarioCache usuarioCache = mock(UsuarioCache.class);
+    private final RevogacaoTokens revogacaoTokens = new RevogacaoTokens(usuarioRepository, usuarioCache);
+
+    @Test
+    void deveAceitarApenasTokensComVersaoAtualDeUsuariosAtivos() {
+        when(usuarioRepository.findEstadosDeAcesso()).thenReturn(List.<Object[]>of(
+            new Object[]{1L, 2L, true, "um@email.com"},
+            new Object[]{2L, 1L, false, "dois@email.com"}));
+        revogacaoTokens.atualizar();
+
+        assertTrue(revogacaoTokens.aceita(3L, 0L));
+        assertFalse(revogacaoTokens.aceita(1L, 1L));
+        assertTrue(revogacaoTokens.aceita(1L, 2L));
+        assertFalse(revogacaoTokens.aceita(2L, 1L));
+
+        // Só os usuários cujo estado mudou saem do cache de usuários
+        revogacaoTokens.atualizar();
+        verify(usuarioCache, times(1)).invalidar("um@email.com");
+        verify(usuarioCache, times(1)).invalidar("dois@email.com");
+    }
+
+    @Test
+    void naoDeveRegredirParaUmaLeituraAnteriorAAlteracao() {
+        revogacaoTokens.aoAlterarAcesso(new AcessoUsuarioAlteradoEvent(1L, "um@email.com", 5L, false));
+
+        // Leitura periódica que começou antes do commit da desativação
+        when(usuarioRepository.findEstadosDeAcesso()).thenReturn(List.<Object[]>of(new Object[]{1L, 4L, true, "um@email.com"}));
+        revogacaoTokens.atualizar();
+
+        assertFalse(revogacaoTokens.aceita(1L, 5L));
+    }
+}
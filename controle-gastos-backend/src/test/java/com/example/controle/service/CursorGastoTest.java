@@ -0,0 +1,45 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorGastoTest {
+
+    @Test
+    void deveDecodificarOProprioTokenNasDuasDirecoes() {
+        CursorGasto descendente = new CursorGasto(LocalDate.of(2024, 2, 29), 1234567890123L, false);
+        CursorGasto ascendente = new CursorGasto(LocalDate.of(2024, 2, 29), 1234567890123L, true);
+
+        assertEquals(descendente, CursorGasto.decodificar(descendente.codificar()));
+        assertEquals(ascendente, CursorGasto.decodificar(ascendente.codificar()));
+        assertNotEquals(descendente.codificar(), ascendente.codificar());
+        // Seguro para query string sem escape
+        assertTrue(descendente.codificar().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void deveRecusarTokensInvalidos() {
+        for (String token : new String[]{
+            "não é base64!",
+            base64("2024-01-01|5"),              // formato anterior, sem direção
+            base64("X|2024-01-01|5"),
+            base64("A|2024-13-01|5"),
+            base64("D|2024-01-01|cinco"),
+            base64("A|2024-01-01|5|6"),
+            ""
+        }) {
+            BusinessException erro = assertThrows(BusinessException.class, () -> CursorGasto.decodificar(token), token);
+            assertEquals("Cursor de paginação inválido", erro.getMessage());
+        }
+    }
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.controle.service;
+
+import com.example.controle.cache.DashboardCache;
+import com.example.controle.model.dto.DashboardDTO;
+import com.example.controle.repository.GastoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAquecimentoServiceTest {
+
+    @Mock
+    private GastoRepository gastoRepository;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DashboardCache dashboardCache =
+        new DashboardCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+
+    private ExecutorService executor;
+    private DashboardAquecimentoService aquecimentoService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        aquecimentoService = new DashboardAquecimentoService(
+            gastoRepository, dashboardService, dashboardCache, executor, meterRegistry, 2);
+        ReflectionTestUtils.setField(aquecimentoService, "diasAtividade", 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void deveAquecerDashboardDosUsuariosAtivosERegistrarCobertura() {
+        YearMonth mes = YearMonth.now();
+        when(gastoRepository.findUsuariosAtivosAposId(any(), eq(0L), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(dashboardService.calcularDashboardSequencial(any(), eq(mes))).thenReturn(new DashboardDTO());
+        when(dashboardService.calcularDashboardSequencial(3L, mes)).thenThrow(new RuntimeException("falha"));
+
+        int aquecidos = aquecimentoService.aquecer();
+
+        assertEquals(2, aquecidos);
+        assertEquals(2.0 / 3, meterRegistry.get("dashboard.aquecimento.cobertura").gauge().value(), 0.0001);
+        assertEquals(1.0, meterRegistry.get("dashboard.aquecimento.falhas").counter().count());
+
+        // O dashboard aquecido é servido do cache, sem novo cálculo
+        dashboardCache.obter(1L, mes, () -> fail("dashboard deveria estar em cache"));
+        verify(dashboardService, times(1)).calcularDashboardSequencial(1L, mes);
+        // Uma conexão por dashboard, mesmo com o modo paralelo habilitado
+        verify(dashboardService, never()).calcularDashboard(any(), any());
+    }
+
+    @Test
+    void deveRecusarLimiteDeConsultasMenorQueUm() {
+        assertThrows(IllegalStateException.class, () -> new DashboardAquecimentoService(
+            gastoRepository, dashboardService, dashboardCache, executor, new SimpleMeterRegistry(), 0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.controle.service;
+
+import com.example.controle.cache.DashboardCache;
+import com.example.controle.mapper.GastoMapper;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.ResumoMensalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Latência do dashboard nos modos sequencial e paralelo, com uma latência
+ * artificial fixa por consulta no lugar do banco. Mede o efeito de sobrepor as
+ * consultas, não o custo de cada uma. Execute com
+ * {@code mvn test -Dtest=DashboardParaleloBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DashboardParaleloBenchmarkTest {
+
+    private static final YearMonth MES = YearMonth.of(2024, 2);
+    private static final long LATENCIA_CONSULTA_MS = Long.getLong("benchmark.latencia-ms", 15);
+    private static final int EXECUCOES = Integer.getInteger("benchmark.execucoes", 40);
+
+    @Test
+    void medirLatenciaSequencialEParalela() {
+        GastoRepository gastoRepository = mock(GastoRepository.class);
+        GastoMapper gastoMapper = mock(GastoMapper.class);
+        when(gastoRepository.somarGastosPorUsuarioEPeriodo(any(), any(), any()))
+            .thenAnswer(comLatencia(new BigDecimal("100.00")));
+        when(gastoRepository.contarGastosPorUsuarioEPeriodo(any(), any(), any())).thenAnswer(comLatencia(1L));
+        when(gastoRepository.agruparPorCategoriaEPeriodo(any(), any(), any())).thenAnswer(comLatencia(List.of()));
+        when(gastoRepository.agruparPorDiaEPeriodo(any(), any(), any())).thenAnswer(comLatencia(List.of()));
+        when(gastoRepository.findTopGastosByUsuarioAndPeriodo(any(), any(), any(), any())).thenAnswer(comLatencia(List.of()));
+        when(gastoMapper.toResponseDTOList(any())).thenReturn(List.of());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            DashboardService service = new DashboardService(gastoRepository, gastoMapper,
+                mock(ResumoDiarioRepository.class), mock(ResumoMensalRepository.class),
+                new DashboardCache(new SimpleMeterRegistry(), false, 10, Duration.ofMinutes(1)),
+                mock(PlatformTransactionManager.class), executor);
+            ReflectionTestUtils.setField(service, "maxConsultasSimultaneas", 3);
+
+            long[] sequencial = medir(service, false);
+            long[] paralelo = medir(service, true);
+
+            System.out.printf("Dashboard (%d consultas de %d ms, %d execuções)%n", 6, LATENCIA_CONSULTA_MS, EXECUCOES);
+            imprimir("sequencial", sequencial);
+            imprimir("paralelo (3 conexões)", paralelo);
+            assertTrue(percentil(paralelo, 0.99) < percentil(sequencial, 0.50));
+        }
+    }
+
+    private static long[] medir(DashboardService service, boolean paralelo) {
+        ReflectionTestUtils.setField(service, "paraleloHabilitado", paralelo);
+        for (int i = 0; i < 5; i++) {
+            service.calcularDashboard(1L, MES);
+        }
+        long[] tempos = new long[EXECUCOES];
+        for (int i = 0; i < EXECUCOES; i++) {
+            long inicio = System.nanoTime();
+            service.calcularDashboard(1L, MES);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos;
+    }
+
+    private static void imprimir(String modo, long[] tempos) {
+        System.out.printf("  %-22s p50 %6.1f ms   p99 %6.1f ms%n", modo,
+            percentil(tempos, 0.50) / 1e6, percentil(tempos, 0.99) / 1e6);
+    }
+
+    private static long percentil(long[] ordenados, double p) {
+        return ordenados[Math.min(ordenados.length - 1, (int) Math.ceil(p * ordenados.length) - 1)];
+    }
+
+    private static <T> Answer<T> comLatencia(T resultado) {
+        return invocacao -> {
+            Thread.sleep(LATENCIA_CONSULTA_MS);
+            return resultado;
+        };
+    }
+}
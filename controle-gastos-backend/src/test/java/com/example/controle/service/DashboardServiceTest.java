@@ -0,0 +1,157 @@
+package com.example.controle.service;
+
+import com.example.controle.cache.DashboardCache;
+import com.example.controle.mapper.GastoMapper;
+import com.example.controle.model.dto.DashboardDTO;
+import com.example.controle.model.dto.TendenciaDTO;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.ResumoMensalRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardServiceTest {
+
+    private static final YearMonth MES = YearMonth.of(2024, 2);
+
+    @Mock
+    private GastoRepository gastoRepository;
+
+    @Mock
+    private GastoMapper gastoMapper;
+
+    @Mock
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Mock
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        DashboardCache cacheDesabilitado = new DashboardCache(new SimpleMeterRegistry(), false, 10, Duration.ofMinutes(1));
+        dashboardService = new DashboardService(gastoRepository, gastoMapper, resumoDiarioRepository,
+            resumoMensalRepository, cacheDesabilitado, transactionManager, executor);
+
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, "teste@email.com", Usuario.Role.USER, 0L);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+
+        LocalDate inicio = MES.atDay(1);
+        LocalDate fim = MES.atEndOfMonth();
+        when(gastoRepository.somarGastosPorUsuarioEPeriodo(1L, inicio, fim)).thenReturn(new BigDecimal("300.00"));
+        when(gastoRepository.somarGastosPorUsuarioEPeriodo(eq(1L), eq(LocalDate.of(2024, 1, 1)), any()))
+            .thenReturn(new BigDecimal("200.00"));
+        when(gastoRepository.contarGastosPorUsuarioEPeriodo(1L, inicio, fim)).thenReturn(3L);
+        when(gastoRepository.agruparPorCategoriaEPeriodo(1L, inicio, fim)).thenReturn(List.<Object[]>of(
+            new Object[]{"Alimentação", "#E74C3C", new BigDecimal("300.00"), 3L}));
+        when(gastoRepository.agruparPorDiaEPeriodo(1L, inicio, fim)).thenReturn(List.<Object[]>of(
+            new Object[]{LocalDate.of(2024, 2, 10), new BigDecimal("300.00")}));
+        when(gastoMapper.toResponseDTOList(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        executor.close();
+    }
+
+    @Test
+    void deveGerarMesmoDashboardNosModosSequencialEParalelo() {
+        DashboardDTO sequencial = dashboardService.getDashboard(MES);
+
+        ReflectionTestUtils.setField(dashboardService, "paraleloHabilitado", true);
+        ReflectionTestUtils.setField(dashboardService, "maxConsultasSimultaneas", 2);
+        DashboardDTO paralelo = dashboardService.getDashboard(MES);
+
+        for (DashboardDTO dashboard : List.of(sequencial, paralelo)) {
+            assertEquals(new BigDecimal("300.00"), dashboard.getTotalMes());
+            assertEquals(new BigDecimal("200.00"), dashboard.getTotalMesAnterior());
+            assertEquals(new BigDecimal("50.00"), dashboard.getPercentualVariacao());
+            assertEquals(3L, dashboard.getQuantidadeGastos());
+            assertEquals(new BigDecimal("100.00"), dashboard.getTicketMedio());
+            assertEquals(new BigDecimal("100.00"), dashboard.getGastosPorCategoria().get(0).getPercentual());
+            assertEquals(LocalDate.of(2024, 2, 1), dashboard.getGastosPorDia().getInicio());
+            assertEquals(29, dashboard.getGastosPorDia().getCentavos().length);
+            assertEquals(30000L, dashboard.getGastosPorDia().getCentavos()[9]);
+            assertEquals(0L, dashboard.getGastosPorDia().getCentavos()[10]);
+        }
+        // Uma transação no modo sequencial e uma por consulta no modo paralelo
+        verify(transactionManager, times(7)).getTransaction(any());
+    }
+
+    @Test
+    void deveAgregarMesAtualEAnteriorEmConsultaUnica() {
+        ReflectionTestUtils.setField(dashboardService, "consultaUnicaHabilitada", true);
+        when(gastoRepository.agruparPorCategoriaEDiaNoPeriodo(1L, LocalDate.of(2024, 1, 1), MES.atEndOfMonth()))
+            .thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Alimentação", "#E74C3C", LocalDate.of(2024, 1, 20), new BigDecimal("200.00"), 2L},
+                new Object[]{1L, "Alimentação", "#E74C3C", LocalDate.of(2024, 2, 10), new BigDecimal("100.00"), 1L},
+                new Object[]{2L, "Transporte", "#3498DB", LocalDate.of(2024, 2, 10), new BigDecimal("50.00"), 1L},
+                new Object[]{2L, "Transporte", "#3498DB", LocalDate.of(2024, 2, 12), new BigDecimal("150.00"), 2L}));
+
+        DashboardDTO dashboard = dashboardService.getDashboard(MES);
+
+        assertEquals(new BigDecimal("300.00"), dashboard.getTotalMes());
+        assertEquals(new BigDecimal("200.00"), dashboard.getTotalMesAnterior());
+        assertEquals(4L, dashboard.getQuantidadeGastos());
+        assertEquals("Transporte", dashboard.getGastosPorCategoria().get(0).getCategoria());
+        assertEquals(new BigDecimal("200.00"), dashboard.getGastosPorCategoria().get(0).getTotal());
+        assertEquals(15000L, dashboard.getGastosPorDia().getCentavos()[9]);
+        assertEquals(15000L, dashboard.getGastosPorDia().getCentavos()[11]);
+        verify(gastoRepository, never()).somarGastosPorUsuarioEPeriodo(any(), any(), any());
+        verify(gastoRepository, never()).agruparPorDiaEPeriodo(any(), any(), any());
+    }
+
+    @Test
+    void deveMontarTendenciaComMesesSemGastosZerados() {
+        when(gastoRepository.agruparPorMesECategoriaNoPeriodo(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)))
+            .thenReturn(List.<Object[]>of(
+                new Object[]{2024, 1, 1L, "Alimentação", "#E74C3C", new BigDecimal("100.00"), 2L},
+                new Object[]{2024, 3, 1L, "Alimentação", "#E74C3C", new BigDecimal("50.00"), 1L},
+                new Object[]{2024, 3, 2L, "Moradia", "#9B59B6", new BigDecimal("900.00"), 1L}));
+
+        TendenciaDTO tendencia = dashboardService.getTendencia(YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        assertEquals(List.of("2024-01", "2024-02", "2024-03"), tendencia.getMeses());
+        assertEquals(List.of(new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("950.00")), tendencia.getTotais());
+        assertEquals(List.of(2L, 0L, 2L), tendencia.getQuantidades());
+        assertEquals("Moradia", tendencia.getCategorias().get(0).getCategoria());
+        assertEquals(List.of(new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("50.00")),
+            tendencia.getCategorias().get(1).getTotais());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.controle.service;
+
+import com.example.controle.exception.LimiteExcedidoException;
+import com.example.controle.exception.ServicoSobrecarregadoException;
+import com.example.controle.model.dto.GastoFilterDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportacaoServiceTest {
+
+    private final GastoService gastoService = mock(GastoService.class);
+    private final GastoRepository gastoRepository = mock(GastoRepository.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private ExportacaoService exportacaoService;
+
+    @BeforeEach
+    void setUp() {
+        exportacaoService = new ExportacaoService(gastoService, gastoRepository, mock(EntityManager.class),
+            objectMapper, mock(PlatformTransactionManager.class), 2, 1);
+        autenticar(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveExportarCsvComAspasNosCamposQueExigem() throws IOException {
+        when(gastoRepository.percorrer(any(), any())).thenReturn(Stream.of(
+            gasto(1L, "Almoço", null),
+            gasto(2L, "Mercado, feira", "disse \"só hoje\"\nsegunda linha")));
+
+        String csv = escrever(exportacaoService.exportar(filtro(), FormatoExportacao.CSV));
+
+        assertEquals("id,dataGasto,descricao,valor,categoriaId,categoria,observacao\r\n" +
+            "1,2024-03-15,Almoço,50.00,7,Alimentação,\r\n" +
+            "2,2024-03-15,\"Mercado, feira\",50.00,7,Alimentação,\"disse \"\"só hoje\"\"\nsegunda linha\"\r\n", csv);
+    }
+
+    @Test
+    void deveExportarUmObjetoJsonPorLinha() throws IOException {
+        when(gastoRepository.percorrer(any(), any())).thenReturn(Stream.of(
+            gasto(1L, "Almoço", null),
+            gasto(2L, "Mercado", "linha\nquebrada")));
+
+        String ndjson = escrever(exportacaoService.exportar(filtro(), FormatoExportacao.NDJSON));
+
+        String[] linhas = ndjson.split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals("Almoço", objectMapper.readTree(linhas[0]).get("descricao").asText());
+        assertEquals("2024-03-15", objectMapper.readTree(linhas[0]).get("dataGasto").asText());
+        assertEquals("linha\nquebrada", objectMapper.readTree(linhas[1]).get("observacao").asText());
+    }
+
+    @Test
+    void deveLimitarAsExportacoesSimultaneasPorUsuarioENoTotal() throws IOException {
+        when(gastoRepository.percorrer(any(), any())).thenAnswer(invocacao -> Stream.empty());
+
+        StreamingResponseBody primeira = exportacaoService.exportar(filtro(), FormatoExportacao.CSV);
+        assertThrows(LimiteExcedidoException.class, () -> exportacaoService.exportar(filtro(), FormatoExportacao.CSV));
+
+        autenticar(2L);
+        StreamingResponseBody segunda = exportacaoService.exportar(filtro(), FormatoExportacao.CSV);
+        autenticar(3L);
+        assertThrows(ServicoSobrecarregadoException.class,
+            () -> exportacaoService.exportar(filtro(), FormatoExportacao.CSV));
+
+        // Terminada a escrita, as vagas voltam
+        escrever(primeira);
+        escrever(segunda);
+        exportacaoService.exportar(filtro(), FormatoExportacao.CSV);
+        autenticar(1L);
+        exportacaoService.exportar(filtro(), FormatoExportacao.CSV);
+    }
+
+    private static String escrever(StreamingResponseBody corpo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        corpo.writeTo(saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static GastoFilterDTO filtro() {
+        GastoFilterDTO filtro = new GastoFilterDTO();
+        filtro.setOrdenarPor("dataGasto");
+        filtro.setDirecao("ASC");
+        return filtro;
+    }
+
+    private static Gasto gasto(Long id, String descricao, String observacao) {
+        Categoria categoria = new Categoria();
+        categoria.setId(7L);
+        categoria.setNome("Alimentação");
+        Gasto gasto = new Gasto();
+        gasto.setId(id);
+        gasto.setDescricao(descricao);
+        gasto.setValor(new BigDecimal("50.00"));
+        gasto.setDataGasto(LocalDate.of(2024, 3, 15));
+        gasto.setCategoria(categoria);
+        gasto.setObservacao(observacao);
+        return gasto;
+    }
+
+    private static void autenticar(Long id) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(id, "exportacao" + id + "@email.com", Usuario.Role.USER, 0L);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.controle.service;
+
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caminho de escrita da atualização de um gasto com vários escritores
+ * simultâneos, cada um no seu gasto e trocando de categoria a cada vez (o pior
+ * caso do caminho novo). Compara o caminho antigo (findById do gasto e da
+ * categoria, dirty checking e UPDATE de todas as colunas), o intermediário
+ * (linha bloqueada, leitura da categoria e {@code atualizarCampos}) e o atual
+ * (linha bloqueada, referência à categoria e {@code atualizarCampos}). Resumos
+ * e eventos ficam de fora dos três. Por padrão usa o H2 em memória do perfil de
+ * teste, onde o SELECT ... FOR UPDATE grava o bloqueio na própria linha e custa
+ * bem mais do que no InnoDB; para medir no MySQL, informe
+ * {@code -Dspring.datasource.url} e as credenciais. Execute com
+ * {@code mvn test -Dtest=GastoAtualizacaoBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.SQL=WARN",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GastoAtualizacaoBenchmarkTest {
+
+    private static final int ESCRITORES = Integer.getInteger("benchmark.escritores", 8);
+    private static final int EXECUCOES = Integer.getInteger("benchmark.execucoes", 2_000);
+
+    @Autowired
+    private GastoRepository gastoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void medirAtualizacoesPorSegundo() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário Benchmark");
+        usuario.setEmail("benchmark-" + System.nanoTime() + "@email.com");
+        usuario.setSenha("senha");
+        Usuario dono = usuarioRepository.save(usuario);
+        Long[] categorias = {
+            categoriaRepository.save(new Categoria("Benchmark A " + System.nanoTime(), null)).getId(),
+            categoriaRepository.save(new Categoria("Benchmark B " + System.nanoTime(), null)).getId()
+        };
+        List<Long> gastos = new ArrayList<>();
+        for (int i = 0; i < ESCRITORES; i++) {
+            Gasto gasto = new Gasto("Gasto " + i, new BigDecimal("10.00"),
+                categoriaRepository.getReferenceById(categorias[0]), dono);
+            gasto.setDataGasto(LocalDate.of(2024, 1, 1));
+            gastos.add(gastoRepository.save(gasto).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Escrita antiga = (gastoId, categoriaId, valor) -> {
+            Gasto gasto = gastoRepository.findById(gastoId).orElseThrow();
+            gasto.setCategoria(categoriaRepository.findById(categoriaId).orElseThrow());
+            gasto.setValor(valor);
+            gastoRepository.save(gasto);
+        };
+        Escrita intermediaria = (gastoId, categoriaId, valor) -> {
+            Gasto gasto = gastoRepository.findParaAlteracao(gastoId, dono.getId()).orElseThrow();
+            gasto.setCategoria(categoriaRepository.findById(categoriaId).orElseThrow());
+            gasto.setValor(valor);
+            assertEquals(1, gastoRepository.atualizarCampos(gasto, dono.getId()));
+        };
+        Escrita atual = (gastoId, categoriaId, valor) -> {
+            Gasto gasto = gastoRepository.findParaAlteracao(gastoId, dono.getId()).orElseThrow();
+            gasto.setCategoria(categoriaRepository.getReferenceById(categoriaId));
+            gasto.setValor(valor);
+            assertEquals(1, gastoRepository.atualizarCampos(gasto, dono.getId()));
+        };
+
+        System.out.printf("Atualização de gastos (%d escritores, %d atualizações cada)%n", ESCRITORES, EXECUCOES);
+        for (Escrita escrita : List.of(antiga, intermediaria, atual)) {
+            medir(escrita, gastos, categorias, EXECUCOES / 10);
+        }
+        double antigaPorSegundo = imprimir("antiga", medir(antiga, gastos, categorias, EXECUCOES), statistics);
+        imprimir("intermediária", medir(intermediaria, gastos, categorias, EXECUCOES), statistics);
+        double atualPorSegundo = imprimir("atual", medir(atual, gastos, categorias, EXECUCOES), statistics);
+        assertTrue(atualPorSegundo > 0 && antigaPorSegundo > 0);
+    }
+
+    private double imprimir(String caminho, long duracaoNanos, Statistics statistics) {
+        long total = (long) EXECUCOES * ESCRITORES;
+        double porSegundo = total * 1_000_000_000.0 / duracaoNanos;
+        System.out.printf("  %-14s %8.0f atualizações/s, %.1f comandos SQL por atualização%n",
+            caminho + ":", porSegundo, (double) statistics.getPrepareStatementCount() / total);
+        statistics.clear();
+        return porSegundo;
+    }
+
+    private long medir(Escrita escrita, List<Long> gastos, Long[] categorias, int execucoes) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> escritores = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES)) {
+            for (Long gastoId : gastos) {
+                escritores.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < execucoes; i++) {
+                        BigDecimal valor = BigDecimal.valueOf(1 + i % 900, 2);
+                        Long categoriaId = categorias[i % 2];
+                        transactionTemplate.executeWithoutResult(status -> escrita.executar(gastoId, categoriaId, valor));
+                    }
+                    return null;
+                }));
+            }
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> escritor : escritores) {
+                escritor.get();
+            }
+            return System.nanoTime() - inicio;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        void executar(Long gastoId, Long categoriaId, BigDecimal valor);
+    }
+}
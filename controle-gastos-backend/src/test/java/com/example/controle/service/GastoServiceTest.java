@@ -1,29 +1,48 @@
 package com.example.controle.service;
 
+import com.example.controle.busca.IndiceTextoGastos;
+import com.example.controle.cache.ContagemCache;
+import com.example.controle.cache.SugestoesCache;
+import com.example.controle.exception.BusinessException;
 import com.example.controle.exception.ResourceNotFoundException;
 import com.example.controle.mapper.GastoMapper;
+import com.example.controle.model.dto.GastoFilterDTO;
 import com.example.controle.model.dto.GastoRequestDTO;
 import com.example.controle.model.dto.GastoResponseDTO;
 import com.example.controle.model.entity.Categoria;
 import com.example.controle.model.entity.Gasto;
 import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
 import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +57,27 @@ class GastoServiceTest {
     @Mock
     private CategoriaService categoriaService;
 
+    @Mock
+    private ResumoGastoService resumoGastoService;
+
+    @Mock
+    private ContagemCache contagemCache;
+
+    @Mock
+    private IndiceTextoGastos indiceTextoGastos;
+
+    @Mock
+    private SugestoesCache sugestoesCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -83,7 +123,7 @@ class GastoServiceTest {
         gastoResponseDTO.setValor(new BigDecimal("50.00"));
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(usuarioTeste);
+        when(authentication.getPrincipal()).thenReturn(UsuarioAutenticado.de(usuarioTeste));
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -99,11 +139,12 @@ class GastoServiceTest {
         assertNotNull(resultado);
         assertEquals("Almoço", resultado.getDescricao());
         verify(gastoRepository, times(1)).save(any(Gasto.class));
+        verify(resumoGastoService).registrar(1L, 1L, gastoTeste.getDataGasto(), new BigDecimal("50.00"), 1);
     }
 
     @Test
     void deveBuscarGastoPorIdComSucesso() {
-        when(gastoRepository.findById(1L)).thenReturn(Optional.of(gastoTeste));
+        when(gastoRepository.findByIdAndUsuarioId(1L, 1L)).thenReturn(Optional.of(gastoTeste));
         when(gastoMapper.toResponseDTO(gastoTeste)).thenReturn(gastoResponseDTO);
 
         GastoResponseDTO resultado = gastoService.buscarPorId(1L);
@@ -114,7 +155,7 @@ class GastoServiceTest {
 
     @Test
     void deveLancarExcecaoQuandoGastoNaoEncontrado() {
-        when(gastoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(gastoRepository.findByIdAndUsuarioId(999L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             gastoService.buscarPorId(999L);
@@ -123,23 +164,122 @@ class GastoServiceTest {
 
     @Test
     void deveDeletarGastoComSucesso() {
-        when(gastoRepository.findById(1L)).thenReturn(Optional.of(gastoTeste));
+        when(gastoRepository.findParaAlteracao(1L, 1L)).thenReturn(Optional.of(gastoTeste));
+        when(gastoRepository.deletarPorIdEUsuario(1L, 1L)).thenReturn(1);
 
         gastoService.deletar(1L);
 
-        verify(gastoRepository, times(1)).delete(gastoTeste);
+        verify(gastoRepository, times(1)).deletarPorIdEUsuario(1L, 1L);
+        verify(resumoGastoService).registrar(1L, 1L, gastoTeste.getDataGasto(), new BigDecimal("-50.00"), -1);
     }
 
     @Test
     void naoDevePermitirAcessoAGastoDeOutroUsuario() {
-        Usuario outroUsuario = new Usuario();
-        outroUsuario.setId(2L);
-        gastoTeste.setUsuario(outroUsuario);
-
-        when(gastoRepository.findById(1L)).thenReturn(Optional.of(gastoTeste));
+        // O gasto 1 pertence a outro usuário, então a consulta restrita ao usuário logado não o encontra
+        when(gastoRepository.findByIdAndUsuarioId(1L, 1L)).thenReturn(Optional.empty());
+        when(gastoRepository.findParaAlteracao(1L, 1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             gastoService.buscarPorId(1L);
         });
+        assertThrows(ResourceNotFoundException.class, () -> {
+            gastoService.deletar(1L);
+        });
+        verify(gastoRepository, never()).deletarPorIdEUsuario(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveListarPaginaSemContagemQuandoEstrategiaNenhuma() {
+        Pageable pageable = PageRequest.of(2, 1);
+        when(gastoRepository.buscarFatia(any(Specification.class), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of(gastoTeste), pageable, true));
+        when(gastoMapper.toResponseDTO(gastoTeste)).thenReturn(gastoResponseDTO);
+
+        Slice<GastoResponseDTO> resultado = gastoService.listarPagina(
+            new GastoFilterDTO(), pageable, EstrategiaContagem.NENHUMA);
+
+        assertEquals(1, resultado.getNumberOfElements());
+        assertTrue(resultado.hasNext());
+        verify(gastoRepository, never()).count(any(Specification.class));
+        verify(gastoRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(contagemCache);
+    }
+
+    @Test
+    void deveRecusarCursorGeradoParaAOutraDirecao() {
+        String cursorAscendente = new CursorGasto(LocalDate.of(2024, 1, 10), 5L, true).codificar();
+
+        BusinessException erro = assertThrows(BusinessException.class,
+            () -> gastoService.listarComCursor(new GastoFilterDTO(), cursorAscendente, 10));
+        assertEquals("O cursor foi gerado para a outra direção de ordenação", erro.getMessage());
+        verifyNoInteractions(gastoRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveAbrirAsContagensEmCacheAntesDaPrimeiraConsulta() {
+        Pageable pageable = PageRequest.of(0, 1);
+        ContagemCache.Contagens contagens = mock(ContagemCache.Contagens.class);
+        when(contagemCache.abrir(1L)).thenReturn(contagens);
+        when(contagens.obter(any(), any())).thenReturn(3L);
+        when(gastoRepository.buscarFatia(any(Specification.class), eq(pageable)))
+            .thenReturn(new SliceImpl<>(List.of(gastoTeste), pageable, true));
+        when(gastoMapper.toResponseDTO(gastoTeste)).thenReturn(gastoResponseDTO);
+
+        Slice<GastoResponseDTO> resultado = gastoService.listarPagina(
+            new GastoFilterDTO(), pageable, EstrategiaContagem.CACHE);
+
+        assertEquals(3, ((Page<GastoResponseDTO>) resultado).getTotalElements());
+        InOrder ordem = inOrder(contagemCache, gastoRepository);
+        ordem.verify(contagemCache).abrir(1L);
+        ordem.verify(gastoRepository).buscarFatia(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    void deveAtualizarComUpdateRestritoEMoverOValorNosResumos() {
+        LocalDate dia = gastoTeste.getDataGasto();
+        when(gastoRepository.findParaAlteracao(1L, 1L)).thenReturn(Optional.of(gastoTeste));
+        when(gastoRepository.atualizarCampos(gastoTeste, 1L)).thenReturn(1);
+        doAnswer(invocacao -> {
+            gastoTeste.setValor(new BigDecimal("80.00"));
+            return null;
+        }).when(gastoMapper).updateEntityFromDTO(gastoRequestDTO, gastoTeste);
+        when(gastoMapper.toResponseDTO(gastoTeste)).thenReturn(gastoResponseDTO);
+
+        gastoService.atualizar(1L, gastoRequestDTO);
+
+        verify(gastoRepository).atualizarCampos(gastoTeste, 1L);
+        verify(gastoRepository, never()).saveAndFlush(any());
+        verify(resumoGastoService).registrar(1L, 1L, dia, new BigDecimal("-50.00"), -1);
+        verify(resumoGastoService).registrar(1L, 1L, dia, new BigDecimal("80.00"), 1);
+        // A categoria não mudou: nenhuma leitura dela além da linha bloqueada
+        verifyNoInteractions(categoriaService, categoriaRepository);
+    }
+
+    @Test
+    void deveRecusarCategoriaInexistentePelaChaveEstrangeira() {
+        Categoria inexistente = new Categoria();
+        inexistente.setId(99L);
+        gastoRequestDTO.setCategoriaId(99L);
+        when(gastoRepository.findParaAlteracao(1L, 1L)).thenReturn(Optional.of(gastoTeste));
+        when(categoriaRepository.getReferenceById(99L)).thenReturn(inexistente);
+        when(gastoRepository.atualizarCampos(gastoTeste, 1L))
+            .thenThrow(new DataIntegrityViolationException("FK_CATEGORIA"));
+
+        ResourceNotFoundException erro = assertThrows(ResourceNotFoundException.class,
+            () -> gastoService.atualizar(1L, gastoRequestDTO));
+        assertTrue(erro.getMessage().contains("Categoria"));
+        verify(categoriaService, never()).buscarEntidadePorId(any());
+        verifyNoInteractions(resumoGastoService, eventPublisher);
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoOUpdateNaoAlteraNenhumaLinha() {
+        when(gastoRepository.findParaAlteracao(1L, 1L)).thenReturn(Optional.of(gastoTeste));
+        when(gastoRepository.atualizarCampos(gastoTeste, 1L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> gastoService.atualizar(1L, gastoRequestDTO));
+        verifyNoInteractions(resumoGastoService, eventPublisher);
     }
 }
@@ -0,0 +1,119 @@
+package com.example.controle.service;
+
+import com.example.controle.model.dto.ImportacaoResultadoDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vazão da importação de ponta a ponta (leitura do CSV, validação, INSERT e
+ * resumos em lote e eventos), com um CSV gerado em streaming. Por padrão usa o
+ * H2 em memória do perfil de teste, que não tem o INSERT de várias linhas do
+ * MySQL; para medir no MySQL, informe {@code -Dspring.datasource.url} e as
+ * credenciais. Execute com
+ * {@code mvn test -Dtest=ImportacaoBenchmarkTest -Dbenchmark=true}; {@code -Dbenchmark.linhas} muda a quantidade.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImportacaoBenchmarkTest {
+
+    private static final int LINHAS = Integer.getInteger("benchmark.linhas", 1_000_000);
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void medirLinhasPorSegundo() throws IOException {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário Benchmark");
+        usuario.setEmail("benchmark-" + System.nanoTime() + "@email.com");
+        usuario.setSenha("senha");
+        usuario = usuarioRepository.save(usuario);
+        Categoria categoria = categoriaRepository.save(new Categoria("Benchmark " + System.nanoTime(), null));
+        UsuarioAutenticado principal = UsuarioAutenticado.de(usuario);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        ImportacaoResultadoDTO resultado = importacaoService.importar(new CsvGerado(LINHAS),
+            FormatoImportacao.CSV, categoria.getId(), StandardCharsets.UTF_8);
+
+        System.out.printf("Importação de %d linhas: %d ms, %d linhas/s%n",
+            resultado.getLinhasLidas(), resultado.getDuracaoMs(), resultado.getLinhasPorSegundo());
+        assertFalse(resultado.isInterrompida());
+        assertEquals(LINHAS, resultado.getImportados());
+    }
+
+    /** CSV de {@code linhas} gastos, gerado à medida que é lido. */
+    private static final class CsvGerado extends InputStream {
+
+        private static final LocalDate INICIO = LocalDate.of(2020, 1, 1);
+
+        private final int linhas;
+        private int proxima;
+        private byte[] atual = "data,descricao,valor,observacao\n".getBytes(StandardCharsets.UTF_8);
+        private int posicao;
+
+        CsvGerado(int linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public int read() {
+            if (posicao == atual.length && !gerar()) {
+                return -1;
+            }
+            return atual[posicao++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (posicao == atual.length && !gerar()) {
+                return -1;
+            }
+            int copiados = Math.min(tamanho, atual.length - posicao);
+            System.arraycopy(atual, posicao, destino, inicio, copiados);
+            posicao += copiados;
+            return copiados;
+        }
+
+        private boolean gerar() {
+            if (proxima == linhas) {
+                return false;
+            }
+            int i = proxima++;
+            atual = (INICIO.plusDays(i % 1500) + ",Gasto " + (i % 5000) + "," + (1 + i % 900) + "." + (i % 100) +
+                ",Linha " + i + "\n").getBytes(StandardCharsets.UTF_8);
+            posicao = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.controle.service;
+
+import com.example.controle.event.GastosImportadosEvent;
+import com.example.controle.model.dto.ImportacaoResultadoDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ImportacaoServiceTest {
+
+    private static final String CABECALHO = "data;descricao;valor;categoria\n";
+
+    private final CategoriaRepository categoriaRepository = mock(CategoriaRepository.class);
+    private final GastoRepository gastoRepository = mock(GastoRepository.class);
+    private final ResumoGastoService resumoGastoService = mock(ResumoGastoService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    // Cópias dos blocos recebidos: a lista passada ao repositório é reaproveitada
+    private final List<List<Gasto>> blocosGravados = new ArrayList<>();
+
+    private ImportacaoService importacaoService;
+
+    @BeforeEach
+    void setUp() {
+        importacaoService = new ImportacaoService(categoriaRepository, gastoRepository, resumoGastoService,
+            validatorFactory.getValidator(), eventPublisher, mock(PlatformTransactionManager.class), usuarioRepository);
+        ReflectionTestUtils.setField(importacaoService, "tamanhoLote", 2);
+
+        Categoria alimentacao = new Categoria();
+        alimentacao.setId(1L);
+        alimentacao.setNome("Alimentação");
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        when(categoriaRepository.findAll()).thenReturn(List.of(alimentacao));
+        when(usuarioRepository.getReferenceById(1L)).thenReturn(usuario);
+        doAnswer(invocacao -> blocosGravados.add(new ArrayList<>(invocacao.<List<Gasto>>getArgument(0))))
+            .when(gastoRepository).inserirEmLote(anyList());
+
+        UsuarioAutenticado principal = new UsuarioAutenticado(1L, "importacao@email.com", Usuario.Role.USER, 0L);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        validatorFactory.close();
+    }
+
+    @Test
+    void deveGravarEmBlocosERelatarAsLinhasInvalidas() throws IOException {
+        String csv = CABECALHO +
+            "15/03/2024;Almoço;50,00;Alimentação\n" +
+            "15/03/2024;Jantar;30,00;alimentacao\n" +
+            "16/03/2024;Valor zerado;0,00;Alimentação\n" +
+            "16/03/2024;Cinema;20,00;Lazer\n" +
+            "16/03/2024;Café;5,50;Alimentação\n";
+
+        ImportacaoResultadoDTO resultado = importar(csv);
+
+        assertEquals(5, resultado.getLinhasLidas());
+        assertEquals(3, resultado.getImportados());
+        assertEquals(2, resultado.getLinhasComErro());
+        assertFalse(resultado.isInterrompida());
+        assertEquals(4, resultado.getErros().get(0).getLinha());
+        assertEquals("Valor deve ser maior que zero", resultado.getErros().get(0).getMensagem());
+        assertEquals("Categoria não encontrada: Lazer", resultado.getErros().get(1).getMensagem());
+
+        assertEquals(List.of(2, 1), blocosGravados.stream().map(List::size).toList());
+        assertEquals("Café", blocosGravados.get(1).get(0).getDescricao());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ResumoGastoService.Acumulo>> acumulos = ArgumentCaptor.forClass(Collection.class);
+        verify(resumoGastoService, times(2)).registrarLote(eq(1L), acumulos.capture());
+        assertTrue(acumulos.getAllValues().get(0).contains(
+            new ResumoGastoService.Acumulo(1L, LocalDate.of(2024, 3, 15), new BigDecimal("50.00"), 1)));
+        verify(eventPublisher, times(2)).publishEvent(any(GastosImportadosEvent.class));
+    }
+
+    @Test
+    void deveInterromperNoBlocoQueFalhaERetornarOResultadoParcial() throws IOException {
+        doAnswer(invocacao -> blocosGravados.add(new ArrayList<>(invocacao.<List<Gasto>>getArgument(0))))
+            .doThrow(new DataIntegrityViolationException("falha simulada"))
+            .when(gastoRepository).inserirEmLote(anyList());
+        String csv = CABECALHO +
+            "15/03/2024;Almoço;50,00;Alimentação\n" +
+            "15/03/2024;Jantar;30,00;Alimentação\n" +
+            "16/03/2024;Padaria;8,00;Alimentação\n" +
+            "16/03/2024;Sem categoria;8,00;Lazer\n" +
+            "17/03/2024;Mercado;120,00;Alimentação\n" +
+            "18/03/2024;Não lida;10,00;Alimentação\n";
+
+        ImportacaoResultadoDTO resultado = importar(csv);
+
+        assertTrue(resultado.isInterrompida());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(4L, resultado.getLinhaInicialFalha());
+        assertEquals(6L, resultado.getLinhaFinalFalha());
+        assertEquals(5, resultado.getLinhasLidas());
+        verify(gastoRepository, times(2)).inserirEmLote(anyList());
+        verify(resumoGastoService, times(1)).registrarLote(eq(1L), any());
+        verify(eventPublisher, times(1)).publishEvent(any(GastosImportadosEvent.class));
+    }
+
+    private ImportacaoResultadoDTO importar(String csv) throws IOException {
+        return importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+            FormatoImportacao.CSV, null, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.controle.service;
+
+import com.example.controle.mapper.GastoMapper;
+import com.example.controle.model.dto.GastoRequestDTO;
+import com.example.controle.model.dto.LoteGastosRequestDTO;
+import com.example.controle.model.dto.LoteGastosResultadoDTO;
+import com.example.controle.model.dto.OperacaoLoteDTO;
+import com.example.controle.model.entity.Categoria;
+import com.example.controle.model.entity.Gasto;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.repository.CategoriaRepository;
+import com.example.controle.repository.GastoRepository;
+import com.example.controle.repository.UsuarioRepository;
+import com.example.controle.security.UsuarioAutenticado;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoteGastosServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private GastoRepository gastoRepository;
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    @Mock
+    private GastoMapper gastoMapper;
+
+    @Mock
+    private ResumoGastoService resumoGastoService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private LoteGastosService loteGastosService;
+
+    private Categoria alimentacao;
+    private Categoria lazer;
+    private Gasto gastoExistente;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loteGastosService, "maxOperacoes", 500);
+
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail("teste@email.com");
+
+        alimentacao = new Categoria();
+        alimentacao.setId(1L);
+        alimentacao.setNome("Alimentação");
+        lazer = new Categoria();
+        lazer.setId(2L);
+        lazer.setNome("Lazer");
+
+        gastoExistente = new Gasto();
+        gastoExistente.setId(10L);
+        gastoExistente.setDescricao("Almoço");
+        gastoExistente.setValor(new BigDecimal("50.00"));
+        gastoExistente.setDataGasto(DIA);
+        gastoExistente.setCategoria(alimentacao);
+        gastoExistente.setUsuario(usuario);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(UsuarioAutenticado.de(usuario));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveRejeitarOLoteAtomicoInteiroQuandoUmaOperacaoEInvalida() {
+        when(categoriaRepository.findAllById(Set.of(1L))).thenReturn(List.of(alimentacao));
+
+        LoteGastosResultadoDTO resultado = loteGastosService.executar(lote(true,
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.CRIAR, null, gasto("Jantar", "30.00", 1L, DIA)),
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.ATUALIZAR, 10L, gasto("Jantar", "0.00", 1L, DIA)),
+            null,
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.DELETAR, 99L, null)));
+
+        assertFalse(resultado.isAplicado());
+        assertEquals(3, resultado.getFalhas());
+        assertEquals(List.of(424, 400, 400, 404), status(resultado));
+        assertEquals("Valor deve ser maior que zero", resultado.getResultados().get(1).getMensagem());
+        assertEquals("Operação não informada", resultado.getResultados().get(2).getMensagem());
+        // A validação de campos vem antes da leitura: só o gasto da operação válida é buscado
+        verify(gastoRepository).findTodosParaAlteracao(Set.of(99L), 1L);
+        verify(gastoRepository, never()).inserirEmLote(anyList());
+        verify(gastoRepository, never()).deletarPorIdsEUsuario(anyCollection(), anyLong());
+        verifyNoInteractions(resumoGastoService, eventPublisher);
+    }
+
+    @Test
+    void deveResponderNotFoundAOperacaoSobreGastoExcluidoAntesNoMesmoLote() {
+        when(gastoRepository.findTodosParaAlteracao(Set.of(10L), 1L)).thenReturn(List.of(gastoExistente));
+
+        LoteGastosResultadoDTO resultado = loteGastosService.executar(lote(false,
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.DELETAR, 10L, null),
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.DELETAR, 10L, null)));
+
+        assertTrue(resultado.isAplicado());
+        assertEquals(1, resultado.getSucessos());
+        assertEquals(List.of(204, 404), status(resultado));
+        verify(gastoRepository).deletarPorIdsEUsuario(Set.of(10L), 1L);
+    }
+
+    @Test
+    void deveDescontarOValorOriginalDosResumosAoAtualizarEExcluirNoMesmoLote() {
+        when(categoriaRepository.findAllById(Set.of(2L))).thenReturn(List.of(lazer));
+        when(gastoRepository.findTodosParaAlteracao(Set.of(10L), 1L)).thenReturn(List.of(gastoExistente));
+        doAnswer(invocacao -> {
+            GastoRequestDTO dados = invocacao.getArgument(0);
+            Gasto gasto = invocacao.getArgument(1);
+            gasto.setDescricao(dados.getDescricao());
+            gasto.setValor(dados.getValor());
+            gasto.setDataGasto(dados.getDataGasto());
+            return null;
+        }).when(gastoMapper).updateEntityFromDTO(any(), any());
+
+        LoteGastosResultadoDTO resultado = loteGastosService.executar(lote(true,
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.ATUALIZAR, 10L, gasto("Cinema", "80.00", 2L, DIA.plusDays(1))),
+            new OperacaoLoteDTO(OperacaoLoteDTO.Tipo.DELETAR, 10L, null)));
+
+        assertTrue(resultado.isAplicado());
+        assertEquals(List.of(200, 204), status(resultado));
+        assertNull(resultado.getResultados().get(0).getGasto());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<ResumoGastoService.Acumulo>> acumulos = ArgumentCaptor.forClass(Collection.class);
+        verify(resumoGastoService).registrarLote(eq(1L), acumulos.capture());
+        Map<String, BigDecimal> totais = new HashMap<>();
+        Map<String, Long> quantidades = new HashMap<>();
+        for (ResumoGastoService.Acumulo acumulo : acumulos.getValue()) {
+            String chave = acumulo.categoriaId() + "@" + acumulo.dia();
+            totais.merge(chave, acumulo.valor(), BigDecimal::add);
+            quantidades.merge(chave, acumulo.quantidade(), Long::sum);
+        }
+        // Sai o gasto original; o valor intermediário da atualização entra e sai no mesmo lote
+        assertEquals(0, new BigDecimal("-50.00").compareTo(totais.get("1@" + DIA)));
+        assertEquals(-1L, quantidades.get("1@" + DIA));
+        assertEquals(0, totais.get("2@" + DIA.plusDays(1)).signum());
+        assertEquals(0L, quantidades.get("2@" + DIA.plusDays(1)));
+        verify(gastoRepository).deletarPorIdsEUsuario(Set.of(10L), 1L);
+    }
+
+    private static LoteGastosRequestDTO lote(boolean atomico, OperacaoLoteDTO... operacoes) {
+        LoteGastosRequestDTO request = new LoteGastosRequestDTO();
+        request.setAtomico(atomico);
+        request.setOperacoes(Arrays.asList(operacoes));
+        return request;
+    }
+
+    private static GastoRequestDTO gasto(String descricao, String valor, Long categoriaId, LocalDate data) {
+        GastoRequestDTO gasto = new GastoRequestDTO();
+        gasto.setDescricao(descricao);
+        gasto.setValor(new BigDecimal(valor));
+        gasto.setCategoriaId(categoriaId);
+        gasto.setDataGasto(data);
+        return gasto;
+    }
+
+    private static List<Integer> status(LoteGastosResultadoDTO resultado) {
+        return resultado.getResultados().stream().map(LoteGastosResultadoDTO.ResultadoOperacaoDTO::getStatus).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.controle.service;
+
+import com.example.controle.model.entity.ResumoDiario;
+import com.example.controle.model.entity.ResumoMensal;
+import com.example.controle.repository.ResumoDiarioRepository;
+import com.example.controle.repository.ResumoMensalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2 em modo MySQL de application-test.properties, por causa do ON DUPLICATE KEY UPDATE
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ResumoGastoService.class)
+@ActiveProfiles("test")
+class ResumoGastoServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private ResumoGastoService resumoGastoService;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private ResumoMensalRepository resumoMensalRepository;
+
+    @Test
+    void deveCriarESomarOsResumosDoLoteComUpsert() {
+        resumoGastoService.registrarLote(1L, List.of(
+            new ResumoGastoService.Acumulo(10L, DIA, new BigDecimal("50.00"), 1),
+            new ResumoGastoService.Acumulo(10L, DIA, new BigDecimal("20.00"), 1)));
+        resumoGastoService.registrarLote(1L, List.of(
+            new ResumoGastoService.Acumulo(10L, DIA, new BigDecimal("5.00"), 1),
+            new ResumoGastoService.Acumulo(10L, DIA.plusDays(1), new BigDecimal("7.00"), 1)));
+
+        List<ResumoDiario> diarios = resumoDiarioRepository.findAll();
+        diarios.sort(Comparator.comparing(ResumoDiario::getDia));
+        assertEquals(2, diarios.size());
+        assertEquals(0, new BigDecimal("75.00").compareTo(diarios.get(0).getTotal()));
+        assertEquals(3L, diarios.get(0).getQuantidade());
+        assertEquals(0, new BigDecimal("7.00").compareTo(diarios.get(1).getTotal()));
+
+        List<ResumoMensal> mensais = resumoMensalRepository.findAll();
+        assertEquals(1, mensais.size());
+        assertEquals(0, new BigDecimal("82.00").compareTo(mensais.get(0).getTotal()));
+        assertEquals(4L, mensais.get(0).getQuantidade());
+    }
+}
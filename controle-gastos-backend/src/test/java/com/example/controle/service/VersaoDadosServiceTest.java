@@ -0,0 +1,132 @@
+package com.example.controle.service;
+
+import com.example.controle.event.GastoAlteradoEvent;
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.security.UsuarioAutenticado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2 em modo MySQL de application-test.properties, por causa do upsert da versão global
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VersaoDadosService.class)
+@ActiveProfiles("test")
+class VersaoDadosServiceTest {
+
+    private static final String URI = "/api/dashboard";
+
+    @Autowired
+    private VersaoDadosService versaoDadosService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long usuarioId;
+    private Long outroUsuarioId;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = persistirUsuario("versao-" + System.nanoTime() + "@email.com");
+        outroUsuarioId = persistirUsuario("outro-" + System.nanoTime() + "@email.com");
+        autenticar(usuarioId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveResponder304AteAProximaEscritaDoUsuario() {
+        String etag = versaoDadosService.gerarEtag(requisicao());
+        assertTrue(naoModificado(etag, etag));
+
+        autenticar(outroUsuarioId);
+        String etagOutroUsuario = versaoDadosService.gerarEtag(requisicao());
+        autenticar(usuarioId);
+
+        // Dois gastos na mesma transação: um único incremento, confirmado com ela
+        eventPublisher.publishEvent(new GastoAlteradoEvent(usuarioId, 1L, null, LocalDate.of(2024, 3, 1)));
+        eventPublisher.publishEvent(new GastoAlteradoEvent(usuarioId, 2L, null, LocalDate.of(2024, 3, 2)));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(1L, versaoDadosService.versoesAtuais(usuarioId)[0]);
+        String etagAposEscrita = versaoDadosService.gerarEtag(requisicao());
+        assertNotEquals(etag, etagAposEscrita);
+        assertFalse(naoModificado(etag, etagAposEscrita));
+        assertTrue(naoModificado(etagAposEscrita, etagAposEscrita));
+
+        autenticar(outroUsuarioId);
+        assertEquals(etagOutroUsuario, versaoDadosService.gerarEtag(requisicao()));
+    }
+
+    @Test
+    void deveMudarOEtagDeTodosOsUsuariosComAVersaoGlobal() {
+        String etag = versaoDadosService.gerarEtag(requisicao());
+        autenticar(outroUsuarioId);
+        String etagOutroUsuario = versaoDadosService.gerarEtag(requisicao());
+
+        versaoDadosService.incrementarGlobal();
+
+        assertNotEquals(etagOutroUsuario, versaoDadosService.gerarEtag(requisicao()));
+        autenticar(usuarioId);
+        assertNotEquals(etag, versaoDadosService.gerarEtag(requisicao()));
+    }
+
+    @Test
+    void deveDiferenciarOsValoresPadraoResolvidosNaMesmaUri() {
+        String janeiro = versaoDadosService.gerarEtag(requisicao(), YearMonth.of(2024, 1));
+        String fevereiro = versaoDadosService.gerarEtag(requisicao(), YearMonth.of(2024, 2));
+
+        assertNotEquals(janeiro, fevereiro);
+        assertEquals(janeiro, versaoDadosService.gerarEtag(requisicao(), YearMonth.of(2024, 1)));
+    }
+
+    private Long persistirUsuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário Teste");
+        usuario.setEmail(email);
+        usuario.setSenha("senha");
+        return entityManager.persistAndFlush(usuario).getId();
+    }
+
+    private static void autenticar(Long id) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(id, "teste@email.com", Usuario.Role.USER, 0L);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+
+    private static MockHttpServletRequest requisicao() {
+        return new MockHttpServletRequest("GET", URI);
+    }
+
+    private static boolean naoModificado(String ifNoneMatch, String etagAtual) {
+        MockHttpServletRequest request = requisicao();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse()).checkNotModified(etagAtual);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.controle.util;
+
+import com.example.controle.model.entity.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Custo do token por requisição autenticada, antes e depois do cache de tokens
+ * verificados. "Antes" reproduz o caminho antigo do filtro: chave e parser
+ * montados a cada leitura e o token lido três vezes (extractUsername e as duas
+ * leituras de validateToken). "Depois" é o caminho atual com o token em cache.
+ * Execute com {@code mvn test -Dtest=JwtUtilBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtUtilBenchmarkTest {
+
+    private static final String SEGREDO = "test-secret-key-for-testing-purposes-only-not-for-production";
+    private static final int EXECUCOES = Integer.getInteger("benchmark.execucoes", 200_000);
+
+    @Test
+    void medirCustoPorRequisicao() {
+        Usuario usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setEmail("joao@email.com");
+        usuario.setRole(Usuario.Role.USER);
+        usuario.setVersaoToken(0L);
+        JwtUtil jwtUtil = new JwtUtil(SEGREDO, 3_600_000L, 10_000, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken(usuario);
+
+        Supplier<Object> antes = () -> {
+            Claims claims = null;
+            for (int leitura = 0; leitura < 3; leitura++) {
+                SecretKey chave = Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8));
+                claims = Jwts.parser().verifyWith(chave).build().parseSignedClaims(token).getPayload();
+            }
+            return claims;
+        };
+        Supplier<Object> depois = () -> jwtUtil.extractUsuario(jwtUtil.extractAllClaims(token));
+
+        double antesMicros = medir(antes);
+        double depoisMicros = medir(depois);
+
+        System.out.printf("Token JWT por requisição (%d execuções)%n", EXECUCOES);
+        System.out.printf("  antes (3 leituras, sem cache)  %8.2f µs%n", antesMicros);
+        System.out.printf("  depois (em cache)              %8.2f µs%n", depoisMicros);
+        assertTrue(depoisMicros < antesMicros);
+    }
+
+    /** Média em microssegundos, depois de um aquecimento com a mesma quantidade de execuções. */
+    private static double medir(Supplier<Object> operacao) {
+        Object resultado = null;
+        for (int i = 0; i < EXECUCOES; i++) {
+            resultado = operacao.get();
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < EXECUCOES; i++) {
+            resultado = operacao.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+        assertNotNull(resultado);
+        return duracao / 1_000.0 / EXECUCOES;
+    }
+}
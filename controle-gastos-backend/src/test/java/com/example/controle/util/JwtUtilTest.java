@@ -0,0 +1,59 @@
+package com.example.controle.util;
+
+import com.example.controle.model.entity.Usuario;
+import com.example.controle.security.UsuarioAutenticado;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SEGREDO = "test-secret-key-for-testing-purposes-only-not-for-production";
+
+    private final Usuario usuario = new Usuario();
+
+    JwtUtilTest() {
+        usuario.setId(42L);
+        usuario.setEmail("joao@email.com");
+        usuario.setRole(Usuario.Role.ADMIN);
+        usuario.setVersaoToken(3L);
+    }
+
+    @Test
+    void naoDeveAceitarTokenAlteradoDepoisDeUmTokenValidoEstarEmCache() {
+        JwtUtil jwtUtil = new JwtUtil(SEGREDO, 3_600_000L, 100, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken(usuario);
+
+        assertTrue(jwtUtil.validateToken(token, usuario));
+        // Segunda leitura vem do cache
+        assertSame(jwtUtil.extractAllClaims(token), jwtUtil.extractAllClaims(token));
+
+        String[] partes = token.split("\\.");
+        String assinaturaTrocada = partes[0] + "." + partes[1] + "." + new StringBuilder(partes[2]).reverse();
+        assertThrows(JwtException.class, () -> jwtUtil.extractAllClaims(assinaturaTrocada));
+    }
+
+    @Test
+    void deveMontarUsuarioAutenticadoAPartirDasClaims() {
+        JwtUtil jwtUtil = new JwtUtil(SEGREDO, 3_600_000L, 100, new SimpleMeterRegistry());
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(usuario));
+
+        UsuarioAutenticado autenticado = jwtUtil.extractUsuario(claims);
+
+        assertEquals(42L, autenticado.getId());
+        assertEquals("joao@email.com", autenticado.getEmail());
+        assertEquals(Usuario.Role.ADMIN, autenticado.getRole());
+        assertEquals(3L, autenticado.getVersaoToken());
+    }
+
+    @Test
+    void deveRejeitarTokenExpirado() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(SEGREDO, 1L, 100, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken(usuario);
+        Thread.sleep(1_100);
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractAllClaims(token));
+    }
+}